@@ -0,0 +1,65 @@
+package org.echocat.unittest.utils.matchers;
+
+import org.hamcrest.Matcher;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.echocat.unittest.utils.matchers.CompareTo.isGreaterThanOrEqualTo;
+import static org.echocat.unittest.utils.matchers.CompareTo.isLessThan;
+import static org.echocat.unittest.utils.matchers.IterableMatchers.containsOnlyElementsThat;
+import static org.echocat.unittest.utils.matchers.WhereValueOf.whereValueOf;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContainsOnlyElementsThatBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private List<Integer> allMatching;
+    private List<Integer> firstMismatching;
+    private Matcher<Iterable<Integer>> matcher;
+    private Matcher<Iterable<Integer>> parallelMatcher;
+
+    @Setup
+    public void setUp() {
+        allMatching = IntStream.range(0, size).boxed().collect(toList());
+        firstMismatching = IntStream.range(-1, size - 1).boxed().collect(toList());
+        final ContainsOnlyElementsThat<Iterable<Integer>, Integer> sequential = containsOnlyElementsThat(
+            isGreaterThanOrEqualTo(0),
+            isLessThan(size),
+            whereValueOf(Integer::toHexString, "hex", StringMatchers.<String>matches("[0-9a-f]+"))
+        );
+        matcher = sequential;
+        parallelMatcher = sequential.inParallel();
+    }
+
+    @Benchmark
+    public boolean allMatching() {
+        return matcher.matches(allMatching);
+    }
+
+    @Benchmark
+    public boolean firstMismatching() {
+        return matcher.matches(firstMismatching);
+    }
+
+    @Benchmark
+    public boolean allMatchingInParallel() {
+        return parallelMatcher.matches(allMatching);
+    }
+
+    @Benchmark
+    public boolean firstMismatchingInParallel() {
+        return parallelMatcher.matches(firstMismatching);
+    }
+
+}
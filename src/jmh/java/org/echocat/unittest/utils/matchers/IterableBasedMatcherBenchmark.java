@@ -0,0 +1,57 @@
+package org.echocat.unittest.utils.matchers;
+
+import org.hamcrest.Matcher;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.stream.Collectors.toList;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IterableBasedMatcherBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"10"})
+    public int expectedSize;
+
+    private List<Integer> actual;
+    private Matcher<Iterable<Integer>> startsWith;
+    private Matcher<Iterable<Integer>> endsWith;
+    private Matcher<Iterable<Integer>> contains;
+
+    @Setup
+    public void setUp() {
+        actual = IntStream.range(0, size).map(i -> i % expectedSize).boxed().collect(toList());
+        final List<Integer> prefix = actual.subList(0, expectedSize);
+        final List<Integer> suffix = actual.subList(size - expectedSize, size);
+        final List<Integer> notContained = IntStream.range(0, expectedSize).map(i -> i < expectedSize - 1 ? i : -1).boxed().collect(toList());
+        startsWith = IterableMatchers.startsWith(prefix);
+        endsWith = IterableMatchers.endsWith(suffix);
+        contains = IterableMatchers.contains(notContained);
+    }
+
+    @Benchmark
+    public boolean startsWith() {
+        return startsWith.matches(actual);
+    }
+
+    @Benchmark
+    public boolean endsWith() {
+        return endsWith.matches(actual);
+    }
+
+    @Benchmark
+    public boolean containsWithoutHit() {
+        return contains.matches(actual);
+    }
+
+}
@@ -0,0 +1,69 @@
+package org.echocat.unittest.utils.matchers;
+
+import org.hamcrest.Matcher;
+import org.openjdk.jmh.annotations.*;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringBasedMatcherBenchmark {
+
+    @Param({"string", "stringBuilder"})
+    public String type;
+
+    @Param({"100", "100000"})
+    public int length;
+
+    private CharSequence actual;
+    private Matcher<CharSequence> startsWith;
+    private Matcher<CharSequence> endsWith;
+    private Matcher<CharSequence> contains;
+    private Matcher<CharSequence> matches;
+    private Matcher<CharSequence> equalsIgnoreCase;
+
+    @Setup
+    public void setUp() {
+        final StringBuilder content = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            content.append((char) ('a' + (i % 26)));
+        }
+        final String plain = content.toString();
+        actual = "stringBuilder".equals(type) ? content : plain;
+        startsWith = StringMatchers.startsWith(plain.substring(0, 10));
+        endsWith = StringMatchers.endsWith(plain.substring(length - 10));
+        contains = StringMatchers.contains("zyx");
+        matches = StringMatchers.matches("[a-z]+");
+        equalsIgnoreCase = StringMatchers.equalsIgnoreCase(plain.toUpperCase());
+    }
+
+    @Benchmark
+    public boolean startsWith() {
+        return startsWith.matches(actual);
+    }
+
+    @Benchmark
+    public boolean endsWith() {
+        return endsWith.matches(actual);
+    }
+
+    @Benchmark
+    public boolean containsWithoutHit() {
+        return contains.matches(actual);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return matches.matches(actual);
+    }
+
+    @Benchmark
+    public boolean equalsIgnoreCase() {
+        return equalsIgnoreCase.matches(actual);
+    }
+
+}
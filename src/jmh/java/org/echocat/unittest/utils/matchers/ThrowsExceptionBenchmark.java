@@ -0,0 +1,58 @@
+package org.echocat.unittest.utils.matchers;
+
+import org.echocat.unittest.utils.matchers.ThrowsException.Execution;
+import org.hamcrest.Matcher;
+import org.openjdk.jmh.annotations.*;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.echocat.unittest.utils.matchers.ThrowsException.throwsException;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ThrowsExceptionBenchmark {
+
+    private final String message = "Expected failure.";
+
+    private Matcher<Execution> throwsType;
+    private Matcher<Execution> throwsTypeWithMessage;
+    private Execution sameExecution;
+
+    @Setup
+    public void setUp() {
+        throwsType = throwsException(IllegalStateException.class);
+        throwsTypeWithMessage = throwsException(IllegalStateException.class, "Expected.*");
+        sameExecution = newExecution();
+    }
+
+    @Benchmark
+    public boolean throwsTypeOfNewExecution() {
+        return throwsType.matches(newExecution());
+    }
+
+    @Benchmark
+    public boolean throwsTypeWithMessageOfNewExecution() {
+        return throwsTypeWithMessage.matches(newExecution());
+    }
+
+    @Benchmark
+    public boolean throwsTypeOfSameExecution() {
+        return throwsType.matches(sameExecution);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean throwsTypeOfNewExecutionContended() {
+        return throwsType.matches(newExecution());
+    }
+
+    private Execution newExecution() {
+        return () -> {
+            throw new IllegalStateException(message);
+        };
+    }
+
+}
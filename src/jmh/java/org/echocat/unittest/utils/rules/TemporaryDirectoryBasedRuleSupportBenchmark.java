@@ -0,0 +1,45 @@
+package org.echocat.unittest.utils.rules;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Path;
+
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.createTempDirectory;
+import static java.nio.file.Files.write;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TemporaryDirectoryBasedRuleSupportBenchmark {
+
+    @Param({"10"})
+    public int numberOfDirectories;
+
+    @Param({"100"})
+    public int numberOfFilesPerDirectory;
+
+    private final TestDirectory rule = new TestDirectory();
+    private Path directory;
+
+    @Setup(Level.Invocation)
+    public void setUp() throws Exception {
+        directory = createTempDirectory("temporaryDirectoryBasedRuleSupportBenchmark-");
+        for (int d = 0; d < numberOfDirectories; d++) {
+            final Path subDirectory = createDirectories(directory.resolve("directory" + d));
+            for (int f = 0; f < numberOfFilesPerDirectory; f++) {
+                write(subDirectory.resolve("file" + f), new byte[]{1});
+            }
+        }
+    }
+
+    @Benchmark
+    public void deleteDirectory() throws Exception {
+        rule.deleteDirectory(directory);
+    }
+
+}
@@ -0,0 +1,132 @@
+package org.echocat.unittest.utils.utils;
+
+import org.openjdk.jmh.annotations.*;
+
+import javax.annotation.Nonnull;
+import java.io.ByteArrayInputStream;
+import java.io.CharArrayReader;
+import java.io.File;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.toList;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SizeUtilsBenchmark {
+
+    @Param({
+        "stream", "collection", "iterable", "iterator", "map",
+        "objectArray", "booleanArray", "byteArray", "charArray", "shortArray", "intArray", "longArray", "floatArray", "doubleArray",
+        "charSequence", "path", "file", "inputStream", "reader", "url", "uri"
+    })
+    public String type;
+
+    @Param({"1000"})
+    public int size;
+
+    private Path file;
+    private Supplier<Object> input;
+
+    @Setup
+    public void setUp() throws Exception {
+        file = Files.createTempFile("sizeUtilsBenchmark-", ".bin");
+        Files.write(file, new byte[size]);
+        input = inputFor(type);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long sizeOf() {
+        return SizeUtils.sizeOf(input.get());
+    }
+
+    @Benchmark
+    public boolean isEmpty() {
+        return SizeUtils.isEmpty(input.get());
+    }
+
+    @Nonnull
+    protected Supplier<Object> inputFor(@Nonnull String type) throws Exception {
+        final List<Integer> list = IntStream.range(0, size).boxed().collect(toList());
+        switch (type) {
+            case "stream":
+                return list::stream;
+            case "collection":
+                return () -> list;
+            case "iterable":
+                final Iterable<Integer> iterable = list::iterator;
+                return () -> iterable;
+            case "iterator":
+                return list::iterator;
+            case "map":
+                final Map<Integer, Integer> map = new HashMap<>();
+                list.forEach(element -> map.put(element, element));
+                return () -> map;
+            case "objectArray":
+                final Object[] objectArray = list.toArray();
+                return () -> objectArray;
+            case "booleanArray":
+                final boolean[] booleanArray = new boolean[size];
+                return () -> booleanArray;
+            case "byteArray":
+                final byte[] byteArray = new byte[size];
+                return () -> byteArray;
+            case "charArray":
+                final char[] charArray = new char[size];
+                return () -> charArray;
+            case "shortArray":
+                final short[] shortArray = new short[size];
+                return () -> shortArray;
+            case "intArray":
+                final int[] intArray = new int[size];
+                return () -> intArray;
+            case "longArray":
+                final long[] longArray = new long[size];
+                return () -> longArray;
+            case "floatArray":
+                final float[] floatArray = new float[size];
+                return () -> floatArray;
+            case "doubleArray":
+                final double[] doubleArray = new double[size];
+                return () -> doubleArray;
+            case "charSequence":
+                final String charSequence = new String(new char[size]);
+                return () -> charSequence;
+            case "path":
+                return () -> file;
+            case "file":
+                final File plainFile = file.toFile();
+                return () -> plainFile;
+            case "inputStream":
+                final byte[] bytes = new byte[size];
+                return () -> new ByteArrayInputStream(bytes);
+            case "reader":
+                final char[] chars = new char[size];
+                return () -> new CharArrayReader(chars);
+            case "url":
+                final URL url = file.toUri().toURL();
+                return () -> url;
+            case "uri":
+                final URI uri = file.toUri();
+                return () -> uri;
+            default:
+                throw new IllegalArgumentException("Unknown type: " + type);
+        }
+    }
+
+}
@@ -2,25 +2,38 @@ package org.echocat.unittest.utils.matchers;
 
 import org.hamcrest.BaseMatcher;
 import org.hamcrest.Description;
+import org.echocat.unittest.utils.utils.IdentityCache;
 import org.hamcrest.Matcher;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
+import static java.lang.Math.max;
+import static java.util.Arrays.sort;
 import static java.util.Collections.addAll;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.unmodifiableList;
 
 public class CombinedMappingMatcher<V, T> extends BaseMatcher<V> {
 
     @Nonnegative
     protected static final int MAXIMUM_MISMATCHES_TO_REPORT = 10;
+    @Nonnegative
+    protected static final int REORDER_INTERVAL = 1024;
+    @Nonnegative
+    protected static final int COST_SAMPLE_INTERVAL = 64;
     @Nonnull
     private final Function<V, Stream<T>> mapper;
     @Nonnull
@@ -29,16 +42,31 @@ public class CombinedMappingMatcher<V, T> extends BaseMatcher<V> {
     private final StreamMatcher<T> streamMatcher;
     @Nonnull
     private final String description;
+    @Nullable
+    private final AdaptiveOrder<T> adaptiveOrder;
+
+    @Nonnull
+    private final IdentityCache<List<T>> itemToMismatches = new IdentityCache<>();
 
     public CombinedMappingMatcher(@Nonnull Function<V, Stream<T>> mapper,
                                   @Nonnull Iterable<? extends Matcher<T>> matchers,
                                   @Nonnull StreamMatcher<T> streamMatcher,
                                   @Nonnull String description
+    ) {
+        this(mapper, matchers, streamMatcher, description, false);
+    }
+
+    public CombinedMappingMatcher(@Nonnull Function<V, Stream<T>> mapper,
+                                  @Nonnull Iterable<? extends Matcher<T>> matchers,
+                                  @Nonnull StreamMatcher<T> streamMatcher,
+                                  @Nonnull String description,
+                                  boolean adaptiveOrdering
     ) {
         this.mapper = mapper;
         this.matchers = matchers;
         this.streamMatcher = streamMatcher;
         this.description = description;
+        this.adaptiveOrder = adaptiveOrdering ? new AdaptiveOrder<>(matchers) : null;
     }
 
     @SafeVarargs
@@ -64,7 +92,20 @@ public class CombinedMappingMatcher<V, T> extends BaseMatcher<V> {
         } catch (final ClassCastException ignored) {
             return false;
         }
-        return streamMatcher().matches(matchers(), stream);
+        final MismatchRecorder<T> recorder = new MismatchRecorder<>();
+        final AdaptiveOrder<T> order = adaptiveOrder;
+        final boolean result;
+        if (order != null) {
+            result = streamMatcher().matches(order.ordered(recorder.record(order.observed())), stream);
+        } else {
+            result = streamMatcher().matches(recorder.record(matchers()), stream);
+        }
+        if (!result) {
+            itemToMismatches.put(item, recorder.mismatches());
+        } else if (itemToMismatches.get(item) != null) {
+            itemToMismatches.put(item, emptyList());
+        }
+        return result;
     }
 
     @Override
@@ -73,6 +114,11 @@ public class CombinedMappingMatcher<V, T> extends BaseMatcher<V> {
             description.appendText("was ").appendValue(null);
             return;
         }
+        final List<T> mismatches = itemToMismatches.get(item);
+        if (mismatches != null) {
+            describeMismatch(mismatches.stream(), description);
+            return;
+        }
         final Stream<T> stream;
         try {
             //noinspection unchecked
@@ -147,9 +193,226 @@ public class CombinedMappingMatcher<V, T> extends BaseMatcher<V> {
         return description;
     }
 
+    protected boolean adaptiveOrdering() {
+        return adaptiveOrder != null;
+    }
+
+    @Nullable
+    protected AdaptiveOrder<T> adaptiveOrder() {
+        return adaptiveOrder;
+    }
+
     @FunctionalInterface
     public interface StreamMatcher<T> {
         boolean matches(@Nonnull Iterable<? extends Matcher<T>> matchers, @Nonnull Stream<T> input);
     }
 
+    protected static class MismatchRecorder<T> {
+
+        @Nonnull
+        private final List<T> mismatches = new ArrayList<>();
+        @Nonnull
+        private final BitSet lastMismatchingMatchers = new BitSet();
+        @Nullable
+        private T lastMismatch;
+        private volatile boolean full;
+
+        @Nonnull
+        protected List<Matcher<T>> record(@Nonnull Iterable<? extends Matcher<T>> matchers) {
+            final List<Matcher<T>> result = new ArrayList<>();
+            for (final Matcher<T> matcher : matchers) {
+                result.add(new RecordingMatcher<>(matcher, result.size(), this));
+            }
+            return result;
+        }
+
+        protected void recordMismatch(@Nullable T item, @Nonnegative int matcherIndex) {
+            if (full) {
+                return;
+            }
+            synchronized (mismatches) {
+                if (mismatches.isEmpty() || lastMismatch != item || lastMismatchingMatchers.get(matcherIndex)) {
+                    mismatches.add(item);
+                    full = mismatches.size() > MAXIMUM_MISMATCHES_TO_REPORT;
+                    lastMismatchingMatchers.clear();
+                }
+                lastMismatch = item;
+                lastMismatchingMatchers.set(matcherIndex);
+            }
+        }
+
+        @Nonnull
+        protected List<T> mismatches() {
+            synchronized (mismatches) {
+                return new ArrayList<>(mismatches);
+            }
+        }
+
+    }
+
+    protected static class RecordingMatcher<T> extends BaseMatcher<T> {
+
+        @Nonnull
+        private final Matcher<T> delegate;
+        @Nonnegative
+        private final int index;
+        @Nonnull
+        private final MismatchRecorder<T> recorder;
+
+        protected RecordingMatcher(@Nonnull Matcher<T> delegate, @Nonnegative int index, @Nonnull MismatchRecorder<T> recorder) {
+            this.delegate = delegate;
+            this.index = index;
+            this.recorder = recorder;
+        }
+
+        @Override
+        public boolean matches(@Nullable Object item) {
+            if (delegate.matches(item)) {
+                return true;
+            }
+            //noinspection unchecked
+            recorder.recordMismatch((T) item, index);
+            return false;
+        }
+
+        @Override
+        public void describeMismatch(@Nullable Object item, @Nonnull Description description) {
+            delegate.describeMismatch(item, description);
+        }
+
+        @Override
+        public void describeTo(@Nonnull Description description) {
+            delegate.describeTo(description);
+        }
+
+    }
+
+    protected static class AdaptiveOrder<T> {
+
+        @Nonnull
+        private final List<ObservingMatcher<T>> observed = new ArrayList<>();
+        @Nonnull
+        private final AtomicLong iterations = new AtomicLong();
+        @Nonnull
+        private volatile int[] order;
+
+        protected AdaptiveOrder(@Nonnull Iterable<? extends Matcher<T>> matchers) {
+            for (final Matcher<T> matcher : matchers) {
+                observed.add(new ObservingMatcher<>(matcher));
+            }
+            final int[] initial = new int[observed.size()];
+            for (int i = 0; i < initial.length; i++) {
+                initial[i] = i;
+            }
+            order = initial;
+        }
+
+        @Nonnull
+        protected List<ObservingMatcher<T>> observed() {
+            return observed;
+        }
+
+        @Nonnull
+        protected int[] order() {
+            return order.clone();
+        }
+
+        @Nonnull
+        protected Iterable<Matcher<T>> ordered(@Nonnull List<? extends Matcher<T>> candidates) {
+            return () -> {
+                if (iterations.incrementAndGet() % REORDER_INTERVAL == 0) {
+                    reorder();
+                }
+                final int[] current = order;
+                return new Iterator<Matcher<T>>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < current.length;
+                    }
+
+                    @Override
+                    public Matcher<T> next() {
+                        if (next >= current.length) {
+                            throw new NoSuchElementException();
+                        }
+                        return candidates.get(current[next++]);
+                    }
+                };
+            };
+        }
+
+        protected void reorder() {
+            final int size = observed.size();
+            final Integer[] indices = new Integer[size];
+            final double[] ranks = new double[size];
+            for (int i = 0; i < size; i++) {
+                indices[i] = i;
+                ranks[i] = observed.get(i).rank();
+            }
+            sort(indices, (a, b) -> Double.compare(ranks[a], ranks[b]));
+            final int[] result = new int[size];
+            for (int i = 0; i < size; i++) {
+                result[i] = indices[i];
+            }
+            order = result;
+        }
+
+    }
+
+    protected static class ObservingMatcher<T> extends BaseMatcher<T> {
+
+        @Nonnull
+        private final Matcher<T> delegate;
+        @Nonnull
+        private final LongAdder evaluations = new LongAdder();
+        @Nonnull
+        private final LongAdder failures = new LongAdder();
+        @Nonnull
+        private final LongAdder sampledNanos = new LongAdder();
+        @Nonnull
+        private final LongAdder samples = new LongAdder();
+
+        protected ObservingMatcher(@Nonnull Matcher<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean matches(@Nullable Object item) {
+            final boolean result;
+            if (ThreadLocalRandom.current().nextInt(COST_SAMPLE_INTERVAL) == 0) {
+                final long start = System.nanoTime();
+                result = delegate.matches(item);
+                sampledNanos.add(System.nanoTime() - start);
+                samples.increment();
+            } else {
+                result = delegate.matches(item);
+            }
+            evaluations.increment();
+            if (!result) {
+                failures.increment();
+            }
+            return result;
+        }
+
+        protected double rank() {
+            final long sampleCount = samples.sum();
+            final double cost = sampleCount > 0 ? max(sampledNanos.sum(), 1L) / (double) sampleCount : 1D;
+            final double failureRate = (failures.sum() + 1D) / (evaluations.sum() + 2D);
+            return cost / failureRate;
+        }
+
+        @Override
+        public void describeMismatch(@Nullable Object item, @Nonnull Description description) {
+            delegate.describeMismatch(item, description);
+        }
+
+        @Override
+        public void describeTo(@Nonnull Description description) {
+            delegate.describeTo(description);
+        }
+
+    }
+
 }
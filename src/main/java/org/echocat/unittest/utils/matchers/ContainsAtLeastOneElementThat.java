@@ -3,14 +3,22 @@ package org.echocat.unittest.utils.matchers;
 import org.hamcrest.Matcher;
 
 import javax.annotation.Nonnull;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
 public class ContainsAtLeastOneElementThat<V, T> extends CombinedMappingMatcher<V, T> {
 
     public ContainsAtLeastOneElementThat(@Nonnull Function<V, Stream<T>> mapper, @Nonnull Iterable<? extends Matcher<T>> matchers) {
-        super(mapper, matchers, streamMatcherInstance(), "contains at least one element that");
+        this(mapper, matchers, false);
+    }
+
+    protected ContainsAtLeastOneElementThat(@Nonnull Function<V, Stream<T>> mapper, @Nonnull Iterable<? extends Matcher<T>> matchers, boolean adaptiveOrdering) {
+        super(mapper, matchers, streamMatcherInstance(), "contains at least one element that", adaptiveOrdering);
+    }
+
+    @Nonnull
+    public ContainsAtLeastOneElementThat<V, T> withAdaptiveOrdering() {
+        return new ContainsAtLeastOneElementThat<>(mapper(), matchers(), true);
     }
 
     @Nonnull
@@ -19,19 +27,16 @@ public class ContainsAtLeastOneElementThat<V, T> extends CombinedMappingMatcher<
     }
 
     protected static <T> boolean matches(@Nonnull Iterable<? extends Matcher<T>> matchers, @Nonnull Stream<T> items) {
-        final AtomicBoolean atLeastOneRowMatches = new AtomicBoolean(false);
-        items.forEach(item -> {
-            final AtomicBoolean allMatchersMatches = new AtomicBoolean(true);
-            matchers.forEach(matcher -> {
-                if (!matcher.matches(item)) {
-                    allMatchersMatches.set(false);
-                }
-            });
-            if (allMatchersMatches.get()) {
-                atLeastOneRowMatches.set(true);
+        return items.anyMatch(item -> matchesAll(matchers, item));
+    }
+
+    protected static <T> boolean matchesAll(@Nonnull Iterable<? extends Matcher<T>> matchers, T item) {
+        for (final Matcher<T> matcher : matchers) {
+            if (!matcher.matches(item)) {
+                return false;
             }
-        });
-        return atLeastOneRowMatches.get();
+        }
+        return true;
     }
 
 }
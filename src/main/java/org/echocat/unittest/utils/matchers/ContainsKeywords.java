@@ -0,0 +1,65 @@
+package org.echocat.unittest.utils.matchers;
+
+import org.echocat.unittest.utils.utils.KeywordAutomaton;
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.Description;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+public class ContainsKeywords<T extends CharSequence> extends BaseMatcher<T> {
+
+    @Nonnull
+    private final KeywordAutomaton automaton;
+    private final boolean all;
+
+    protected ContainsKeywords(@Nonnull Iterable<? extends CharSequence> keywords, boolean all) {
+        this.automaton = new KeywordAutomaton(keywords);
+        this.all = all;
+    }
+
+    @Override
+    public boolean matches(@Nullable Object item) {
+        if (item instanceof CharSequence) {
+            final BitSet found = automaton.find((CharSequence) item, !all);
+            return all ? found.cardinality() == automaton.keywords().size() : !found.isEmpty();
+        }
+        return false;
+    }
+
+    @Override
+    public void describeMismatch(@Nullable Object item, @Nonnull Description description) {
+        if (!(item instanceof CharSequence)) {
+            super.describeMismatch(item, description);
+            return;
+        }
+        if (!all) {
+            description.appendText("contained none of them");
+            return;
+        }
+        final BitSet found = automaton.find((CharSequence) item, false);
+        final List<String> missing = new ArrayList<>();
+        for (int i = found.nextClearBit(0); i < automaton.keywords().size(); i = found.nextClearBit(i + 1)) {
+            missing.add(automaton.keywords().get(i));
+        }
+        description.appendValueList("was missing [", ", ", "]", missing);
+    }
+
+    @Override
+    public void describeTo(@Nonnull Description description) {
+        description.appendValueList(all ? "contains all of [" : "contains any of [", ", ", "]", automaton.keywords());
+    }
+
+    @Nonnull
+    protected List<String> keywords() {
+        return automaton.keywords();
+    }
+
+    protected boolean all() {
+        return all;
+    }
+
+}
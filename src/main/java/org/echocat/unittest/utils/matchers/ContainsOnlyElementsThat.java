@@ -3,6 +3,7 @@ package org.echocat.unittest.utils.matchers;
 import org.hamcrest.Matcher;
 
 import javax.annotation.Nonnull;
+import java.util.Iterator;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -10,7 +11,21 @@ import java.util.stream.Stream;
 public class ContainsOnlyElementsThat<V, T> extends CombinedMappingMatcher<V, T> {
 
     public ContainsOnlyElementsThat(@Nonnull Function<V, Stream<T>> mapper, @Nonnull Iterable<? extends Matcher<T>> matchers) {
-        super(mapper, matchers, streamMatcherInstance(), "contains only elements that");
+        this(mapper, matchers, streamMatcherInstance(), false);
+    }
+
+    protected ContainsOnlyElementsThat(@Nonnull Function<V, Stream<T>> mapper, @Nonnull Iterable<? extends Matcher<T>> matchers, @Nonnull StreamMatcher<T> streamMatcher, boolean adaptiveOrdering) {
+        super(mapper, matchers, streamMatcher, "contains only elements that", adaptiveOrdering);
+    }
+
+    @Nonnull
+    public ContainsOnlyElementsThat<V, T> inParallel() {
+        return new ContainsOnlyElementsThat<>(mapper(), matchers(), parallelStreamMatcherInstance(), adaptiveOrdering());
+    }
+
+    @Nonnull
+    public ContainsOnlyElementsThat<V, T> withAdaptiveOrdering() {
+        return new ContainsOnlyElementsThat<>(mapper(), matchers(), streamMatcher(), true);
     }
 
     @Nonnull
@@ -18,16 +33,51 @@ public class ContainsOnlyElementsThat<V, T> extends CombinedMappingMatcher<V, T>
         return ContainsOnlyElementsThat::matches;
     }
 
+    @Nonnull
+    protected static <T> StreamMatcher<T> parallelStreamMatcherInstance() {
+        return ContainsOnlyElementsThat::matchesInParallel;
+    }
+
     protected static <T> boolean matches(@Nonnull Iterable<? extends Matcher<T>> matchers, @Nonnull Stream<T> items) {
-        final AtomicBoolean everyItemWasTrue = new AtomicBoolean(true);
+        final Iterator<T> iterator = items.iterator();
+        if (!iterator.hasNext()) {
+            return false;
+        }
+        while (iterator.hasNext()) {
+            if (!matchesAll(matchers, iterator.next())) {
+                evaluateRemainingMismatches(matchers, iterator);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected static <T> boolean matchesInParallel(@Nonnull Iterable<? extends Matcher<T>> matchers, @Nonnull Stream<T> items) {
         final AtomicBoolean hasAtLeastOneItem = new AtomicBoolean(false);
-        items.forEach(item -> matchers.forEach(matcher -> {
-            hasAtLeastOneItem.set(true);
+        return items.parallel().allMatch(item -> {
+            if (!hasAtLeastOneItem.get()) {
+                hasAtLeastOneItem.set(true);
+            }
+            return matchesAll(matchers, item);
+        }) && hasAtLeastOneItem.get();
+    }
+
+    protected static <T> void evaluateRemainingMismatches(@Nonnull Iterable<? extends Matcher<T>> matchers, @Nonnull Iterator<T> remaining) {
+        int mismatches = 1;
+        while (mismatches <= MAXIMUM_MISMATCHES_TO_REPORT && remaining.hasNext()) {
+            if (!matchesAll(matchers, remaining.next())) {
+                mismatches++;
+            }
+        }
+    }
+
+    protected static <T> boolean matchesAll(@Nonnull Iterable<? extends Matcher<T>> matchers, T item) {
+        for (final Matcher<T> matcher : matchers) {
             if (!matcher.matches(item)) {
-                everyItemWasTrue.set(false);
+                return false;
             }
-        }));
-        return everyItemWasTrue.get() && hasAtLeastOneItem.get();
+        }
+        return true;
     }
 
 }
@@ -0,0 +1,70 @@
+package org.echocat.unittest.utils.matchers;
+
+import javax.annotation.Nonnull;
+import javax.annotation.WillNotClose;
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public final class Content {
+
+    @Nonnull
+    public static Content contentOf(@Nonnull Path path, @Nonnull Charset charset) {
+        return new Content("content of " + path, () -> new InputStreamReader(Files.newInputStream(path), charset), true);
+    }
+
+    @Nonnull
+    public static Content contentOf(@Nonnull @WillNotClose InputStream is, @Nonnull Charset charset) {
+        return new Content("content of " + is, () -> new InputStreamReader(is, charset), false);
+    }
+
+    @Nonnull
+    public static Content contentOf(@Nonnull @WillNotClose Reader reader) {
+        return new Content("content of " + reader, () -> reader, false);
+    }
+
+    @Nonnull
+    private final String description;
+    @Nonnull
+    private final Opener opener;
+    private final boolean closeAfterRead;
+
+    private Content(@Nonnull String description, @Nonnull Opener opener, boolean closeAfterRead) {
+        this.description = description;
+        this.opener = opener;
+        this.closeAfterRead = closeAfterRead;
+    }
+
+    public <R> R read(@Nonnull ReaderFunction<R> function) {
+        try {
+            final Reader reader = opener.open();
+            try {
+                return function.apply(reader);
+            } finally {
+                if (closeAfterRead) {
+                    reader.close();
+                }
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Could not read " + description + ".", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+
+    @FunctionalInterface
+    protected interface Opener {
+        @Nonnull
+        Reader open() throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface ReaderFunction<R> {
+        R apply(@Nonnull @WillNotClose Reader reader) throws IOException;
+    }
+
+}
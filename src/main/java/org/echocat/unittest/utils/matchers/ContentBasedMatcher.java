@@ -0,0 +1,304 @@
+package org.echocat.unittest.utils.matchers;
+
+import org.echocat.unittest.utils.utils.IOUtils.CharsVisitor;
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.Description;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.WillNotClose;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.echocat.unittest.utils.utils.IOUtils.scan;
+import static org.echocat.unittest.utils.utils.KnuthMorrisPratt.failureFunctionOf;
+import static org.echocat.unittest.utils.utils.PatternCache.compile;
+
+public class ContentBasedMatcher extends BaseMatcher<Content> {
+
+    @Nonnegative
+    protected static final int MAXIMUM_LINE_LENGTH = 1024 * 1024;
+
+    @Nonnull
+    protected static Comparator startsWithComparator() {
+        return ContentBasedMatcher::startsWith;
+    }
+
+    @Nonnull
+    protected static Comparator endsWithComparator() {
+        return ContentBasedMatcher::endsWith;
+    }
+
+    @Nonnull
+    protected static Comparator containsComparator() {
+        return ContentBasedMatcher::contains;
+    }
+
+    @Nonnull
+    protected static Comparator containsComparatorFor(@Nonnull String what) {
+        final int[] failure = failureFunctionOf(what);
+        return (actual, expected) -> contains(actual, what, failure);
+    }
+
+    @Nonnull
+    protected static Comparator matchesLineComparator() {
+        return ContentBasedMatcher::matchesLine;
+    }
+
+    @Nonnull
+    protected static Comparator matchesLineComparatorFor(@Nonnull String regex) {
+        final Pattern pattern = compile(regex);
+        return (actual, expected) -> matchesLine(actual, pattern);
+    }
+
+    @Nonnull
+    private final String expected;
+    @Nonnull
+    private final String comparatorDescription;
+    @Nonnull
+    private final Comparator comparator;
+
+    protected ContentBasedMatcher(@Nonnull String comparatorDescription, @Nonnull Comparator comparator, @Nonnull String expected) {
+        this.comparatorDescription = comparatorDescription;
+        this.comparator = comparator;
+        this.expected = expected;
+    }
+
+    @Override
+    public boolean matches(@Nullable Object item) {
+        if (item instanceof Content) {
+            return ((Content) item).read(reader -> comparator.check(reader, expected));
+        }
+        return false;
+    }
+
+    @Override
+    public void describeTo(@Nonnull Description description) {
+        description.appendText(comparatorDescription).appendText(" ").appendValue(expected);
+    }
+
+    @Nonnull
+    protected String expected() {
+        return expected;
+    }
+
+    @Nonnull
+    protected String comparatorDescription() {
+        return comparatorDescription;
+    }
+
+    @Nonnull
+    protected Comparator comparator() {
+        return comparator;
+    }
+
+    protected static boolean startsWith(@Nonnull @WillNotClose Reader actual, @Nonnull String prefix) throws IOException {
+        final PrefixVisitor visitor = new PrefixVisitor(prefix);
+        scan(actual, visitor);
+        return visitor.matches();
+    }
+
+    protected static boolean endsWith(@Nonnull @WillNotClose Reader actual, @Nonnull String suffix) throws IOException {
+        final SuffixVisitor visitor = new SuffixVisitor(suffix);
+        scan(actual, visitor);
+        return visitor.matches();
+    }
+
+    protected static boolean contains(@Nonnull @WillNotClose Reader actual, @Nonnull String what) throws IOException {
+        return contains(actual, what, failureFunctionOf(what));
+    }
+
+    protected static boolean contains(@Nonnull @WillNotClose Reader actual, @Nonnull String what, @Nonnull int[] failure) throws IOException {
+        if (what.isEmpty()) {
+            return true;
+        }
+        return !scan(actual, new ContainsVisitor(what, failure));
+    }
+
+    protected static boolean matchesLine(@Nonnull @WillNotClose Reader actual, @Nonnull String regex) throws IOException {
+        return matchesLine(actual, compile(regex));
+    }
+
+    protected static boolean matchesLine(@Nonnull @WillNotClose Reader actual, @Nonnull Pattern pattern) throws IOException {
+        final LineVisitor visitor = new LineVisitor(pattern.matcher(""), MAXIMUM_LINE_LENGTH);
+        final boolean completed = scan(actual, visitor);
+        if (visitor.lineTooLong()) {
+            throw new IOException("Found a line longer than " + MAXIMUM_LINE_LENGTH + " chars which could not be matched against " + pattern + ".");
+        }
+        return !completed || visitor.matchesRemaining();
+    }
+
+    @FunctionalInterface
+    public interface Comparator {
+        boolean check(@Nonnull @WillNotClose Reader actual, @Nonnull String expected) throws IOException;
+    }
+
+    protected static class PrefixVisitor implements CharsVisitor {
+
+        @Nonnull
+        private final String prefix;
+        @Nonnegative
+        private int matched;
+        private boolean mismatched;
+
+        protected PrefixVisitor(@Nonnull String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public boolean visit(@Nonnull char[] buffer, @Nonnegative int length) {
+            for (int i = 0; i < length && matched < prefix.length(); i++) {
+                if (buffer[i] != prefix.charAt(matched)) {
+                    mismatched = true;
+                    return false;
+                }
+                matched++;
+            }
+            return matched < prefix.length();
+        }
+
+        protected boolean matches() {
+            return !mismatched && matched == prefix.length();
+        }
+
+    }
+
+    protected static class SuffixVisitor implements CharsVisitor {
+
+        @Nonnull
+        private final String suffix;
+        @Nonnull
+        private final char[] window;
+        private long seen;
+
+        protected SuffixVisitor(@Nonnull String suffix) {
+            this.suffix = suffix;
+            this.window = new char[suffix.length()];
+        }
+
+        @Override
+        public boolean visit(@Nonnull char[] buffer, @Nonnegative int length) {
+            if (window.length > 0) {
+                for (int i = 0; i < length; i++) {
+                    window[(int) (seen++ % window.length)] = buffer[i];
+                }
+            }
+            return true;
+        }
+
+        protected boolean matches() {
+            if (seen < window.length) {
+                return false;
+            }
+            for (int i = 0; i < window.length; i++) {
+                if (window[(int) ((seen + i) % window.length)] != suffix.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+
+    protected static class ContainsVisitor implements CharsVisitor {
+
+        @Nonnull
+        private final String what;
+        @Nonnull
+        private final int[] failure;
+        @Nonnegative
+        private int matched;
+
+        protected ContainsVisitor(@Nonnull String what) {
+            this(what, failureFunctionOf(what));
+        }
+
+        protected ContainsVisitor(@Nonnull String what, @Nonnull int[] failure) {
+            this.what = what;
+            this.failure = failure;
+        }
+
+        @Override
+        public boolean visit(@Nonnull char[] buffer, @Nonnegative int length) {
+            for (int i = 0; i < length; i++) {
+                final char c = buffer[i];
+                while (matched > 0 && c != what.charAt(matched)) {
+                    matched = failure[matched - 1];
+                }
+                if (c == what.charAt(matched)) {
+                    matched++;
+                    if (matched == what.length()) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+    }
+
+    protected static class LineVisitor implements CharsVisitor {
+
+        @Nonnull
+        private final Matcher matcher;
+        @Nonnegative
+        private final int maximumLineLength;
+        @Nonnull
+        private final StringBuilder line = new StringBuilder();
+        private boolean lineTooLong;
+
+        protected LineVisitor(@Nonnull Matcher matcher, @Nonnegative int maximumLineLength) {
+            this.matcher = matcher;
+            this.maximumLineLength = maximumLineLength;
+        }
+
+        @Override
+        public boolean visit(@Nonnull char[] buffer, @Nonnegative int length) {
+            int start = 0;
+            for (int i = 0; i < length; i++) {
+                if (buffer[i] == '\n') {
+                    if (!append(buffer, start, i - start)) {
+                        return false;
+                    }
+                    if (matchesLine()) {
+                        return false;
+                    }
+                    start = i + 1;
+                }
+            }
+            return append(buffer, start, length - start);
+        }
+
+        protected boolean lineTooLong() {
+            return lineTooLong;
+        }
+
+        protected boolean append(@Nonnull char[] buffer, @Nonnegative int offset, @Nonnegative int length) {
+            if (line.length() + length > maximumLineLength) {
+                lineTooLong = true;
+                return false;
+            }
+            line.append(buffer, offset, length);
+            return true;
+        }
+
+        protected boolean matchesRemaining() {
+            return line.length() > 0 && matchesLine();
+        }
+
+        protected boolean matchesLine() {
+            final int length = line.length();
+            if (length > 0 && line.charAt(length - 1) == '\r') {
+                line.setLength(length - 1);
+            }
+            final boolean result = matcher.reset(line).matches();
+            line.setLength(0);
+            return result;
+        }
+
+    }
+
+}
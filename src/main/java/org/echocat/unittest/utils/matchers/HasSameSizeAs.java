@@ -1,16 +1,20 @@
 package org.echocat.unittest.utils.matchers;
 
-import org.echocat.unittest.utils.utils.SizeUtils;
+import org.echocat.unittest.utils.utils.IdentityLongCache;
 import org.hamcrest.BaseMatcher;
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
 
-import java.util.Map;
-import java.util.WeakHashMap;
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
-import static java.util.Collections.synchronizedMap;
+import static org.echocat.unittest.utils.utils.SizeUtils.sizeOf;
+import static org.echocat.unittest.utils.utils.SizeUtils.sizeOfAtMost;
 
 public class HasSameSizeAs<T> extends BaseMatcher<T> {
 
@@ -27,7 +31,8 @@ public class HasSameSizeAs<T> extends BaseMatcher<T> {
     @Nullable
     private final T compareTo;
     @Nonnull
-    private final Map<Object, Long> itemToSize = synchronizedMap(new WeakHashMap<>(1, 1));
+    private final IdentityLongCache itemToSize = new IdentityLongCache();
+    private volatile long cachedExpectedSize = -1;
 
     protected HasSameSizeAs(@Nullable T compareTo) {
         this.compareTo = compareTo;
@@ -35,8 +40,10 @@ public class HasSameSizeAs<T> extends BaseMatcher<T> {
 
     @Override
     public boolean matches(@Nullable Object item) {
-        final long actualSize = itemToSize.computeIfAbsent(item, SizeUtils::sizeOf);
-        final long expectedSize = itemToSize.computeIfAbsent(compareTo(), SizeUtils::sizeOf);
+        final long expectedSize = expectedSize();
+        final long limit = expectedSize < Long.MAX_VALUE ? expectedSize + 1 : expectedSize;
+        final long actualSize = sizeOfAtMost(item, limit);
+        itemToSize.put(item, actualSize);
         return actualSize == expectedSize;
     }
 
@@ -44,18 +51,44 @@ public class HasSameSizeAs<T> extends BaseMatcher<T> {
     public void describeTo(@Nonnull Description description) {
         description
             .appendText("has size of ")
-            .appendValue(itemToSize.computeIfAbsent(compareTo(), SizeUtils::sizeOf))
+            .appendValue(expectedSize())
             .appendText(" - same as ")
             .appendValue(compareTo());
     }
 
     @Override
     public void describeMismatch(@Nullable Object item, @Nonnull Description description) {
-        description
-            .appendText("was ")
-            .appendValue(itemToSize.get(item))
-            .appendText(" with content ")
-            .appendValue(item);
+        final long size = itemToSize.getOrDefault(item, -1);
+        if (size > expectedSize()) {
+            description.appendText("was more than ").appendValue(expectedSize());
+        } else {
+            description.appendText("was ").appendValue(size >= 0 ? size : null);
+        }
+        description.appendText(" with content ").appendValue(item);
+    }
+
+    @Nonnegative
+    protected long expectedSize() {
+        final long cached = cachedExpectedSize;
+        if (cached >= 0) {
+            return cached;
+        }
+        final T compareTo = compareTo();
+        final long result = sizeOf(compareTo);
+        if (hasStableSize(compareTo)) {
+            cachedExpectedSize = result;
+        }
+        return result;
+    }
+
+    protected static boolean hasStableSize(@Nullable Object what) {
+        return what == null
+            || what instanceof String
+            || what.getClass().isArray()
+            || what instanceof Iterator
+            || what instanceof Stream
+            || what instanceof InputStream
+            || what instanceof Reader;
     }
 
     @Nullable
@@ -1,17 +1,15 @@
 package org.echocat.unittest.utils.matchers;
 
-import org.echocat.unittest.utils.utils.SizeUtils;
+import org.echocat.unittest.utils.utils.IdentityLongCache;
 import org.hamcrest.BaseMatcher;
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
 
-import java.util.Map;
-import java.util.WeakHashMap;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
-import static java.util.Collections.synchronizedMap;
+import static org.echocat.unittest.utils.utils.SizeUtils.sizeOfAtMost;
 
 public class HasSize<T> extends BaseMatcher<T> {
 
@@ -35,29 +33,81 @@ public class HasSize<T> extends BaseMatcher<T> {
         return hasSize(size);
     }
 
+    @Nonnull
+    public static <T> Matcher<T> hasSizeAtLeast(@Nonnegative long size) {
+        return new HasSize<>("has size of at least", atLeastComparator(), size);
+    }
+
+    @Nonnull
+    public static <T> Matcher<T> hasLengthAtLeast(@Nonnegative long size) {
+        return hasSizeAtLeast(size);
+    }
+
+    @Nonnull
+    public static <T> Matcher<T> hasSizeAtMost(@Nonnegative long size) {
+        return new HasSize<>("has size of at most", atMostComparator(), size);
+    }
+
+    @Nonnull
+    public static <T> Matcher<T> hasLengthAtMost(@Nonnegative long size) {
+        return hasSizeAtMost(size);
+    }
+
+    @Nonnull
+    protected static Comparator equalToComparator() {
+        return (actual, expected) -> actual == expected;
+    }
+
+    @Nonnull
+    protected static Comparator atLeastComparator() {
+        return (actual, expected) -> actual >= expected;
+    }
+
+    @Nonnull
+    protected static Comparator atMostComparator() {
+        return (actual, expected) -> actual <= expected;
+    }
+
     @Nonnegative
     private final long expectedSize;
     @Nonnull
-    private final Map<Object, Long> itemToSize = synchronizedMap(new WeakHashMap<>(1, 1));
+    private final String comparatorDescription;
+    @Nonnull
+    private final Comparator comparator;
+    @Nonnull
+    private final IdentityLongCache itemToSize = new IdentityLongCache();
 
     protected HasSize(@Nonnegative long expectedSize) {
+        this("has size of", equalToComparator(), expectedSize);
+    }
+
+    protected HasSize(@Nonnull String comparatorDescription, @Nonnull Comparator comparator, @Nonnegative long expectedSize) {
+        this.comparatorDescription = comparatorDescription;
+        this.comparator = comparator;
         this.expectedSize = expectedSize;
     }
 
     @Override
     public boolean matches(@Nullable Object item) {
-        final long size = itemToSize.computeIfAbsent(item, SizeUtils::sizeOf);
-        return size == expectedSize();
+        final long size = sizeOfAtMost(item, limit());
+        itemToSize.put(item, size);
+        return comparator().check(size, expectedSize());
     }
 
     @Override
     public void describeTo(@Nonnull Description description) {
-        description.appendText("has size of ").appendValue(expectedSize());
+        description.appendText(comparatorDescription()).appendText(" ").appendValue(expectedSize());
     }
 
     @Override
     public void describeMismatch(@Nullable Object item, @Nonnull Description description) {
-        description.appendText("was ").appendValue(itemToSize.get(item)).appendText(" with content ").appendValue(item);
+        final long size = itemToSize.getOrDefault(item, -1);
+        if (size > expectedSize()) {
+            description.appendText("was more than ").appendValue(expectedSize());
+        } else {
+            description.appendText("was ").appendValue(size >= 0 ? size : null);
+        }
+        description.appendText(" with content ").appendValue(item);
     }
 
     @Nonnegative
@@ -65,4 +115,25 @@ public class HasSize<T> extends BaseMatcher<T> {
         return expectedSize;
     }
 
+    @Nonnegative
+    protected long limit() {
+        final long expectedSize = expectedSize();
+        return expectedSize < Long.MAX_VALUE ? expectedSize + 1 : expectedSize;
+    }
+
+    @Nonnull
+    protected String comparatorDescription() {
+        return comparatorDescription;
+    }
+
+    @Nonnull
+    protected Comparator comparator() {
+        return comparator;
+    }
+
+    @FunctionalInterface
+    public interface Comparator {
+        boolean check(@Nonnegative long actual, @Nonnegative long expected);
+    }
+
 }
@@ -1,17 +1,23 @@
 package org.echocat.unittest.utils.matchers;
 
+import org.echocat.unittest.utils.utils.KnuthMorrisPratt;
 import org.hamcrest.BaseMatcher;
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.stream.Stream;
 
 import static java.util.Arrays.asList;
 
-public class IterableBasedMatcher<V, T extends Iterable<V>> extends BaseMatcher<T> {
+public class IterableBasedMatcher<V, T> extends BaseMatcher<T> {
 
     @Nonnull
     protected static <V> Comparator<V> startsWithComparator() {
@@ -46,11 +52,34 @@ public class IterableBasedMatcher<V, T extends Iterable<V>> extends BaseMatcher<
 
     @Override
     public boolean matches(@Nullable Object item) {
+        final Iterable<V> actual = toIterable(item);
+        if (actual == null) {
+            return false;
+        }
+        //noinspection unchecked
+        return comparator.check(actual, (Iterable<V>) expected);
+    }
+
+    @Nullable
+    protected Iterable<V> toIterable(@Nullable Object item) {
         if (item instanceof Iterable) {
             //noinspection unchecked
-            return comparator.check((Iterable<V>) item, (Iterable<V>) expected);
+            return (Iterable<V>) item;
         }
-        return false;
+        if (item instanceof Object[]) {
+            //noinspection unchecked
+            return asList((V[]) item);
+        }
+        if (item instanceof Stream) {
+            //noinspection unchecked
+            return ((Stream<V>) item)::iterator;
+        }
+        if (item instanceof Iterator) {
+            //noinspection unchecked
+            final Iterator<V> iterator = (Iterator<V>) item;
+            return () -> iterator;
+        }
+        return null;
     }
 
     @Override
@@ -89,6 +118,11 @@ public class IterableBasedMatcher<V, T extends Iterable<V>> extends BaseMatcher<
     }
 
     protected static boolean startsWith(@Nonnull Iterable<Object> actual, @Nonnull Iterable<Object> expected) {
+        if (isRandomAccess(actual)) {
+            final List<Object> list = (List<Object>) actual;
+            final Object[] prefix = toArray(expected);
+            return list.size() >= prefix.length && regionMatches(list, 0, prefix);
+        }
         final Iterator<Object> ai = actual.iterator();
         final Iterator<Object> ei = expected.iterator();
         while (ai.hasNext() && ei.hasNext()) {
@@ -102,53 +136,105 @@ public class IterableBasedMatcher<V, T extends Iterable<V>> extends BaseMatcher<
     }
 
     protected static boolean endsWith(@Nonnull Iterable<Object> actual, @Nonnull Iterable<Object> expected) {
-        final Iterator<Object> ai = actual.iterator();
-        final Iterator<Object> fei = expected.iterator();
-        if (!ai.hasNext() && fei.hasNext()) {
+        final Object[] suffix = toArray(expected);
+        if (suffix.length == 0) {
+            return true;
+        }
+        if (isRandomAccess(actual)) {
+            final List<Object> list = (List<Object>) actual;
+            final int offset = list.size() - suffix.length;
+            return offset >= 0 && regionMatches(list, offset, suffix);
+        }
+        final Object[] window = new Object[suffix.length];
+        boolean windowFilled = false;
+        int next = 0;
+        for (final Object ao : actual) {
+            window[next++] = ao;
+            if (next == window.length) {
+                next = 0;
+                windowFilled = true;
+            }
+        }
+        if (!windowFilled) {
             return false;
         }
-        if (!fei.hasNext()) {
+        for (final Object eo : suffix) {
+            if (!Objects.equals(window[next++], eo)) {
+                return false;
+            }
+            if (next == window.length) {
+                next = 0;
+            }
+        }
+        return true;
+    }
+
+    protected static boolean contains(@Nonnull Iterable<Object> actual, @Nonnull Iterable<Object> expected) {
+        final Object[] pattern = toArray(expected);
+        if (pattern.length == 0) {
             return true;
         }
-        final Object feo = fei.next();
-        while (ai.hasNext()) {
-            final Object fao = ai.next();
-            if (Objects.equals(fao, feo)) {
-                final Iterator<Object> ei = expected.iterator();
-                skipOne(ei);
-                final boolean allMatches = continueMatchesOn(ai, ei);
-                if (!ai.hasNext() && !ei.hasNext()) {
-                    return allMatches;
+        final int[] failure = failureFunctionOf(pattern);
+        int matched = 0;
+        if (isRandomAccess(actual)) {
+            final List<Object> list = (List<Object>) actual;
+            for (int i = 0, size = list.size(); i < size && size - i >= pattern.length - matched; i++) {
+                matched = advance(pattern, failure, matched, list.get(i));
+                if (matched == pattern.length) {
+                    return true;
                 }
             }
+            return false;
+        }
+        for (final Object ao : actual) {
+            matched = advance(pattern, failure, matched, ao);
+            if (matched == pattern.length) {
+                return true;
+            }
         }
         return false;
     }
 
-    protected static boolean contains(@Nonnull Iterable<Object> actual, @Nonnull Iterable<Object> expected) {
-        final Iterator<Object> ai = actual.iterator();
-        final Iterator<Object> fei = expected.iterator();
-        if (!ai.hasNext() && fei.hasNext()) {
-            return false;
+    protected static int advance(@Nonnull Object[] pattern, @Nonnull int[] failure, int matched, @Nullable Object actual) {
+        int result = matched;
+        while (result > 0 && !Objects.equals(actual, pattern[result])) {
+            result = failure[result - 1];
         }
-        if (!fei.hasNext()) {
-            return true;
+        if (Objects.equals(actual, pattern[result])) {
+            result++;
         }
-        final Object feo = fei.next();
-        while (ai.hasNext()) {
-            final Object fao = ai.next();
-            if (Objects.equals(fao, feo)) {
-                final Iterator<Object> ei = expected.iterator();
-                skipOne(ei);
-                final boolean allMatches = continueMatchesOn(ai, ei);
-                if (!ei.hasNext()) {
-                    return allMatches;
-                }
+        return result;
+    }
+
+    protected static boolean regionMatches(@Nonnull List<Object> actual, int offset, @Nonnull Object[] expected) {
+        for (int i = 0; i < expected.length; i++) {
+            if (!Objects.equals(actual.get(offset + i), expected[i])) {
+                return false;
             }
         }
-        return false;
+        return true;
+    }
+
+    protected static boolean isRandomAccess(@Nonnull Iterable<?> candidate) {
+        return candidate instanceof List && candidate instanceof RandomAccess;
+    }
+
+    @Nonnull
+    protected static int[] failureFunctionOf(@Nonnull Object[] pattern) {
+        return KnuthMorrisPratt.failureFunctionOf(pattern);
+    }
+
+    @Nonnull
+    protected static Object[] toArray(@Nonnull Iterable<?> input) {
+        if (input instanceof Collection) {
+            return ((Collection<?>) input).toArray();
+        }
+        final List<Object> result = new ArrayList<>();
+        input.forEach(result::add);
+        return result.toArray();
     }
 
+    @Deprecated
     protected static boolean continueMatchesOn(@Nonnull Iterator<Object> ai, @Nonnull Iterator<Object> ei) {
         boolean allMatches = true;
         while (ai.hasNext() && ei.hasNext()) {
@@ -162,6 +248,7 @@ public class IterableBasedMatcher<V, T extends Iterable<V>> extends BaseMatcher<
         return allMatches;
     }
 
+    @Deprecated
     protected static void skipOne(@Nonnull Iterator<?> iterator) {
         if (!iterator.hasNext()) {
             throw new IllegalStateException();
@@ -12,46 +12,46 @@ import static org.echocat.unittest.utils.matchers.CombinedMappingMatcher.collect
 public final class IterableMatchers {
 
     @Nonnull
-    public static <T> Matcher<Iterable<T>> containsOnlyElementsThat(@Nonnull Iterable<? extends Matcher<T>> matchers) {
+    public static <T> ContainsOnlyElementsThat<Iterable<T>, T> containsOnlyElementsThat(@Nonnull Iterable<? extends Matcher<T>> matchers) {
         return new ContainsOnlyElementsThat<>(StreamUtils::toStream, matchers);
     }
 
     @SafeVarargs
     @Nonnull
-    public static <T> Matcher<Iterable<T>> containsOnlyElementsThat(@Nonnull Matcher<T> matcher, @Nullable Matcher<T>... otherMatchers) {
+    public static <T> ContainsOnlyElementsThat<Iterable<T>, T> containsOnlyElementsThat(@Nonnull Matcher<T> matcher, @Nullable Matcher<T>... otherMatchers) {
         return containsOnlyElementsThat(collectMatchers(matcher, otherMatchers));
     }
 
     @Nonnull
-    public static <T> Matcher<Iterable<T>> containsOnlyElements(@Nonnull Iterable<? extends Matcher<T>> matchers) {
+    public static <T> ContainsOnlyElementsThat<Iterable<T>, T> containsOnlyElements(@Nonnull Iterable<? extends Matcher<T>> matchers) {
         return containsOnlyElementsThat(matchers);
     }
 
     @SafeVarargs
     @Nonnull
-    public static <T> Matcher<Iterable<T>> containsOnlyElements(@Nonnull Matcher<T> matcher, @Nullable Matcher<T>... otherMatchers) {
+    public static <T> ContainsOnlyElementsThat<Iterable<T>, T> containsOnlyElements(@Nonnull Matcher<T> matcher, @Nullable Matcher<T>... otherMatchers) {
         return containsOnlyElements(collectMatchers(matcher, otherMatchers));
     }
 
     @Nonnull
-    public static <T> Matcher<Iterable<T>> containsAtLeastOneElementThat(@Nonnull Iterable<? extends Matcher<T>> matchers) {
+    public static <T> ContainsAtLeastOneElementThat<Iterable<T>, T> containsAtLeastOneElementThat(@Nonnull Iterable<? extends Matcher<T>> matchers) {
         return new ContainsAtLeastOneElementThat<>(StreamUtils::toStream, matchers);
     }
 
     @SafeVarargs
     @Nonnull
-    public static <T> Matcher<Iterable<T>> containsAtLeastOneElementThat(@Nonnull Matcher<T> matcher, @Nullable Matcher<T>... otherMatchers) {
+    public static <T> ContainsAtLeastOneElementThat<Iterable<T>, T> containsAtLeastOneElementThat(@Nonnull Matcher<T> matcher, @Nullable Matcher<T>... otherMatchers) {
         return containsAtLeastOneElementThat(collectMatchers(matcher, otherMatchers));
     }
 
     @Nonnull
-    public static <T> Matcher<Iterable<T>> containsAtLeastOneElement(@Nonnull Iterable<? extends Matcher<T>> matchers) {
+    public static <T> ContainsAtLeastOneElementThat<Iterable<T>, T> containsAtLeastOneElement(@Nonnull Iterable<? extends Matcher<T>> matchers) {
         return containsAtLeastOneElementThat(matchers);
     }
 
     @SafeVarargs
     @Nonnull
-    public static <T> Matcher<Iterable<T>> containsAtLeastOneElement(@Nonnull Matcher<T> matcher, @Nullable Matcher<T>... otherMatchers) {
+    public static <T> ContainsAtLeastOneElementThat<Iterable<T>, T> containsAtLeastOneElement(@Nonnull Matcher<T> matcher, @Nullable Matcher<T>... otherMatchers) {
         return containsAtLeastOneElement(collectMatchers(matcher, otherMatchers));
     }
 
@@ -7,52 +7,86 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Iterator;
 
+import static java.util.Arrays.asList;
 import static org.echocat.unittest.utils.matchers.CombinedMappingMatcher.collectMatchers;
 
 public final class IteratorMatchers {
 
     @Nonnull
-    public static <T> Matcher<Iterator<T>> containsOnlyElementsThat(@Nonnull Iterable<? extends Matcher<T>> matchers) {
+    public static <T> ContainsOnlyElementsThat<Iterator<T>, T> containsOnlyElementsThat(@Nonnull Iterable<? extends Matcher<T>> matchers) {
         return new ContainsOnlyElementsThat<>(StreamUtils::toStream, matchers);
     }
 
     @SafeVarargs
     @Nonnull
-    public static <T> Matcher<Iterator<T>> containsOnlyElementsThat(@Nonnull Matcher<T> matcher, @Nullable Matcher<T>... otherMatchers) {
+    public static <T> ContainsOnlyElementsThat<Iterator<T>, T> containsOnlyElementsThat(@Nonnull Matcher<T> matcher, @Nullable Matcher<T>... otherMatchers) {
         return containsOnlyElementsThat(collectMatchers(matcher, otherMatchers));
     }
 
     @Nonnull
-    public static <T> Matcher<Iterator<T>> containsOnlyElements(@Nonnull Iterable<? extends Matcher<T>> matchers) {
+    public static <T> ContainsOnlyElementsThat<Iterator<T>, T> containsOnlyElements(@Nonnull Iterable<? extends Matcher<T>> matchers) {
         return containsOnlyElementsThat(matchers);
     }
 
     @SafeVarargs
     @Nonnull
-    public static <T> Matcher<Iterator<T>> containsOnlyElements(@Nonnull Matcher<T> matcher, @Nullable Matcher<T>... otherMatchers) {
+    public static <T> ContainsOnlyElementsThat<Iterator<T>, T> containsOnlyElements(@Nonnull Matcher<T> matcher, @Nullable Matcher<T>... otherMatchers) {
         return containsOnlyElements(collectMatchers(matcher, otherMatchers));
     }
 
     @Nonnull
-    public static <T> Matcher<Iterator<T>> containsAtLeastOneElementThat(@Nonnull Iterable<? extends Matcher<T>> matchers) {
+    public static <T> ContainsAtLeastOneElementThat<Iterator<T>, T> containsAtLeastOneElementThat(@Nonnull Iterable<? extends Matcher<T>> matchers) {
         return new ContainsAtLeastOneElementThat<>(StreamUtils::toStream, matchers);
     }
 
     @SafeVarargs
     @Nonnull
-    public static <T> Matcher<Iterator<T>> containsAtLeastOneElementThat(@Nonnull Matcher<T> matcher, @Nullable Matcher<T>... otherMatchers) {
+    public static <T> ContainsAtLeastOneElementThat<Iterator<T>, T> containsAtLeastOneElementThat(@Nonnull Matcher<T> matcher, @Nullable Matcher<T>... otherMatchers) {
         return containsAtLeastOneElementThat(collectMatchers(matcher, otherMatchers));
     }
 
     @Nonnull
-    public static <T> Matcher<Iterator<T>> containsAtLeastOneElement(@Nonnull Iterable<? extends Matcher<T>> matchers) {
+    public static <T> ContainsAtLeastOneElementThat<Iterator<T>, T> containsAtLeastOneElement(@Nonnull Iterable<? extends Matcher<T>> matchers) {
         return containsAtLeastOneElementThat(matchers);
     }
 
     @SafeVarargs
     @Nonnull
-    public static <T> Matcher<Iterator<T>> containsAtLeastOneElement(@Nonnull Matcher<T> matcher, @Nullable Matcher<T>... otherMatchers) {
+    public static <T> ContainsAtLeastOneElementThat<Iterator<T>, T> containsAtLeastOneElement(@Nonnull Matcher<T> matcher, @Nullable Matcher<T>... otherMatchers) {
         return containsAtLeastOneElement(collectMatchers(matcher, otherMatchers));
     }
 
+    @SafeVarargs
+    @Nonnull
+    public static <V> Matcher<Iterator<V>> startsWith(@Nonnull V... prefix) {
+        return startsWith(asList(prefix));
+    }
+
+    @Nonnull
+    public static <V> Matcher<Iterator<V>> startsWith(@Nonnull Iterable<? extends V> prefix) {
+        return new IterableBasedMatcher<>("starts with", IterableBasedMatcher.startsWithComparator(), prefix);
+    }
+
+    @SafeVarargs
+    @Nonnull
+    public static <V> Matcher<Iterator<V>> endsWith(@Nonnull V... suffix) {
+        return endsWith(asList(suffix));
+    }
+
+    @Nonnull
+    public static <V> Matcher<Iterator<V>> endsWith(@Nonnull Iterable<? extends V> suffix) {
+        return new IterableBasedMatcher<>("ends with", IterableBasedMatcher.endsWithComparator(), suffix);
+    }
+
+    @SafeVarargs
+    @Nonnull
+    public static <V> Matcher<Iterator<V>> contains(@Nonnull V... what) {
+        return contains(asList(what));
+    }
+
+    @Nonnull
+    public static <V> Matcher<Iterator<V>> contains(@Nonnull Iterable<? extends V> what) {
+        return new IterableBasedMatcher<>("contains", IterableBasedMatcher.containsComparator(), what);
+    }
+
 }
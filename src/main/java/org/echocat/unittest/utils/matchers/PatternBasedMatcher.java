@@ -0,0 +1,64 @@
+package org.echocat.unittest.utils.matchers;
+
+import org.hamcrest.Description;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.regex.Pattern;
+
+import static java.util.regex.Pattern.*;
+
+public class PatternBasedMatcher<T extends CharSequence> extends StringBasedMatcher<T> {
+
+    @Nonnull
+    private static final int[] FLAGS = {UNIX_LINES, CASE_INSENSITIVE, COMMENTS, MULTILINE, LITERAL, DOTALL, UNICODE_CASE, CANON_EQ, UNICODE_CHARACTER_CLASS};
+    @Nonnull
+    private static final String[] FLAG_NAMES = {"UNIX_LINES", "CASE_INSENSITIVE", "COMMENTS", "MULTILINE", "LITERAL", "DOTALL", "UNICODE_CASE", "CANON_EQ", "UNICODE_CHARACTER_CLASS"};
+
+    @Nonnull
+    protected static String flagsToString(int flags) {
+        final StringBuilder result = new StringBuilder();
+        int remaining = flags;
+        for (int i = 0; i < FLAGS.length; i++) {
+            if ((remaining & FLAGS[i]) != 0) {
+                result.append(result.length() > 0 ? "|" : "").append(FLAG_NAMES[i]);
+                remaining &= ~FLAGS[i];
+            }
+        }
+        if (remaining != 0) {
+            result.append(result.length() > 0 ? "|" : "").append("0x").append(Integer.toHexString(remaining));
+        }
+        return result.toString();
+    }
+
+    @Nonnull
+    private final Pattern pattern;
+
+    protected PatternBasedMatcher(@Nonnull Pattern pattern) {
+        super("matches regular expression", matchesComparator(), pattern.pattern());
+        this.pattern = pattern;
+    }
+
+    @Override
+    public boolean matches(@Nullable Object item) {
+        if (item instanceof CharSequence) {
+            return pattern.matcher((CharSequence) item).matches();
+        }
+        return false;
+    }
+
+    @Override
+    public void describeTo(@Nonnull Description description) {
+        super.describeTo(description);
+        final int flags = pattern.flags();
+        if (flags != 0) {
+            description.appendText(" with flags ").appendText(flagsToString(flags));
+        }
+    }
+
+    @Nonnull
+    protected Pattern pattern() {
+        return pattern;
+    }
+
+}
@@ -1,5 +1,7 @@
 package org.echocat.unittest.utils.matchers;
 
+import org.echocat.unittest.utils.utils.CharSequenceUtils;
+import org.echocat.unittest.utils.utils.SubstringSearch;
 import org.hamcrest.BaseMatcher;
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
@@ -7,31 +9,65 @@ import org.hamcrest.Matcher;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import static org.echocat.unittest.utils.utils.PatternCache.compile;
+
 public class StringBasedMatcher<T extends CharSequence> extends BaseMatcher<T> {
 
     @Nonnull
-    protected static Comparator startsWithComparator() {
-        return String::startsWith;
+    protected static CharSequenceComparator startsWithComparator() {
+        return CharSequenceUtils::startsWith;
+    }
+
+    @Nonnull
+    protected static CharSequenceComparator endsWithComparator() {
+        return CharSequenceUtils::endsWith;
+    }
+
+    @Nonnull
+    protected static CharSequenceComparator containsComparator() {
+        return CharSequenceUtils::contains;
+    }
+
+    @Nonnull
+    protected static CharSequenceComparator containsComparatorFor(@Nonnull String what) {
+        final SubstringSearch search = new SubstringSearch(what, false);
+        return (actual, expected) -> {
+            if (actual instanceof String) {
+                return ((String) actual).contains(what);
+            }
+            return search.isContainedIn(actual);
+        };
     }
 
     @Nonnull
-    protected static Comparator endsWithComparator() {
-        return String::endsWith;
+    protected static CharSequenceComparator matchesComparator() {
+        return (actual, regex) -> compile(regex).matcher(actual).matches();
     }
 
     @Nonnull
-    protected static Comparator containsComparator() {
-        return String::contains;
+    protected static CharSequenceComparator startsWithIgnoreCaseComparator() {
+        return CharSequenceUtils::startsWithIgnoreCase;
     }
 
     @Nonnull
-    protected static Comparator matchesComparator() {
-        return String::matches;
+    protected static CharSequenceComparator endsWithIgnoreCaseComparator() {
+        return CharSequenceUtils::endsWithIgnoreCase;
     }
 
     @Nonnull
-    protected static Comparator equalsIgnoreCaseComparator() {
-        return String::equalsIgnoreCase;
+    protected static CharSequenceComparator containsIgnoreCaseComparator() {
+        return CharSequenceUtils::containsIgnoreCase;
+    }
+
+    @Nonnull
+    protected static CharSequenceComparator containsIgnoreCaseComparatorFor(@Nonnull String what) {
+        final SubstringSearch search = new SubstringSearch(what, true);
+        return (actual, expected) -> search.isContainedIn(actual);
+    }
+
+    @Nonnull
+    protected static CharSequenceComparator equalsIgnoreCaseComparator() {
+        return CharSequenceUtils::equalsIgnoreCase;
     }
 
     @Nonnull
@@ -50,6 +86,9 @@ public class StringBasedMatcher<T extends CharSequence> extends BaseMatcher<T> {
     @Override
     public boolean matches(@Nullable Object item) {
         if (item instanceof CharSequence) {
+            if (comparator instanceof CharSequenceComparator) {
+                return ((CharSequenceComparator) comparator).check((CharSequence) item, expected);
+            }
             return comparator.check(item.toString(), expected);
         }
         return false;
@@ -80,4 +119,16 @@ public class StringBasedMatcher<T extends CharSequence> extends BaseMatcher<T> {
         boolean check(@Nonnull String actual, @Nonnull String expected);
     }
 
+    @FunctionalInterface
+    public interface CharSequenceComparator extends Comparator {
+
+        boolean check(@Nonnull CharSequence actual, @Nonnull String expected);
+
+        @Override
+        default boolean check(@Nonnull String actual, @Nonnull String expected) {
+            return check((CharSequence) actual, expected);
+        }
+
+    }
+
 }
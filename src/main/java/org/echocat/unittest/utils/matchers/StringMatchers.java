@@ -3,6 +3,15 @@ package org.echocat.unittest.utils.matchers;
 import org.hamcrest.Matcher;
 
 import javax.annotation.Nonnull;
+import javax.annotation.WillNotClose;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.regex.Pattern;
+
+import static java.util.Arrays.asList;
+import static org.echocat.unittest.utils.utils.PatternCache.compile;
 
 public final class StringMatchers {
 
@@ -18,12 +27,59 @@ public final class StringMatchers {
 
     @Nonnull
     public static <T extends CharSequence> Matcher<T> contains(@Nonnull CharSequence what) {
-        return new StringBasedMatcher<>("contains", StringBasedMatcher.containsComparator(), what.toString());
+        final String expected = what.toString();
+        return new StringBasedMatcher<>("contains", StringBasedMatcher.containsComparatorFor(expected), expected);
+    }
+
+    @Nonnull
+    public static <T extends CharSequence> Matcher<T> startsWithIgnoreCase(@Nonnull CharSequence prefix) {
+        return new StringBasedMatcher<>("starts with ignore case", StringBasedMatcher.startsWithIgnoreCaseComparator(), prefix.toString());
+    }
+
+    @Nonnull
+    public static <T extends CharSequence> Matcher<T> endsWithIgnoreCase(@Nonnull CharSequence suffix) {
+        return new StringBasedMatcher<>("ends with ignore case", StringBasedMatcher.endsWithIgnoreCaseComparator(), suffix.toString());
+    }
+
+    @Nonnull
+    public static <T extends CharSequence> Matcher<T> containsIgnoreCase(@Nonnull CharSequence what) {
+        final String expected = what.toString();
+        return new StringBasedMatcher<>("contains ignore case", StringBasedMatcher.containsIgnoreCaseComparatorFor(expected), expected);
     }
 
     @Nonnull
     public static <T extends CharSequence> Matcher<T> matches(@Nonnull CharSequence regex) {
-        return new StringBasedMatcher<>("matches regular expression", StringBasedMatcher.matchesComparator(), regex.toString());
+        return matches(regex, 0);
+    }
+
+    @Nonnull
+    public static <T extends CharSequence> Matcher<T> matches(@Nonnull CharSequence regex, int flags) {
+        return matches(compile(regex.toString(), flags));
+    }
+
+    @Nonnull
+    public static <T extends CharSequence> Matcher<T> matches(@Nonnull Pattern pattern) {
+        return new PatternBasedMatcher<>(pattern);
+    }
+
+    @Nonnull
+    public static <T extends CharSequence> Matcher<T> containsAll(@Nonnull CharSequence... keywords) {
+        return containsAll(asList(keywords));
+    }
+
+    @Nonnull
+    public static <T extends CharSequence> Matcher<T> containsAll(@Nonnull Iterable<? extends CharSequence> keywords) {
+        return new ContainsKeywords<>(keywords, true);
+    }
+
+    @Nonnull
+    public static <T extends CharSequence> Matcher<T> containsAny(@Nonnull CharSequence... keywords) {
+        return containsAny(asList(keywords));
+    }
+
+    @Nonnull
+    public static <T extends CharSequence> Matcher<T> containsAny(@Nonnull Iterable<? extends CharSequence> keywords) {
+        return new ContainsKeywords<>(keywords, false);
     }
 
     @Nonnull
@@ -46,4 +102,41 @@ public final class StringMatchers {
         return equalsIgnoreCase(what);
     }
 
+    @Nonnull
+    public static Content contentOf(@Nonnull Path path, @Nonnull Charset charset) {
+        return Content.contentOf(path, charset);
+    }
+
+    @Nonnull
+    public static Content contentOf(@Nonnull @WillNotClose InputStream is, @Nonnull Charset charset) {
+        return Content.contentOf(is, charset);
+    }
+
+    @Nonnull
+    public static Content contentOf(@Nonnull @WillNotClose Reader reader) {
+        return Content.contentOf(reader);
+    }
+
+    @Nonnull
+    public static Matcher<Content> contentStartsWith(@Nonnull CharSequence prefix) {
+        return new ContentBasedMatcher("starts with", ContentBasedMatcher.startsWithComparator(), prefix.toString());
+    }
+
+    @Nonnull
+    public static Matcher<Content> contentEndsWith(@Nonnull CharSequence suffix) {
+        return new ContentBasedMatcher("ends with", ContentBasedMatcher.endsWithComparator(), suffix.toString());
+    }
+
+    @Nonnull
+    public static Matcher<Content> contentContains(@Nonnull CharSequence what) {
+        final String expected = what.toString();
+        return new ContentBasedMatcher("contains", ContentBasedMatcher.containsComparatorFor(expected), expected);
+    }
+
+    @Nonnull
+    public static Matcher<Content> matchesLine(@Nonnull CharSequence regex) {
+        final String expected = regex.toString();
+        return new ContentBasedMatcher("has a line that matches regular expression", ContentBasedMatcher.matchesLineComparatorFor(expected), expected);
+    }
+
 }
@@ -1,6 +1,7 @@
 package org.echocat.unittest.utils.matchers;
 
 import org.echocat.unittest.utils.matchers.ThrowsException.Execution;
+import org.echocat.unittest.utils.utils.IdentityCache;
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
 import org.hamcrest.TypeSafeMatcher;
@@ -8,39 +9,40 @@ import org.hamcrest.TypeSafeMatcher;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.lang.reflect.UndeclaredThrowableException;
-import java.util.Map;
+import java.time.Duration;
 import java.util.Optional;
-import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Pattern;
 
-import static java.util.Collections.synchronizedMap;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.regex.Pattern.compile;
 
 @SuppressWarnings("NonExceptionNameEndsWithException")
 public class ThrowsException<T extends Execution> extends TypeSafeMatcher<T> {
 
     @Nonnull
-    public static <T extends Execution> Matcher<T> throwsException(@Nonnull Class<? extends Throwable> type, @Nullable Pattern messagePattern) {
+    public static <T extends Execution> ThrowsException<T> throwsException(@Nonnull Class<? extends Throwable> type, @Nullable Pattern messagePattern) {
         return new ThrowsException<>(type, messagePattern);
     }
 
     @Nonnull
-    public static <T extends Execution> Matcher<T> throwsException(@Nonnull Class<? extends Throwable> type, @Nullable String messagePattern) {
+    public static <T extends Execution> ThrowsException<T> throwsException(@Nonnull Class<? extends Throwable> type, @Nullable String messagePattern) {
         return throwsException(type, messagePattern != null ? compile(messagePattern, Pattern.DOTALL) : null);
     }
 
     @Nonnull
-    public static <T extends Execution> Matcher<T> throwsException(@Nonnull Class<? extends Throwable> type) {
+    public static <T extends Execution> ThrowsException<T> throwsException(@Nonnull Class<? extends Throwable> type) {
         return throwsException(type, (Pattern) null);
     }
 
     @Nonnull
-    public static <T extends Execution> Matcher<T> throwsExceptionWithMessage(@Nonnull Class<? extends Throwable> type, @Nullable Pattern messagePattern) {
+    public static <T extends Execution> ThrowsException<T> throwsExceptionWithMessage(@Nonnull Class<? extends Throwable> type, @Nullable Pattern messagePattern) {
         return throwsException(type, messagePattern);
     }
 
     @Nonnull
-    public static <T extends Execution> Matcher<T> throwsExceptionWithMessage(@Nonnull Class<? extends Throwable> type, @Nullable String messagePattern) {
+    public static <T extends Execution> ThrowsException<T> throwsExceptionWithMessage(@Nonnull Class<? extends Throwable> type, @Nullable String messagePattern) {
         return throwsExceptionWithMessage(type, messagePattern != null ? compile(messagePattern) : null);
     }
 
@@ -49,22 +51,41 @@ public class ThrowsException<T extends Execution> extends TypeSafeMatcher<T> {
     };
 
     @Nonnull
-    private final Map<Execution, Throwable> executionToThrowable = synchronizedMap(new WeakHashMap<>());
+    private final IdentityCache<Outcome> executionToOutcome = new IdentityCache<>();
 
     @Nonnull
     private final Class<? extends Throwable> expectedExceptionType;
     @Nonnull
     private final Optional<Pattern> expectedExceptionMessagePattern;
+    @Nonnull
+    private final Optional<Duration> timeout;
 
     protected ThrowsException(@Nonnull Class<? extends Throwable> expectedExceptionType, @Nullable Pattern expectedExceptionMessagePattern) {
+        this(expectedExceptionType, expectedExceptionMessagePattern, null);
+    }
+
+    protected ThrowsException(@Nonnull Class<? extends Throwable> expectedExceptionType, @Nullable Pattern expectedExceptionMessagePattern, @Nullable Duration timeout) {
         super(Execution.class);
         this.expectedExceptionType = expectedExceptionType;
         this.expectedExceptionMessagePattern = Optional.ofNullable(expectedExceptionMessagePattern);
+        this.timeout = Optional.ofNullable(timeout);
+    }
+
+    @Nonnull
+    public ThrowsException<T> within(@Nonnull Duration timeout) {
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("The timeout have to be positive but was " + timeout + ".");
+        }
+        return new ThrowsException<>(expectedExceptionType(), expectedExceptionMessagePattern().orElse(null), timeout);
     }
 
     @Override
     protected boolean matchesSafely(@Nonnull T item) {
-        final Throwable e = executionToThrowable.computeIfAbsent(item, this::executeExecutionAndReturnException);
+        final Outcome outcome = executionToOutcome.computeIfAbsent(item, this::execute);
+        if (outcome.timedOut()) {
+            return false;
+        }
+        final Throwable e = outcome.throwable();
         // noinspection ObjectEquality
         if (e == NONE) {
             return false;
@@ -84,6 +105,37 @@ public class ThrowsException<T extends Execution> extends TypeSafeMatcher<T> {
         throw new UndeclaredThrowableException(e);
     }
 
+    @Nonnull
+    protected Outcome execute(@Nonnull Execution execution) {
+        if (timeout().isPresent()) {
+            return executeWithin(execution, timeout().get());
+        }
+        final long start = nanoTime();
+        final Throwable e = executeExecutionAndReturnException(execution);
+        return new Outcome(e, nanoTime() - start, false);
+    }
+
+    @Nonnull
+    protected Outcome executeWithin(@Nonnull Execution execution, @Nonnull Duration timeout) {
+        final AtomicReference<Throwable> result = new AtomicReference<>();
+        final Thread thread = new Thread(() -> result.set(executeExecutionAndReturnException(execution)), "throwsException-" + execution);
+        thread.setDaemon(true);
+        final long start = nanoTime();
+        thread.start();
+        try {
+            NANOSECONDS.timedJoin(thread, timeout.toNanos());
+        } catch (final InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+        }
+        final long elapsed = nanoTime() - start;
+        final Throwable e = result.get();
+        if (e == null) {
+            thread.interrupt();
+            return new Outcome(NONE, elapsed, true);
+        }
+        return new Outcome(e, elapsed, false);
+    }
+
     @Nonnull
     protected Throwable executeExecutionAndReturnException(@Nonnull Execution execution) {
         try {
@@ -98,11 +150,23 @@ public class ThrowsException<T extends Execution> extends TypeSafeMatcher<T> {
     public void describeTo(@Nonnull Description description) {
         description.appendText("execution should throw exception of type ").appendValue(expectedExceptionType);
         expectedExceptionMessagePattern().ifPresent(pattern -> description.appendText(" with message that matches ").appendValue(pattern));
+        timeout().ifPresent(timeout -> description.appendText(" within ").appendValue(timeout));
     }
 
     @Override
     protected void describeMismatchSafely(@Nonnull T item, @Nonnull Description mismatchDescription) {
-        final Throwable e = executionToThrowable.computeIfAbsent(item, this::executeExecutionAndReturnException);
+        final Outcome outcome = executionToOutcome.computeIfAbsent(item, this::execute);
+        if (outcome.timedOut()) {
+            mismatchDescription.appendText("did not complete and was interrupted after ").appendValue(outcome.elapsed());
+            return;
+        }
+        describeMismatchOf(outcome.throwable(), mismatchDescription);
+        if (timeout().isPresent()) {
+            mismatchDescription.appendText(" (completed after ").appendValue(outcome.elapsed()).appendText(")");
+        }
+    }
+
+    protected void describeMismatchOf(@Nonnull Throwable e, @Nonnull Description mismatchDescription) {
         //noinspection ObjectEquality
         if (e == NONE) {
             mismatchDescription.appendText("throws no exception");
@@ -129,9 +193,43 @@ public class ThrowsException<T extends Execution> extends TypeSafeMatcher<T> {
         return expectedExceptionMessagePattern;
     }
 
+    @Nonnull
+    protected Optional<Duration> timeout() {
+        return timeout;
+    }
+
     @FunctionalInterface
     public interface Execution {
         void execute() throws Throwable;
     }
 
+    protected static class Outcome {
+
+        @Nonnull
+        private final Throwable throwable;
+        private final long elapsedNanos;
+        private final boolean timedOut;
+
+        protected Outcome(@Nonnull Throwable throwable, long elapsedNanos, boolean timedOut) {
+            this.throwable = throwable;
+            this.elapsedNanos = elapsedNanos;
+            this.timedOut = timedOut;
+        }
+
+        @Nonnull
+        protected Throwable throwable() {
+            return throwable;
+        }
+
+        @Nonnull
+        protected Duration elapsed() {
+            return Duration.ofNanos(elapsedNanos);
+        }
+
+        protected boolean timedOut() {
+            return timedOut;
+        }
+
+    }
+
 }
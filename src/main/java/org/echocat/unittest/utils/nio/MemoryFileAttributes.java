@@ -0,0 +1,120 @@
+package org.echocat.unittest.utils.nio;
+
+import org.echocat.unittest.utils.nio.MemoryNode.Directory;
+import org.echocat.unittest.utils.nio.MemoryNode.RegularFile;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+final class MemoryFileAttributes implements BasicFileAttributes {
+
+    @Nonnull
+    private final MemoryNode node;
+    @Nonnull
+    private final FileTime lastModifiedTime;
+    @Nonnull
+    private final FileTime lastAccessTime;
+    @Nonnull
+    private final FileTime creationTime;
+    private final long size;
+
+    MemoryFileAttributes(@Nonnull MemoryNode node) {
+        this.node = node;
+        this.lastModifiedTime = node.lastModifiedTime();
+        this.lastAccessTime = node.lastAccessTime();
+        this.creationTime = node.creationTime();
+        this.size = node.size();
+    }
+
+    @Override
+    public FileTime lastModifiedTime() {
+        return lastModifiedTime;
+    }
+
+    @Override
+    public FileTime lastAccessTime() {
+        return lastAccessTime;
+    }
+
+    @Override
+    public FileTime creationTime() {
+        return creationTime;
+    }
+
+    @Override
+    public boolean isRegularFile() {
+        return node instanceof RegularFile;
+    }
+
+    @Override
+    public boolean isDirectory() {
+        return node instanceof Directory;
+    }
+
+    @Override
+    public boolean isSymbolicLink() {
+        return false;
+    }
+
+    @Override
+    public boolean isOther() {
+        return false;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public Object fileKey() {
+        return node;
+    }
+
+    @Nonnull
+    Map<String, Object> toMap() {
+        final Map<String, Object> result = new LinkedHashMap<>();
+        result.put("lastModifiedTime", lastModifiedTime());
+        result.put("lastAccessTime", lastAccessTime());
+        result.put("creationTime", creationTime());
+        result.put("size", size());
+        result.put("isRegularFile", isRegularFile());
+        result.put("isDirectory", isDirectory());
+        result.put("isSymbolicLink", isSymbolicLink());
+        result.put("isOther", isOther());
+        result.put("fileKey", fileKey());
+        return result;
+    }
+
+    static final class View implements BasicFileAttributeView {
+
+        @Nonnull
+        private final MemoryPath path;
+
+        View(@Nonnull MemoryPath path) {
+            this.path = path;
+        }
+
+        @Override
+        public String name() {
+            return "basic";
+        }
+
+        @Override
+        public MemoryFileAttributes readAttributes() throws IOException {
+            return new MemoryFileAttributes(path.getFileSystem().require(path));
+        }
+
+        @Override
+        public void setTimes(FileTime lastModifiedTime, FileTime lastAccessTime, FileTime createTime) throws IOException {
+            path.getFileSystem().require(path).setTimes(lastModifiedTime, lastAccessTime, createTime);
+        }
+
+    }
+
+}
@@ -0,0 +1,242 @@
+package org.echocat.unittest.utils.nio;
+
+import org.echocat.unittest.utils.nio.MemoryNode.RegularFile;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.*;
+import java.nio.file.NoSuchFileException;
+
+import static java.lang.Math.min;
+
+final class MemoryFileChannel extends FileChannel {
+
+    @Nonnegative
+    private static final int TRANSFER_BUFFER_SIZE = 8192;
+
+    @Nonnull
+    private final RegularFile file;
+    private final boolean readable;
+    private final boolean writable;
+    private final boolean append;
+    @Nullable
+    private final MemoryPath deleteOnClose;
+
+    @Nonnegative
+    private long position;
+
+    MemoryFileChannel(@Nonnull RegularFile file, boolean readable, boolean writable, boolean append, @Nullable MemoryPath deleteOnClose) {
+        this.file = file;
+        this.readable = readable;
+        this.writable = writable;
+        this.append = append;
+        this.deleteOnClose = deleteOnClose;
+    }
+
+    @Override
+    public synchronized int read(ByteBuffer dst) throws IOException {
+        ensureReadable();
+        final int result = file.read(position, dst);
+        if (result > 0) {
+            position += result;
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+        ensureReadable();
+        long result = 0;
+        for (int i = offset; i < offset + length; i++) {
+            final int read = file.read(position, dsts[i]);
+            if (read < 0) {
+                return result > 0 ? result : -1;
+            }
+            position += read;
+            result += read;
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized int write(ByteBuffer src) throws IOException {
+        ensureWritable();
+        if (append) {
+            position = file.size();
+        }
+        final int result = file.write(position, src);
+        position += result;
+        return result;
+    }
+
+    @Override
+    public synchronized long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+        long result = 0;
+        for (int i = offset; i < offset + length; i++) {
+            result += write(srcs[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized long position() throws IOException {
+        ensureOpen();
+        return position;
+    }
+
+    @Override
+    public synchronized FileChannel position(long newPosition) throws IOException {
+        ensureOpen();
+        if (newPosition < 0) {
+            throw new IllegalArgumentException("The position have to be positive but was " + newPosition + ".");
+        }
+        position = newPosition;
+        return this;
+    }
+
+    @Override
+    public long size() throws IOException {
+        ensureOpen();
+        return file.size();
+    }
+
+    @Override
+    public synchronized FileChannel truncate(long size) throws IOException {
+        if (size < 0) {
+            throw new IllegalArgumentException("The size have to be positive but was " + size + ".");
+        }
+        ensureWritable();
+        file.truncate(size);
+        if (position > size) {
+            position = size;
+        }
+        return this;
+    }
+
+    @Override
+    public void force(boolean metaData) throws IOException {
+        ensureOpen();
+    }
+
+    @Override
+    public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+        ensureReadable();
+        final ByteBuffer buffer = ByteBuffer.allocate((int) min(TRANSFER_BUFFER_SIZE, count));
+        long result = 0;
+        while (result < count) {
+            buffer.clear().limit((int) min(buffer.capacity(), count - result));
+            if (file.read(position + result, buffer) <= 0) {
+                break;
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                result += target.write(buffer);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+        ensureWritable();
+        final ByteBuffer buffer = ByteBuffer.allocate((int) min(TRANSFER_BUFFER_SIZE, count));
+        long result = 0;
+        while (result < count) {
+            buffer.clear().limit((int) min(buffer.capacity(), count - result));
+            if (src.read(buffer) <= 0) {
+                break;
+            }
+            buffer.flip();
+            result += file.write(position + result, buffer);
+        }
+        return result;
+    }
+
+    @Override
+    public int read(ByteBuffer dst, long position) throws IOException {
+        if (position < 0) {
+            throw new IllegalArgumentException("The position have to be positive but was " + position + ".");
+        }
+        ensureReadable();
+        return file.read(position, dst);
+    }
+
+    @Override
+    public int write(ByteBuffer src, long position) throws IOException {
+        if (position < 0) {
+            throw new IllegalArgumentException("The position have to be positive but was " + position + ".");
+        }
+        ensureWritable();
+        return file.write(position, src);
+    }
+
+    @Override
+    public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+        throw new UnsupportedOperationException("Memory mapping of in-memory files is not supported.");
+    }
+
+    @Override
+    public FileLock lock(long position, long size, boolean shared) throws IOException {
+        ensureOpen();
+        return new MemoryFileLock(this, position, size, shared);
+    }
+
+    @Override
+    public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+        return lock(position, size, shared);
+    }
+
+    @Override
+    protected void implCloseChannel() throws IOException {
+        if (deleteOnClose != null) {
+            try {
+                deleteOnClose.getFileSystem().delete(deleteOnClose);
+            } catch (final NoSuchFileException ignored) {}
+        }
+    }
+
+    private void ensureOpen() throws ClosedChannelException {
+        if (!isOpen()) {
+            throw new ClosedChannelException();
+        }
+    }
+
+    private void ensureReadable() throws ClosedChannelException {
+        ensureOpen();
+        if (!readable) {
+            throw new NonReadableChannelException();
+        }
+    }
+
+    private void ensureWritable() throws ClosedChannelException {
+        ensureOpen();
+        if (!writable) {
+            throw new NonWritableChannelException();
+        }
+    }
+
+    private static final class MemoryFileLock extends FileLock {
+
+        private volatile boolean valid = true;
+
+        private MemoryFileLock(@Nonnull FileChannel channel, long position, long size, boolean shared) {
+            super(channel, position, size, shared);
+        }
+
+        @Override
+        public boolean isValid() {
+            return valid && channel().isOpen();
+        }
+
+        @Override
+        public void release() {
+            valid = false;
+        }
+
+    }
+
+}
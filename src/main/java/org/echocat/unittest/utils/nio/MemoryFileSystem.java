@@ -0,0 +1,423 @@
+package org.echocat.unittest.utils.nio;
+
+import org.echocat.unittest.utils.nio.MemoryNode.Directory;
+import org.echocat.unittest.utils.nio.MemoryNode.RegularFile;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.UserPrincipalLookupService;
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static java.nio.file.StandardCopyOption.COPY_ATTRIBUTES;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.*;
+import static java.util.Collections.*;
+
+public class MemoryFileSystem extends FileSystem {
+
+    @Nonnull
+    static final String SEPARATOR = "/";
+    @Nonnull
+    private static final String REGEX_META_CHARACTERS = "\\^$.|?*+()[]{}";
+
+    @Nonnull
+    private final MemoryFileSystemProvider provider;
+    @Nonnull
+    private final String name;
+    @Nonnull
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    @Nonnull
+    private final Directory root = new Directory();
+
+    private volatile boolean open = true;
+
+    MemoryFileSystem(@Nonnull MemoryFileSystemProvider provider, @Nonnull String name) {
+        this.provider = provider;
+        this.name = name;
+    }
+
+    @Nonnull
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public MemoryFileSystemProvider provider() {
+        return provider;
+    }
+
+    @Override
+    public void close() {
+        if (open) {
+            open = false;
+            provider.remove(this);
+            final Lock writeLock = lock.writeLock();
+            writeLock.lock();
+            try {
+                root.children().clear();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return false;
+    }
+
+    @Override
+    public String getSeparator() {
+        return SEPARATOR;
+    }
+
+    @Override
+    public Iterable<Path> getRootDirectories() {
+        return singletonList(getPath(SEPARATOR));
+    }
+
+    @Override
+    public Iterable<FileStore> getFileStores() {
+        return emptyList();
+    }
+
+    @Override
+    public Set<String> supportedFileAttributeViews() {
+        return singleton("basic");
+    }
+
+    @Override
+    public MemoryPath getPath(String first, String... more) {
+        return MemoryPath.parse(this, first, more);
+    }
+
+    @Override
+    public PathMatcher getPathMatcher(String syntaxAndPattern) {
+        final int colon = syntaxAndPattern.indexOf(':');
+        if (colon <= 0) {
+            throw new IllegalArgumentException("Expected <syntax>:<pattern> but got: " + syntaxAndPattern);
+        }
+        final String syntax = syntaxAndPattern.substring(0, colon);
+        final String pattern = syntaxAndPattern.substring(colon + 1);
+        final Pattern regex;
+        if ("regex".equalsIgnoreCase(syntax)) {
+            regex = Pattern.compile(pattern);
+        } else if ("glob".equalsIgnoreCase(syntax)) {
+            regex = Pattern.compile(globToRegex(pattern));
+        } else {
+            throw new UnsupportedOperationException("Syntax '" + syntax + "' is not supported.");
+        }
+        return path -> regex.matcher(path.toString()).matches();
+    }
+
+    @Override
+    public UserPrincipalLookupService getUserPrincipalLookupService() {
+        throw new UnsupportedOperationException("User principals are not supported by in-memory file systems.");
+    }
+
+    @Override
+    public WatchService newWatchService() {
+        throw new UnsupportedOperationException("Watching of in-memory file systems is not supported.");
+    }
+
+    @Nonnull
+    MemoryNode require(@Nonnull MemoryPath path) throws IOException {
+        final Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return requireUnlocked(path);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Nullable
+    MemoryNode find(@Nonnull MemoryPath path) {
+        final Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return findUnlocked(path);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Nonnull
+    RegularFile open(@Nonnull MemoryPath path, @Nonnull Set<? extends OpenOption> options) throws IOException {
+        final boolean writable = options.contains(WRITE) || options.contains(APPEND);
+        final Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            final MemoryNode existing = findUnlocked(path);
+            final RegularFile result;
+            if (existing == null) {
+                if (!writable || !(options.contains(CREATE) || options.contains(CREATE_NEW))) {
+                    throw new NoSuchFileException(path.toString());
+                }
+                final Directory parent = requireParentUnlocked(path);
+                result = new RegularFile();
+                parent.children().put(fileNameOf(path), result);
+                parent.modified();
+            } else if (writable && options.contains(CREATE_NEW)) {
+                throw new FileAlreadyExistsException(path.toString());
+            } else if (!(existing instanceof RegularFile)) {
+                throw new FileSystemException(path.toString(), null, "Is a directory");
+            } else {
+                result = (RegularFile) existing;
+            }
+            if (writable && options.contains(TRUNCATE_EXISTING)) {
+                result.truncate(0);
+            }
+            return result;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    void createDirectory(@Nonnull MemoryPath path) throws IOException {
+        final Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            if (findUnlocked(path) != null) {
+                throw new FileAlreadyExistsException(path.toString());
+            }
+            final Directory parent = requireParentUnlocked(path);
+            parent.children().put(fileNameOf(path), new Directory());
+            parent.modified();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    void createLink(@Nonnull MemoryPath link, @Nonnull MemoryPath existing) throws IOException {
+        final Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            final MemoryNode target = requireUnlocked(existing);
+            if (!(target instanceof RegularFile)) {
+                throw new FileSystemException(link.toString(), existing.toString(), "Hard links are only supported for regular files");
+            }
+            if (findUnlocked(link) != null) {
+                throw new FileAlreadyExistsException(link.toString());
+            }
+            final Directory parent = requireParentUnlocked(link);
+            parent.children().put(fileNameOf(link), target);
+            parent.modified();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    void delete(@Nonnull MemoryPath path) throws IOException {
+        final Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            final MemoryNode node = requireUnlocked(path);
+            if (node == root) {
+                throw new FileSystemException(path.toString(), null, "Root directory could not be deleted");
+            }
+            if (node instanceof Directory && !((Directory) node).children().isEmpty()) {
+                throw new DirectoryNotEmptyException(path.toString());
+            }
+            final Directory parent = requireParentUnlocked(path);
+            parent.children().remove(fileNameOf(path));
+            parent.modified();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    void copy(@Nonnull MemoryPath source, @Nonnull MemoryPath target, @Nonnull Set<CopyOption> options) throws IOException {
+        final Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            final MemoryNode node = requireUnlocked(source);
+            if (node == findUnlocked(target)) {
+                return;
+            }
+            final Directory parent = prepareTargetUnlocked(target, options);
+            final MemoryNode copy = node.copy();
+            if (options.contains(COPY_ATTRIBUTES)) {
+                copy.setTimes(node.lastModifiedTime(), node.lastAccessTime(), node.creationTime());
+            }
+            parent.children().put(fileNameOf(target), copy);
+            parent.modified();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    void move(@Nonnull MemoryPath source, @Nonnull MemoryPath target, @Nonnull Set<CopyOption> options) throws IOException {
+        final MemoryPath normalizedSource = source.toAbsolutePath().normalize();
+        final MemoryPath normalizedTarget = target.toAbsolutePath().normalize();
+        final Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            final MemoryNode node = requireUnlocked(source);
+            if (normalizedSource.equals(normalizedTarget)) {
+                return;
+            }
+            if (node == root || normalizedTarget.startsWith(normalizedSource)) {
+                throw new FileSystemException(source.toString(), target.toString(), "Could not move a directory into itself");
+            }
+            final Directory targetParent = prepareTargetUnlocked(target, options);
+            final Directory sourceParent = requireParentUnlocked(source);
+            sourceParent.children().remove(fileNameOf(source));
+            sourceParent.modified();
+            targetParent.children().put(fileNameOf(target), node);
+            targetParent.modified();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Nonnull
+    List<String> list(@Nonnull MemoryPath path) throws IOException {
+        final Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            final MemoryNode node = requireUnlocked(path);
+            if (!(node instanceof Directory)) {
+                throw new NotDirectoryException(path.toString());
+            }
+            return new ArrayList<>(((Directory) node).children().keySet());
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Nonnull
+    private Directory prepareTargetUnlocked(@Nonnull MemoryPath target, @Nonnull Set<CopyOption> options) throws IOException {
+        final MemoryNode existing = findUnlocked(target);
+        if (existing != null) {
+            if (!options.contains(REPLACE_EXISTING)) {
+                throw new FileAlreadyExistsException(target.toString());
+            }
+            if (existing == root) {
+                throw new FileSystemException(target.toString(), null, "Root directory could not be replaced");
+            }
+            if (existing instanceof Directory && !((Directory) existing).children().isEmpty()) {
+                throw new DirectoryNotEmptyException(target.toString());
+            }
+        }
+        return requireParentUnlocked(target);
+    }
+
+    @Nonnull
+    private MemoryNode requireUnlocked(@Nonnull MemoryPath path) throws IOException {
+        final MemoryNode result = findUnlocked(path);
+        if (result == null) {
+            throw new NoSuchFileException(path.toString());
+        }
+        return result;
+    }
+
+    @Nonnull
+    private Directory requireParentUnlocked(@Nonnull MemoryPath path) throws IOException {
+        final MemoryPath parent = path.toAbsolutePath().normalize().getParent();
+        final MemoryNode result = parent != null ? findUnlocked(parent) : null;
+        if (result == null) {
+            throw new NoSuchFileException(String.valueOf(parent));
+        }
+        if (!(result instanceof Directory)) {
+            throw new NotDirectoryException(parent.toString());
+        }
+        return (Directory) result;
+    }
+
+    @Nullable
+    private MemoryNode findUnlocked(@Nonnull MemoryPath path) {
+        ensureOpen();
+        MemoryNode current = root;
+        for (final String name : path.toAbsolutePath().normalize().names()) {
+            if (!(current instanceof Directory)) {
+                return null;
+            }
+            current = ((Directory) current).children().get(name);
+        }
+        return current;
+    }
+
+    @Nonnull
+    private static String fileNameOf(@Nonnull MemoryPath path) {
+        final String[] names = path.toAbsolutePath().normalize().names();
+        return names[names.length - 1];
+    }
+
+    private void ensureOpen() {
+        if (!open) {
+            throw new ClosedFileSystemException();
+        }
+    }
+
+    @Nonnull
+    static String globToRegex(@Nonnull String glob) {
+        final StringBuilder sb = new StringBuilder(glob.length() * 2);
+        boolean inGroup = false;
+        for (int i = 0; i < glob.length(); i++) {
+            final char c = glob.charAt(i);
+            if (c == '*') {
+                if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                    sb.append(".*");
+                    i++;
+                } else {
+                    sb.append("[^/]*");
+                }
+            } else if (c == '?') {
+                sb.append("[^/]");
+            } else if (c == '{' && !inGroup) {
+                sb.append("(?:");
+                inGroup = true;
+            } else if (c == '}' && inGroup) {
+                sb.append(')');
+                inGroup = false;
+            } else if (c == ',' && inGroup) {
+                sb.append('|');
+            } else if (c == '[') {
+                final int end = glob.indexOf(']', i + 1);
+                if (end < 0) {
+                    throw new PatternSyntaxException("Missing ']'", glob, i);
+                }
+                String content = glob.substring(i + 1, end).replace("\\", "\\\\").replace("[", "\\[");
+                if (content.startsWith("!")) {
+                    content = "^" + content.substring(1);
+                }
+                sb.append('[').append(content).append(']');
+                i = end;
+            } else if (c == '\\' && i + 1 < glob.length()) {
+                appendLiteral(sb, glob.charAt(++i));
+            } else {
+                appendLiteral(sb, c);
+            }
+        }
+        if (inGroup) {
+            throw new PatternSyntaxException("Missing '}'", glob, glob.length());
+        }
+        return sb.toString();
+    }
+
+    private static void appendLiteral(@Nonnull StringBuilder sb, char c) {
+        if (REGEX_META_CHARACTERS.indexOf(c) >= 0) {
+            sb.append('\\');
+        }
+        sb.append(c);
+    }
+
+    @Override
+    public String toString() {
+        return MemoryFileSystemProvider.SCHEME + "://" + name;
+    }
+
+}
@@ -0,0 +1,308 @@
+package org.echocat.unittest.utils.nio;
+
+import org.echocat.unittest.utils.nio.MemoryNode.RegularFile;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.*;
+import java.nio.file.DirectoryStream.Filter;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.FileAttributeView;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.spi.FileSystemProvider;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.nio.file.StandardOpenOption.*;
+
+public class MemoryFileSystemProvider extends FileSystemProvider {
+
+    @Nonnull
+    public static final String SCHEME = "memory";
+    @Nonnull
+    public static final String DEFAULT_FILE_SYSTEM_NAME = "default";
+
+    @Nonnull
+    private static final MemoryFileSystemProvider INSTANCE = new MemoryFileSystemProvider();
+
+    @Nonnull
+    public static MemoryFileSystemProvider memoryFileSystemProvider() {
+        return INSTANCE;
+    }
+
+    @Nonnull
+    public static MemoryFileSystem defaultMemoryFileSystem() {
+        return INSTANCE.fileSystemFor(DEFAULT_FILE_SYSTEM_NAME);
+    }
+
+    @Nonnull
+    private final ConcurrentMap<String, MemoryFileSystem> nameToFileSystem = new ConcurrentHashMap<>();
+
+    @Nonnull
+    public MemoryFileSystem newFileSystem(@Nonnull String name) {
+        final MemoryFileSystem result = new MemoryFileSystem(this, name);
+        if (nameToFileSystem.putIfAbsent(name, result) != null) {
+            throw new FileSystemAlreadyExistsException(SCHEME + "://" + name);
+        }
+        return result;
+    }
+
+    @Nonnull
+    public MemoryFileSystem fileSystemFor(@Nonnull String name) {
+        return nameToFileSystem.computeIfAbsent(name, key -> new MemoryFileSystem(this, key));
+    }
+
+    void remove(@Nonnull MemoryFileSystem fileSystem) {
+        nameToFileSystem.remove(fileSystem.name(), fileSystem);
+    }
+
+    @Nonnull
+    protected MemoryPath toMemoryPath(@Nullable Path plain) {
+        if (plain == null) {
+            throw new NullPointerException("No path provided.");
+        }
+        if (!(plain instanceof MemoryPath) || plain.getFileSystem().provider() != this) {
+            throw new ProviderMismatchException("Could only handle paths of type '" + MemoryPath.class.getName() + "'" +
+                " but got an instance of type '" + plain.getClass().getName() + "'.");
+        }
+        return (MemoryPath) plain;
+    }
+
+    @Nonnull
+    protected String nameOf(@Nonnull URI uri) {
+        if (!SCHEME.equalsIgnoreCase(uri.getScheme())) {
+            throw new IllegalArgumentException("Expected an URI with scheme '" + SCHEME + "' but got: " + uri);
+        }
+        final String authority = uri.getAuthority();
+        return authority != null ? authority : DEFAULT_FILE_SYSTEM_NAME;
+    }
+
+    @Override
+    public String getScheme() {
+        return SCHEME;
+    }
+
+    @Override
+    public MemoryFileSystem newFileSystem(URI uri, Map<String, ?> env) {
+        return newFileSystem(nameOf(uri));
+    }
+
+    @Override
+    public MemoryFileSystem getFileSystem(URI uri) {
+        final String name = nameOf(uri);
+        final MemoryFileSystem result = nameToFileSystem.get(name);
+        if (result == null) {
+            throw new FileSystemNotFoundException(SCHEME + "://" + name);
+        }
+        return result;
+    }
+
+    @Override
+    public MemoryPath getPath(URI uri) {
+        final String path = uri.getPath();
+        return getFileSystem(uri).getPath(path != null && !path.isEmpty() ? path : MemoryFileSystem.SEPARATOR);
+    }
+
+    @Override
+    public SeekableByteChannel newByteChannel(Path path, Set<? extends OpenOption> options, FileAttribute<?>... attrs) throws IOException {
+        return newFileChannel(path, options, attrs);
+    }
+
+    @Override
+    public FileChannel newFileChannel(Path path, Set<? extends OpenOption> options, FileAttribute<?>... attrs) throws IOException {
+        final MemoryPath memoryPath = toMemoryPath(path);
+        final boolean append = options.contains(APPEND);
+        final boolean writable = append || options.contains(WRITE);
+        final boolean readable = options.contains(READ) || !writable;
+        if (append && (options.contains(READ) || options.contains(TRUNCATE_EXISTING))) {
+            throw new IllegalArgumentException("APPEND could not be combined with READ or TRUNCATE_EXISTING.");
+        }
+        final RegularFile file = memoryPath.getFileSystem().open(memoryPath, options);
+        return new MemoryFileChannel(file, readable, writable, append, options.contains(DELETE_ON_CLOSE) ? memoryPath : null);
+    }
+
+    @Override
+    public DirectoryStream<Path> newDirectoryStream(Path dir, Filter<? super Path> filter) throws IOException {
+        final MemoryPath directory = toMemoryPath(dir);
+        final List<Path> entries = new ArrayList<>();
+        for (final String name : directory.getFileSystem().list(directory)) {
+            final Path entry = directory.resolve(name);
+            if (filter == null || filter.accept(entry)) {
+                entries.add(entry);
+            }
+        }
+        return new DirectoryStream<Path>() {
+            private boolean iterated;
+
+            @Override
+            public Iterator<Path> iterator() {
+                if (iterated) {
+                    throw new IllegalStateException("Iterator already obtained.");
+                }
+                iterated = true;
+                return entries.iterator();
+            }
+
+            @Override
+            public void close() {}
+        };
+    }
+
+    @Override
+    public void createDirectory(Path dir, FileAttribute<?>... attrs) throws IOException {
+        final MemoryPath directory = toMemoryPath(dir);
+        directory.getFileSystem().createDirectory(directory);
+    }
+
+    @Override
+    public void createSymbolicLink(Path link, Path target, FileAttribute<?>... attrs) {
+        throw new UnsupportedOperationException("Symbolic links are not supported by in-memory file systems.");
+    }
+
+    @Override
+    public void createLink(Path link, Path existing) throws IOException {
+        final MemoryPath memoryLink = toMemoryPath(link);
+        final MemoryPath memoryExisting = toMemoryPath(existing);
+        if (memoryLink.getFileSystem() != memoryExisting.getFileSystem()) {
+            throw new FileSystemException(link.toString(), existing.toString(), "Links could only be created within the same file system");
+        }
+        memoryLink.getFileSystem().createLink(memoryLink, memoryExisting);
+    }
+
+    @Override
+    public void delete(Path path) throws IOException {
+        final MemoryPath memoryPath = toMemoryPath(path);
+        memoryPath.getFileSystem().delete(memoryPath);
+    }
+
+    @Override
+    public Path readSymbolicLink(Path link) throws IOException {
+        final MemoryPath memoryLink = toMemoryPath(link);
+        memoryLink.getFileSystem().require(memoryLink);
+        throw new NotLinkException(link.toString());
+    }
+
+    @Override
+    public void copy(Path source, Path target, CopyOption... options) throws IOException {
+        final MemoryPath memorySource = toMemoryPath(source);
+        final MemoryPath memoryTarget = toMemoryPath(target);
+        if (memorySource.getFileSystem() != memoryTarget.getFileSystem()) {
+            throw new FileSystemException(source.toString(), target.toString(), "Could only copy within the same file system");
+        }
+        memorySource.getFileSystem().copy(memorySource, memoryTarget, new HashSet<>(Arrays.asList(options)));
+    }
+
+    @Override
+    public void move(Path source, Path target, CopyOption... options) throws IOException {
+        final MemoryPath memorySource = toMemoryPath(source);
+        final MemoryPath memoryTarget = toMemoryPath(target);
+        if (memorySource.getFileSystem() != memoryTarget.getFileSystem()) {
+            throw new AtomicMoveNotSupportedException(source.toString(), target.toString(), "Could only move within the same file system");
+        }
+        memorySource.getFileSystem().move(memorySource, memoryTarget, new HashSet<>(Arrays.asList(options)));
+    }
+
+    @Override
+    public boolean isSameFile(Path path, Path path2) throws IOException {
+        final MemoryPath memoryPath = toMemoryPath(path);
+        if (memoryPath.equals(path2)) {
+            return true;
+        }
+        if (!(path2 instanceof MemoryPath)) {
+            return false;
+        }
+        final MemoryPath memoryPath2 = toMemoryPath(path2);
+        return memoryPath.getFileSystem() == memoryPath2.getFileSystem()
+            && memoryPath.getFileSystem().require(memoryPath) == memoryPath2.getFileSystem().require(memoryPath2);
+    }
+
+    @Override
+    public boolean isHidden(Path path) {
+        final Path fileName = toMemoryPath(path).getFileName();
+        return fileName != null && fileName.toString().startsWith(".");
+    }
+
+    @Override
+    public FileStore getFileStore(Path path) throws IOException {
+        throw new IOException("File stores are not supported by in-memory file systems.");
+    }
+
+    @Override
+    public void checkAccess(Path path, AccessMode... modes) throws IOException {
+        final MemoryPath memoryPath = toMemoryPath(path);
+        memoryPath.getFileSystem().require(memoryPath);
+    }
+
+    @Override
+    public <V extends FileAttributeView> V getFileAttributeView(Path path, Class<V> type, LinkOption... options) {
+        final MemoryPath memoryPath = toMemoryPath(path);
+        if (type == BasicFileAttributeView.class) {
+            return type.cast(new MemoryFileAttributes.View(memoryPath));
+        }
+        return null;
+    }
+
+    @Override
+    public <A extends BasicFileAttributes> A readAttributes(Path path, Class<A> type, LinkOption... options) throws IOException {
+        final MemoryPath memoryPath = toMemoryPath(path);
+        if (type != BasicFileAttributes.class) {
+            throw new UnsupportedOperationException("Attributes of type '" + type.getName() + "' are not supported.");
+        }
+        return type.cast(new MemoryFileAttributes(memoryPath.getFileSystem().require(memoryPath)));
+    }
+
+    @Override
+    public Map<String, Object> readAttributes(Path path, String attributes, LinkOption... options) throws IOException {
+        final MemoryPath memoryPath = toMemoryPath(path);
+        final Map<String, Object> all = new MemoryFileAttributes(memoryPath.getFileSystem().require(memoryPath)).toMap();
+        final String names = attributeNamesOf(attributes);
+        if ("*".equals(names)) {
+            return all;
+        }
+        final Map<String, Object> result = new LinkedHashMap<>();
+        for (final String name : names.split(",")) {
+            if (!all.containsKey(name)) {
+                throw new IllegalArgumentException("Attribute '" + name + "' is not supported.");
+            }
+            result.put(name, all.get(name));
+        }
+        return result;
+    }
+
+    @Override
+    public void setAttribute(Path path, String attribute, Object value, LinkOption... options) throws IOException {
+        final MemoryPath memoryPath = toMemoryPath(path);
+        final MemoryNode node = memoryPath.getFileSystem().require(memoryPath);
+        final String name = attributeNamesOf(attribute);
+        if ("lastModifiedTime".equals(name)) {
+            node.setTimes((FileTime) value, null, null);
+        } else if ("lastAccessTime".equals(name)) {
+            node.setTimes(null, (FileTime) value, null);
+        } else if ("creationTime".equals(name)) {
+            node.setTimes(null, null, (FileTime) value);
+        } else {
+            throw new IllegalArgumentException("Attribute '" + name + "' could not be set.");
+        }
+    }
+
+    @Nonnull
+    protected String attributeNamesOf(@Nonnull String attributes) {
+        final int colon = attributes.indexOf(':');
+        if (colon < 0) {
+            return attributes;
+        }
+        final String view = attributes.substring(0, colon);
+        if (!"basic".equals(view)) {
+            throw new UnsupportedOperationException("View '" + view + "' is not supported.");
+        }
+        return attributes.substring(colon + 1);
+    }
+
+}
@@ -0,0 +1,247 @@
+package org.echocat.unittest.utils.nio;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+abstract class MemoryNode {
+
+    @Nonnull
+    private volatile FileTime creationTime;
+    @Nonnull
+    private volatile FileTime lastModifiedTime;
+    @Nonnull
+    private volatile FileTime lastAccessTime;
+
+    MemoryNode() {
+        final FileTime now = now();
+        creationTime = now;
+        lastModifiedTime = now;
+        lastAccessTime = now;
+    }
+
+    @Nonnull
+    FileTime creationTime() {
+        return creationTime;
+    }
+
+    @Nonnull
+    FileTime lastModifiedTime() {
+        return lastModifiedTime;
+    }
+
+    @Nonnull
+    FileTime lastAccessTime() {
+        return lastAccessTime;
+    }
+
+    void setTimes(@Nullable FileTime lastModifiedTime, @Nullable FileTime lastAccessTime, @Nullable FileTime creationTime) {
+        if (lastModifiedTime != null) {
+            this.lastModifiedTime = lastModifiedTime;
+        }
+        if (lastAccessTime != null) {
+            this.lastAccessTime = lastAccessTime;
+        }
+        if (creationTime != null) {
+            this.creationTime = creationTime;
+        }
+    }
+
+    void modified() {
+        final FileTime now = now();
+        lastModifiedTime = now;
+        lastAccessTime = now;
+    }
+
+    void accessed() {
+        lastAccessTime = now();
+    }
+
+    @Nonnegative
+    abstract long size();
+
+    @Nonnull
+    abstract MemoryNode copy();
+
+    @Nonnull
+    private static FileTime now() {
+        return FileTime.fromMillis(System.currentTimeMillis());
+    }
+
+    static final class Directory extends MemoryNode {
+
+        @Nonnull
+        private final Map<String, MemoryNode> children = new TreeMap<>();
+
+        @Nonnull
+        Map<String, MemoryNode> children() {
+            return children;
+        }
+
+        @Override
+        long size() {
+            return 0L;
+        }
+
+        @Nonnull
+        @Override
+        Directory copy() {
+            return new Directory();
+        }
+
+    }
+
+    static final class RegularFile extends MemoryNode {
+
+        @Nonnegative
+        static final int SEGMENT_SIZE = 8192;
+        @Nonnegative
+        static final int MINIMUM_SEGMENT_SIZE = 64;
+
+        @Nonnull
+        private final List<ByteBuffer> segments = new ArrayList<>();
+        @Nonnegative
+        private long size;
+        private boolean copyOnWrite;
+
+        @Override
+        synchronized long size() {
+            return size;
+        }
+
+        synchronized int read(@Nonnegative long position, @Nonnull ByteBuffer target) {
+            if (position >= size) {
+                return -1;
+            }
+            final int length = (int) min(target.remaining(), size - position);
+            int done = 0;
+            while (done < length) {
+                final long current = position + done;
+                final int offset = (int) (current % SEGMENT_SIZE);
+                final int chunk = min(length - done, SEGMENT_SIZE - offset);
+                final ByteBuffer segment = segments.get((int) (current / SEGMENT_SIZE)).duplicate();
+                segment.limit(offset + chunk).position(offset);
+                target.put(segment);
+                done += chunk;
+            }
+            accessed();
+            return length;
+        }
+
+        synchronized int write(@Nonnegative long position, @Nonnull ByteBuffer source) {
+            unshare();
+            final int length = source.remaining();
+            ensureCapacity(position + length);
+            int done = 0;
+            while (done < length) {
+                final long current = position + done;
+                final int offset = (int) (current % SEGMENT_SIZE);
+                final int chunk = min(length - done, SEGMENT_SIZE - offset);
+                final ByteBuffer segment = segments.get((int) (current / SEGMENT_SIZE)).duplicate();
+                segment.position(offset);
+                final ByteBuffer slice = source.duplicate();
+                slice.limit(slice.position() + chunk);
+                segment.put(slice);
+                source.position(source.position() + chunk);
+                done += chunk;
+            }
+            if (position + length > size) {
+                size = position + length;
+            }
+            modified();
+            return length;
+        }
+
+        synchronized void truncate(@Nonnegative long newSize) {
+            if (newSize >= size) {
+                return;
+            }
+            unshare();
+            final int keep = (int) ((newSize + SEGMENT_SIZE - 1) / SEGMENT_SIZE);
+            while (segments.size() > keep) {
+                segments.remove(segments.size() - 1);
+            }
+            final int tail = (int) (newSize % SEGMENT_SIZE);
+            if (tail > 0) {
+                final ByteBuffer segment = segments.get(keep - 1).duplicate();
+                segment.position(tail);
+                while (segment.hasRemaining()) {
+                    segment.put((byte) 0);
+                }
+            }
+            size = newSize;
+            modified();
+        }
+
+        @Nonnull
+        @Override
+        synchronized RegularFile copy() {
+            final RegularFile result = new RegularFile();
+            result.segments.addAll(segments);
+            result.size = size;
+            result.copyOnWrite = true;
+            copyOnWrite = true;
+            return result;
+        }
+
+        private void unshare() {
+            if (copyOnWrite) {
+                for (int i = 0; i < segments.size(); i++) {
+                    segments.set(i, copyOf(segments.get(i), segments.get(i).capacity()));
+                }
+                copyOnWrite = false;
+            }
+        }
+
+        @Nonnegative
+        synchronized long allocated() {
+            long result = 0;
+            for (final ByteBuffer segment : segments) {
+                result += segment.capacity();
+            }
+            return result;
+        }
+
+        private void ensureCapacity(@Nonnegative long capacity) {
+            while (true) {
+                final int count = segments.size();
+                final ByteBuffer last = count > 0 ? segments.get(count - 1) : null;
+                final long full = last != null ? (long) (count - 1) * SEGMENT_SIZE + last.capacity() : 0L;
+                if (full >= capacity) {
+                    return;
+                }
+                if (last != null && last.capacity() < SEGMENT_SIZE) {
+                    final long required = capacity - (long) (count - 1) * SEGMENT_SIZE;
+                    segments.set(count - 1, copyOf(last, (int) min(SEGMENT_SIZE, max(required, (long) last.capacity() * 2))));
+                } else {
+                    segments.add(allocate((int) min(SEGMENT_SIZE, max(capacity - full, MINIMUM_SEGMENT_SIZE))));
+                }
+            }
+        }
+
+        @Nonnull
+        private static ByteBuffer copyOf(@Nonnull ByteBuffer segment, @Nonnegative int capacity) {
+            final ByteBuffer source = segment.duplicate();
+            source.clear();
+            final ByteBuffer result = allocate(capacity);
+            result.put(source).clear();
+            return result;
+        }
+
+        @Nonnull
+        private static ByteBuffer allocate(@Nonnegative int capacity) {
+            return capacity >= SEGMENT_SIZE ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+        }
+
+    }
+
+}
@@ -0,0 +1,325 @@
+package org.echocat.unittest.utils.nio;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.*;
+import java.nio.file.WatchEvent.Kind;
+import java.nio.file.WatchEvent.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static java.util.Arrays.copyOf;
+import static java.util.Arrays.copyOfRange;
+import static java.util.Objects.requireNonNull;
+import static org.echocat.unittest.utils.nio.MemoryFileSystem.SEPARATOR;
+
+public final class MemoryPath implements Path {
+
+    @Nonnull
+    private static final String[] NO_NAMES = new String[0];
+
+    @Nonnull
+    static MemoryPath parse(@Nonnull MemoryFileSystem fileSystem, @Nonnull String first, @Nonnull String... more) {
+        final StringBuilder sb = new StringBuilder(first);
+        for (final String element : more) {
+            if (!element.isEmpty()) {
+                if (sb.length() > 0) {
+                    sb.append(SEPARATOR);
+                }
+                sb.append(element);
+            }
+        }
+        final String plain = sb.toString();
+        if (plain.indexOf('\u0000') >= 0) {
+            throw new InvalidPathException(plain, "Nul character not allowed");
+        }
+        final List<String> names = new ArrayList<>();
+        for (final String name : plain.split(SEPARATOR)) {
+            if (!name.isEmpty()) {
+                names.add(name);
+            }
+        }
+        return new MemoryPath(fileSystem, plain.startsWith(SEPARATOR), names.toArray(NO_NAMES));
+    }
+
+    @Nonnull
+    private final MemoryFileSystem fileSystem;
+    private final boolean absolute;
+    @Nonnull
+    private final String[] names;
+
+    MemoryPath(@Nonnull MemoryFileSystem fileSystem, boolean absolute, @Nonnull String[] names) {
+        this.fileSystem = fileSystem;
+        this.absolute = absolute;
+        this.names = names;
+    }
+
+    @Nonnull
+    String[] names() {
+        return names;
+    }
+
+    @Override
+    public MemoryFileSystem getFileSystem() {
+        return fileSystem;
+    }
+
+    @Override
+    public boolean isAbsolute() {
+        return absolute;
+    }
+
+    @Override
+    public MemoryPath getRoot() {
+        return absolute ? new MemoryPath(fileSystem, true, NO_NAMES) : null;
+    }
+
+    @Override
+    public MemoryPath getFileName() {
+        return names.length > 0 ? new MemoryPath(fileSystem, false, new String[]{names[names.length - 1]}) : null;
+    }
+
+    @Override
+    public MemoryPath getParent() {
+        if (names.length == 0) {
+            return null;
+        }
+        if (names.length == 1) {
+            return getRoot();
+        }
+        return new MemoryPath(fileSystem, absolute, copyOf(names, names.length - 1));
+    }
+
+    @Override
+    public int getNameCount() {
+        return names.length;
+    }
+
+    @Override
+    public MemoryPath getName(int index) {
+        if (index < 0 || index >= names.length) {
+            throw new IllegalArgumentException("Index " + index + " is out of range of " + this + ".");
+        }
+        return new MemoryPath(fileSystem, false, new String[]{names[index]});
+    }
+
+    @Override
+    public MemoryPath subpath(int beginIndex, int endIndex) {
+        if (beginIndex < 0 || beginIndex >= names.length || endIndex <= beginIndex || endIndex > names.length) {
+            throw new IllegalArgumentException("Range " + beginIndex + ".." + endIndex + " is out of range of " + this + ".");
+        }
+        return new MemoryPath(fileSystem, false, copyOfRange(names, beginIndex, endIndex));
+    }
+
+    @Override
+    public boolean startsWith(Path other) {
+        final MemoryPath candidate = sameFileSystemOrNull(other);
+        if (candidate == null || candidate.absolute != absolute || candidate.names.length > names.length) {
+            return false;
+        }
+        return regionMatches(candidate.names, 0);
+    }
+
+    @Override
+    public boolean startsWith(String other) {
+        return startsWith(fileSystem.getPath(other));
+    }
+
+    @Override
+    public boolean endsWith(Path other) {
+        final MemoryPath candidate = sameFileSystemOrNull(other);
+        if (candidate == null || candidate.names.length > names.length) {
+            return false;
+        }
+        if (candidate.absolute) {
+            return equals(candidate);
+        }
+        return regionMatches(candidate.names, names.length - candidate.names.length);
+    }
+
+    @Override
+    public boolean endsWith(String other) {
+        return endsWith(fileSystem.getPath(other));
+    }
+
+    @Override
+    public MemoryPath normalize() {
+        final List<String> result = new ArrayList<>(names.length);
+        for (final String name : names) {
+            if (".".equals(name)) {
+                continue;
+            }
+            if ("..".equals(name)) {
+                if (!result.isEmpty() && !"..".equals(result.get(result.size() - 1))) {
+                    result.remove(result.size() - 1);
+                    continue;
+                }
+                if (absolute) {
+                    continue;
+                }
+            }
+            result.add(name);
+        }
+        return new MemoryPath(fileSystem, absolute, result.toArray(NO_NAMES));
+    }
+
+    @Override
+    public MemoryPath resolve(Path other) {
+        final MemoryPath candidate = toMemoryPath(other);
+        if (candidate.absolute) {
+            return candidate;
+        }
+        if (candidate.names.length == 0) {
+            return this;
+        }
+        final String[] result = copyOf(names, names.length + candidate.names.length);
+        System.arraycopy(candidate.names, 0, result, names.length, candidate.names.length);
+        return new MemoryPath(fileSystem, absolute, result);
+    }
+
+    @Override
+    public MemoryPath resolve(String other) {
+        return resolve(fileSystem.getPath(other));
+    }
+
+    @Override
+    public MemoryPath resolveSibling(Path other) {
+        final MemoryPath parent = getParent();
+        return parent != null ? parent.resolve(other) : toMemoryPath(other);
+    }
+
+    @Override
+    public MemoryPath resolveSibling(String other) {
+        return resolveSibling(fileSystem.getPath(other));
+    }
+
+    @Override
+    public MemoryPath relativize(Path other) {
+        final MemoryPath candidate = toMemoryPath(other);
+        if (candidate.absolute != absolute) {
+            throw new IllegalArgumentException("Could not relativize " + candidate + " against " + this + ".");
+        }
+        int common = 0;
+        while (common < names.length && common < candidate.names.length && names[common].equals(candidate.names[common])) {
+            common++;
+        }
+        final String[] result = new String[names.length - common + candidate.names.length - common];
+        Arrays.fill(result, 0, names.length - common, "..");
+        System.arraycopy(candidate.names, common, result, names.length - common, candidate.names.length - common);
+        return new MemoryPath(fileSystem, false, result);
+    }
+
+    @Override
+    public URI toUri() {
+        try {
+            return new URI(MemoryFileSystemProvider.SCHEME, fileSystem.name(), toAbsolutePath().toString(), null, null);
+        } catch (final URISyntaxException e) {
+            throw new IllegalStateException("Could not create URI of " + this + ".", e);
+        }
+    }
+
+    @Override
+    public MemoryPath toAbsolutePath() {
+        return absolute ? this : new MemoryPath(fileSystem, true, names);
+    }
+
+    @Override
+    public MemoryPath toRealPath(LinkOption... options) throws IOException {
+        final MemoryPath result = toAbsolutePath().normalize();
+        fileSystem.provider().checkAccess(result);
+        return result;
+    }
+
+    @Override
+    public File toFile() {
+        throw new UnsupportedOperationException("Paths of an in-memory file system could not be converted to files.");
+    }
+
+    @Override
+    public WatchKey register(WatchService watcher, Kind<?>[] events, Modifier... modifiers) throws IOException {
+        throw new UnsupportedOperationException("Watching of in-memory file systems is not supported.");
+    }
+
+    @Override
+    public WatchKey register(WatchService watcher, Kind<?>... events) throws IOException {
+        return register(watcher, events, new Modifier[0]);
+    }
+
+    @Override
+    public Iterator<Path> iterator() {
+        final List<Path> result = new ArrayList<>(names.length);
+        for (final String name : names) {
+            result.add(new MemoryPath(fileSystem, false, new String[]{name}));
+        }
+        return result.iterator();
+    }
+
+    @Override
+    public int compareTo(Path other) {
+        return toString().compareTo(toMemoryPath(other).toString());
+    }
+
+    @Nonnull
+    private MemoryPath toMemoryPath(@Nonnull Path other) {
+        final MemoryPath result = sameFileSystemOrNull(requireNonNull(other));
+        if (result == null) {
+            throw new ProviderMismatchException("Could only handle paths of " + fileSystem + " but got: " + other);
+        }
+        return result;
+    }
+
+    @Nullable
+    private MemoryPath sameFileSystemOrNull(@Nonnull Path other) {
+        if (other instanceof MemoryPath && ((MemoryPath) other).fileSystem == fileSystem) {
+            return (MemoryPath) other;
+        }
+        return null;
+    }
+
+    private boolean regionMatches(@Nonnull String[] other, @Nonnegative int offset) {
+        for (int i = 0; i < other.length; i++) {
+            if (!names[offset + i].equals(other[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) { return true; }
+        if (o == null || getClass() != o.getClass()) { return false; }
+        final MemoryPath that = (MemoryPath) o;
+        return fileSystem == that.fileSystem
+            && absolute == that.absolute
+            && Arrays.equals(names, that.names);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(names) + (absolute ? 1 : 0);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        if (absolute) {
+            sb.append(SEPARATOR);
+        }
+        for (int i = 0; i < names.length; i++) {
+            if (i > 0) {
+                sb.append(SEPARATOR);
+            }
+            sb.append(names[i]);
+        }
+        return sb.toString();
+    }
+
+}
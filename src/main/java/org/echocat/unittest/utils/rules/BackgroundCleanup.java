@@ -0,0 +1,98 @@
+package org.echocat.unittest.utils.rules;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+
+final class BackgroundCleanup {
+
+    @Nonnull
+    private static final BackgroundCleanup INSTANCE = new BackgroundCleanup();
+
+    @Nonnull
+    static BackgroundCleanup backgroundCleanup() {
+        return INSTANCE;
+    }
+
+    @Nonnull
+    private final ConcurrentMap<String, Queue<Future<?>>> ownerToPending = new ConcurrentHashMap<>();
+    @Nonnull
+    private final ExecutorService executor = newSingleThreadExecutor(task -> {
+        final Thread thread = new Thread(task, "background-cleanup");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private BackgroundCleanup() {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::drainOnShutdown, "background-cleanup-drain"));
+    }
+
+    void submit(@Nonnull String owner, @Nonnull Task task) {
+        ownerToPending.computeIfAbsent(owner, key -> new ConcurrentLinkedQueue<>()).add(executor.submit(() -> {
+            task.run();
+            return null;
+        }));
+    }
+
+    void drain(@Nonnull String owner) throws Exception {
+        final Queue<Future<?>> pending = ownerToPending.get(owner);
+        if (pending != null) {
+            collect(pending);
+        }
+    }
+
+    private static void collect(@Nonnull Queue<Future<?>> pending) throws Exception {
+        Exception failure = null;
+        Future<?> future;
+        while ((future = pending.poll()) != null) {
+            final Exception cause = failureOf(future);
+            if (cause == null) {
+                continue;
+            }
+            if (failure == null) {
+                failure = cause;
+            } else {
+                failure.addSuppressed(cause);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Nullable
+    private static Exception failureOf(@Nonnull Future<?> future) throws InterruptedException {
+        try {
+            future.get();
+            return null;
+        } catch (final ExecutionException e) {
+            return e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+    }
+
+    private void drainOnShutdown() {
+        for (final String owner : ownerToPending.keySet()) {
+            try {
+                drain(owner);
+            } catch (final Exception e) {
+                System.err.println("Background cleanup of temporary directories created for " + owner + " failed and was not reported to any test.");
+                //noinspection CallToPrintStackTrace
+                e.printStackTrace();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface Task {
+        void run() throws Exception;
+    }
+
+}
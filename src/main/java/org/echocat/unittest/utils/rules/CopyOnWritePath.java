@@ -0,0 +1,188 @@
+package org.echocat.unittest.utils.rules;
+
+import org.echocat.unittest.utils.nio.WrappedFileSystem;
+import org.echocat.unittest.utils.nio.WrappedFileSystemProvider;
+import org.echocat.unittest.utils.nio.WrappedPath;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.FileAttributeView;
+import java.nio.file.spi.FileSystemProvider;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+import static java.nio.file.AccessMode.WRITE;
+import static java.nio.file.Files.*;
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Arrays.asList;
+import static org.echocat.unittest.utils.rules.DirectoryTemplates.makeWritable;
+
+final class CopyOnWritePath implements WrappedPath {
+
+    @Nonnull
+    private final Path wrapped;
+    @Nonnull
+    private final Path baseDirectory;
+    @Nonnull
+    private final Path template;
+
+    CopyOnWritePath(@Nonnull Path wrapped, @Nonnull Path baseDirectory, @Nonnull Path template) {
+        this.wrapped = wrapped;
+        this.baseDirectory = baseDirectory;
+        this.template = template;
+    }
+
+    @Nonnull
+    @Override
+    public Path wrapped() {
+        return wrapped;
+    }
+
+    @Override
+    public FileSystem getFileSystem() {
+        return new CopyOnWriteFileSystem(wrapped().getFileSystem());
+    }
+
+    @Override
+    public Path resolve(Path other) {
+        return new CopyOnWritePath(wrapped().resolve(other), baseDirectory, template);
+    }
+
+    @Override
+    public Path resolve(String other) {
+        return new CopyOnWritePath(wrapped().resolve(other), baseDirectory, template);
+    }
+
+    void unshare() throws IOException {
+        final Path file = wrapped().toAbsolutePath().normalize();
+        if (!file.startsWith(baseDirectory) || !isRegularFile(file, NOFOLLOW_LINKS)) {
+            return;
+        }
+        final Path golden = template.resolve(baseDirectory.relativize(file));
+        if (!isRegularFile(golden, NOFOLLOW_LINKS) || !isSameFile(file, golden)) {
+            return;
+        }
+        final Path copy = createTempFile(file.getParent(), ".", ".unshared");
+        try {
+            copy(golden, copy, REPLACE_EXISTING);
+            setPosixFilePermissions(copy, getPosixFilePermissions(golden));
+            makeWritable(copy);
+            setLastModifiedTime(copy, getLastModifiedTime(golden));
+            move(copy, file, ATOMIC_MOVE);
+        } finally {
+            deleteIfExists(copy);
+        }
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        return this == o || (o instanceof CopyOnWritePath && wrapped().equals(((CopyOnWritePath) o).wrapped()));
+    }
+
+    @Override
+    public int hashCode() {
+        return wrapped().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return wrapped().toString();
+    }
+
+    static final class CopyOnWriteFileSystem extends WrappedFileSystem<CopyOnWritePath> {
+
+        CopyOnWriteFileSystem(@Nonnull FileSystem wrapped) {
+            super(CopyOnWritePath.class, wrapped);
+        }
+
+        @Override
+        public FileSystemProvider provider() {
+            return new CopyOnWriteFileSystemProvider(wrapped().provider());
+        }
+
+    }
+
+    static final class CopyOnWriteFileSystemProvider extends WrappedFileSystemProvider<CopyOnWritePath> {
+
+        CopyOnWriteFileSystemProvider(@Nonnull FileSystemProvider wrapped) {
+            super(CopyOnWritePath.class, wrapped);
+        }
+
+        @Override
+        public OutputStream newOutputStream(Path path, OpenOption... options) throws IOException {
+            unshare(path);
+            return super.newOutputStream(path, options);
+        }
+
+        @Override
+        public FileChannel newFileChannel(Path path, Set<? extends OpenOption> options, FileAttribute<?>[] attrs) throws IOException {
+            unshareIfWriting(path, options);
+            return super.newFileChannel(path, options, attrs);
+        }
+
+        @Override
+        public AsynchronousFileChannel newAsynchronousFileChannel(Path path, Set<? extends OpenOption> options, ExecutorService executor, FileAttribute<?>[] attrs) throws IOException {
+            unshareIfWriting(path, options);
+            return super.newAsynchronousFileChannel(path, options, executor, attrs);
+        }
+
+        @Override
+        public SeekableByteChannel newByteChannel(Path path, Set<? extends OpenOption> options, FileAttribute<?>[] attrs) throws IOException {
+            unshareIfWriting(path, options);
+            return super.newByteChannel(path, options, attrs);
+        }
+
+        @Override
+        public void checkAccess(Path path, AccessMode... modes) throws IOException {
+            if (asList(modes).contains(WRITE)) {
+                unshare(path);
+            }
+            super.checkAccess(path, modes);
+        }
+
+        @Override
+        public <V extends FileAttributeView> V getFileAttributeView(Path path, Class<V> type, LinkOption... options) {
+            try {
+                unshare(path);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return super.getFileAttributeView(path, type, options);
+        }
+
+        @Override
+        public void setAttribute(Path path, String attribute, Object value, LinkOption... options) throws IOException {
+            unshare(path);
+            super.setAttribute(path, attribute, value, options);
+        }
+
+        private void unshareIfWriting(@Nonnull Path path, @Nonnull Set<? extends OpenOption> options) throws IOException {
+            if (options.contains(StandardOpenOption.WRITE) || options.contains(StandardOpenOption.APPEND)) {
+                unshare(path);
+            }
+        }
+
+        @Override
+        protected Path unwrap(@Nullable Path plain) {
+            return plain instanceof CopyOnWritePath || plain == null ? super.unwrap(plain) : plain;
+        }
+
+        private void unshare(@Nonnull Path path) throws IOException {
+            if (path instanceof CopyOnWritePath) {
+                ((CopyOnWritePath) path).unshare();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,259 @@
+package org.echocat.unittest.utils.rules;
+
+import org.echocat.unittest.utils.rules.TestDirectory.ContentProducer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.nio.file.FileVisitResult.CONTINUE;
+import static java.nio.file.Files.*;
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+import static java.nio.file.StandardCopyOption.COPY_ATTRIBUTES;
+import static java.nio.file.attribute.PosixFilePermission.GROUP_WRITE;
+import static java.nio.file.attribute.PosixFilePermission.OTHERS_WRITE;
+import static java.nio.file.attribute.PosixFilePermission.OWNER_WRITE;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableMap;
+
+final class DirectoryTemplates {
+
+    @Nonnull
+    private static final String TEMPLATE_PREFIX = "template-";
+    @Nonnull
+    private static final DirectoryTemplates INSTANCE = new DirectoryTemplates();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(INSTANCE::clear, "directory-templates-cleanup"));
+    }
+
+    @Nonnull
+    static DirectoryTemplates directoryTemplates() {
+        return INSTANCE;
+    }
+
+    @Nonnull
+    private final ConcurrentMap<Key, Template> keyToTemplate = new ConcurrentHashMap<>();
+
+    void cloneInto(@Nonnull Object key, @Nonnull ContentProducer producer, @Nonnull Path target) throws Exception {
+        templateFor(key, target).cloneInto(producer, target, false);
+    }
+
+    @Nullable
+    Path linkInto(@Nonnull Object key, @Nonnull ContentProducer producer, @Nonnull Path target) throws Exception {
+        final boolean link = supportsHardLinks(target.getFileSystem());
+        final Path golden = templateFor(key, target).cloneInto(producer, target, link);
+        return link ? golden : null;
+    }
+
+    @Nonnull
+    private Template templateFor(@Nonnull Object key, @Nonnull Path target) {
+        return keyToTemplate.computeIfAbsent(new Key(key, target.getFileSystem()), k -> new Template());
+    }
+
+    static boolean supportsHardLinks(@Nonnull FileSystem fileSystem) {
+        return fileSystem.supportedFileAttributeViews().contains("unix");
+    }
+
+    static void makeWritable(@Nonnull Path file) throws IOException {
+        final Set<PosixFilePermission> permissions = getPosixFilePermissions(file, NOFOLLOW_LINKS);
+        if (permissions.add(OWNER_WRITE)) {
+            setPosixFilePermissions(file, permissions);
+        }
+    }
+
+    @Nullable
+    Path templateDirectoryOf(@Nonnull Object key, @Nonnull FileSystem fileSystem) {
+        final Template template = keyToTemplate.get(new Key(key, fileSystem));
+        return template != null ? template.golden : null;
+    }
+
+    void clear() {
+        for (final Template template : keyToTemplate.values()) {
+            template.delete();
+        }
+        keyToTemplate.clear();
+    }
+
+    private static final class Template {
+
+        @Nullable
+        private volatile Path golden;
+        @Nonnull
+        private volatile Map<Path, Fingerprint> fingerprints = emptyMap();
+
+        @Nonnull
+        private Path cloneInto(@Nonnull ContentProducer producer, @Nonnull Path target, boolean link) throws Exception {
+            final Path source = goldenFor(producer, target);
+            final boolean writeProtected = !fingerprints.isEmpty();
+            walkFileTree(source, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    createDirectories(target.resolve(source.relativize(dir)));
+                    return CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    final Path clone = target.resolve(source.relativize(file));
+                    if (!link || !attrs.isRegularFile() || !tryLink(clone, file)) {
+                        copy(file, clone, COPY_ATTRIBUTES, NOFOLLOW_LINKS);
+                        if (writeProtected && attrs.isRegularFile()) {
+                            makeWritable(clone);
+                        }
+                    }
+                    return CONTINUE;
+                }
+            });
+            return source;
+        }
+
+        private static boolean tryLink(@Nonnull Path link, @Nonnull Path existing) {
+            try {
+                createLink(link, existing);
+                return true;
+            } catch (final IOException | UnsupportedOperationException ignored) {
+                return false;
+            }
+        }
+
+        @Nonnull
+        private synchronized Path goldenFor(@Nonnull ContentProducer producer, @Nonnull Path target) throws Exception {
+            final Path existing = golden;
+            if (existing != null && (fingerprints.isEmpty() || isUnchanged(existing))) {
+                return existing;
+            }
+            delete();
+            final Path parent = target.toAbsolutePath().getParent();
+            final Path result = parent != null ? createTempDirectory(parent, TEMPLATE_PREFIX) : createTempDirectory(TEMPLATE_PREFIX);
+            try {
+                producer.produce(result);
+            } catch (final Exception e) {
+                deleteRecursively(result);
+                throw e;
+            }
+            if (supportsHardLinks(result.getFileSystem())) {
+                fingerprints = writeProtect(result);
+            }
+            golden = result;
+            return result;
+        }
+
+        @Nonnull
+        private static Map<Path, Fingerprint> writeProtect(@Nonnull Path golden) throws IOException {
+            final Map<Path, Fingerprint> result = new HashMap<>();
+            walkFileTree(golden, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    if (attrs.isRegularFile()) {
+                        final Set<PosixFilePermission> permissions = getPosixFilePermissions(file, NOFOLLOW_LINKS);
+                        permissions.removeAll(asList(OWNER_WRITE, GROUP_WRITE, OTHERS_WRITE));
+                        setPosixFilePermissions(file, permissions);
+                        result.put(golden.relativize(file), new Fingerprint(attrs));
+                    }
+                    return CONTINUE;
+                }
+            });
+            return unmodifiableMap(result);
+        }
+
+        private boolean isUnchanged(@Nonnull Path golden) {
+            try {
+                for (final Map.Entry<Path, Fingerprint> entry : fingerprints.entrySet()) {
+                    final BasicFileAttributes attributes = readAttributes(golden.resolve(entry.getKey()), BasicFileAttributes.class, NOFOLLOW_LINKS);
+                    if (!entry.getValue().matches(attributes)) {
+                        return false;
+                    }
+                }
+                return true;
+            } catch (final IOException ignored) {
+                return false;
+            }
+        }
+
+        private synchronized void delete() {
+            final Path existing = golden;
+            golden = null;
+            fingerprints = emptyMap();
+            if (existing != null) {
+                deleteRecursively(existing);
+            }
+        }
+
+        private static void deleteRecursively(@Nonnull Path what) {
+            try {
+                walkFileTree(what, new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                        deleteIfExists(file);
+                        return CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                        deleteIfExists(dir);
+                        return CONTINUE;
+                    }
+                });
+            } catch (final IOException | ClosedFileSystemException ignored) {}
+        }
+
+    }
+
+    private static final class Fingerprint {
+
+        private final long size;
+        @Nonnull
+        private final FileTime lastModifiedTime;
+
+        private Fingerprint(@Nonnull BasicFileAttributes attributes) {
+            size = attributes.size();
+            lastModifiedTime = attributes.lastModifiedTime();
+        }
+
+        private boolean matches(@Nonnull BasicFileAttributes attributes) {
+            return size == attributes.size() && lastModifiedTime.equals(attributes.lastModifiedTime());
+        }
+
+    }
+
+    private static final class Key {
+
+        @Nonnull
+        private final Object key;
+        @Nonnull
+        private final FileSystem fileSystem;
+
+        private Key(@Nonnull Object key, @Nonnull FileSystem fileSystem) {
+            this.key = key;
+            this.fileSystem = fileSystem;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) { return true; }
+            if (o == null || getClass() != o.getClass()) { return false; }
+            final Key that = (Key) o;
+            return Objects.equals(key, that.key)
+                && Objects.equals(fileSystem, that.fileSystem);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(key, fileSystem);
+        }
+
+    }
+
+}
@@ -2,28 +2,83 @@ package org.echocat.unittest.utils.rules;
 
 import org.junit.rules.TestRule;
 import org.junit.runner.Description;
+import org.junit.runners.model.MultipleFailureException;
 import org.junit.runners.model.Statement;
 
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
 import java.nio.file.FileVisitResult;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import static java.lang.Character.isLetterOrDigit;
+import static java.lang.Math.min;
 import static java.nio.file.FileVisitResult.CONTINUE;
 import static java.nio.file.Files.*;
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
 import static java.util.Objects.requireNonNull;
+import static org.echocat.unittest.utils.nio.MemoryFileSystemProvider.defaultMemoryFileSystem;
+import static org.echocat.unittest.utils.rules.BackgroundCleanup.backgroundCleanup;
 
 public abstract class TemporaryDirectoryBasedRuleSupport<T extends TemporaryDirectoryBasedRuleSupport<T>> implements TestRule {
 
+    @Nonnegative
+    protected static final int FILES_PER_DELETE_TASK = 256;
+    @Nonnull
+    protected static final String TRASH_DIRECTORY_PREFIX = ".unittest-utils-trash-";
+    @Nonnull
+    private static final ConcurrentMap<Integer, ForkJoinPool> PARALLELISM_TO_POOL = new ConcurrentHashMap<>();
+
     @Nullable
     private Path baseDirectory;
 
     private boolean failOnProblemsWhileCleanup = true;
+    @Nonnegative
+    private int cleanupParallelism = 1;
+    private boolean asyncCleanup;
+    @Nullable
+    private TemporaryDirectoryPool directoryPool;
+    @Nullable
+    private FileSystem temporaryFileSystem;
+
+    public static void awaitBackgroundCleanup(@Nonnull Class<?> testClass) throws Exception {
+        backgroundCleanup().drain(testClass.getName());
+    }
+
+    @Nonnull
+    public static TestRule backgroundCleanupReporter() {
+        return (base, description) -> new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                final List<Throwable> errors = new ArrayList<>();
+                try {
+                    base.evaluate();
+                } catch (final Throwable e) {
+                    errors.add(e);
+                }
+                try {
+                    backgroundCleanup().drain(description.getClassName());
+                } catch (final Exception e) {
+                    errors.add(e);
+                }
+                MultipleFailureException.assertEmpty(errors);
+            }
+        };
+    }
 
     public boolean isFailOnProblemsWhileCleanup() {
         return failOnProblemsWhileCleanup;
@@ -36,6 +91,84 @@ public abstract class TemporaryDirectoryBasedRuleSupport<T extends TemporaryDire
         return (T) this;
     }
 
+    @Nonnegative
+    public int getCleanupParallelism() {
+        return cleanupParallelism;
+    }
+
+    @Nonnull
+    public T setCleanupParallelism(@Nonnegative int cleanupParallelism) {
+        if (cleanupParallelism < 1) {
+            throw new IllegalArgumentException("The cleanup parallelism have to be positive but was " + cleanupParallelism + ".");
+        }
+        this.cleanupParallelism = cleanupParallelism;
+        //noinspection unchecked
+        return (T) this;
+    }
+
+    @Nonnull
+    public T withParallelCleanup() {
+        return setCleanupParallelism(Runtime.getRuntime().availableProcessors());
+    }
+
+    public boolean isAsyncCleanup() {
+        return asyncCleanup;
+    }
+
+    @Nonnull
+    public T setAsyncCleanup(boolean asyncCleanup) {
+        this.asyncCleanup = asyncCleanup;
+        //noinspection unchecked
+        return (T) this;
+    }
+
+    @Nonnull
+    public T withAsyncCleanup() {
+        return setAsyncCleanup(true);
+    }
+
+    @Nullable
+    public TemporaryDirectoryPool getDirectoryPool() {
+        return directoryPool;
+    }
+
+    @Nonnull
+    public T setDirectoryPool(@Nullable TemporaryDirectoryPool directoryPool) {
+        checkCompatibility(directoryPool, getTemporaryFileSystem());
+        this.directoryPool = directoryPool;
+        //noinspection unchecked
+        return (T) this;
+    }
+
+    @Nonnull
+    public T withDirectoryPool(@Nonnull TemporaryDirectoryPool directoryPool) {
+        return setDirectoryPool(requireNonNull(directoryPool));
+    }
+
+    @Nullable
+    public FileSystem getTemporaryFileSystem() {
+        return temporaryFileSystem;
+    }
+
+    @Nonnull
+    public T setTemporaryFileSystem(@Nullable FileSystem temporaryFileSystem) {
+        checkCompatibility(getDirectoryPool(), temporaryFileSystem);
+        this.temporaryFileSystem = temporaryFileSystem;
+        //noinspection unchecked
+        return (T) this;
+    }
+
+    @Nonnull
+    public T withInMemoryFileSystem() {
+        return setTemporaryFileSystem(defaultMemoryFileSystem());
+    }
+
+    protected void checkCompatibility(@Nullable TemporaryDirectoryPool directoryPool, @Nullable FileSystem temporaryFileSystem) {
+        if (directoryPool != null && temporaryFileSystem != null && !directoryPool.root().getFileSystem().equals(temporaryFileSystem)) {
+            throw new IllegalArgumentException("The directory pool for " + directoryPool.root() + " does not create directories on the temporary file system " + temporaryFileSystem + ".");
+        }
+    }
+
     @Override
     public Statement apply(@Nonnull Statement base, @Nonnull Description description) {
         return new Statement() {
@@ -53,7 +186,14 @@ public abstract class TemporaryDirectoryBasedRuleSupport<T extends TemporaryDire
             evaluate(base, description, baseDirectory);
         } finally {
             TemporaryDirectoryBasedRuleSupport.this.baseDirectory = null;
-            deleteDirectory(baseDirectory);
+            if (isAsyncCleanup()) {
+                deleteDirectoryInBackground(baseDirectory, description);
+            } else {
+                deleteDirectory(baseDirectory);
+            }
+            if (description.isSuite()) {
+                backgroundCleanup().drain(description.getClassName());
+            }
         }
     }
 
@@ -66,7 +206,15 @@ public abstract class TemporaryDirectoryBasedRuleSupport<T extends TemporaryDire
 
     @Nonnull
     protected Path generateTemporaryFolderFor(@Nonnull Description description) throws Exception {
+        final TemporaryDirectoryPool directoryPool = getDirectoryPool();
+        if (directoryPool != null) {
+            return directoryPool.acquire();
+        }
         final String name = folderNameFor(description);
+        final FileSystem temporaryFileSystem = getTemporaryFileSystem();
+        if (temporaryFileSystem != null) {
+            return createTempDirectory(temporaryFileSystem.getRootDirectories().iterator().next(), name + "-");
+        }
         return createTempDirectory(name + "-");
     }
 
@@ -104,6 +252,45 @@ public abstract class TemporaryDirectoryBasedRuleSupport<T extends TemporaryDire
     }
 
     protected void deleteDirectory(@Nonnull Path what) throws Exception {
+        if (getCleanupParallelism() > 1) {
+            deleteDirectoryInParallel(what);
+        } else {
+            deleteDirectorySerially(what);
+        }
+    }
+
+    protected void deleteDirectoryInBackground(@Nonnull Path what, @Nonnull Description description) throws Exception {
+        final Path trashed;
+        try {
+            trashed = moveToTrash(what);
+        } catch (final IOException ignored) {
+            deleteDirectory(what);
+            return;
+        }
+        backgroundCleanup().submit(description.getClassName(), () -> {
+            try {
+                deleteDirectory(trashed);
+            } catch (final Exception e) {
+                throw new IOException("Background cleanup of " + trashed + " created for " + description.getDisplayName() + " failed.", e);
+            }
+        });
+    }
+
+    @Nonnull
+    protected Path moveToTrash(@Nonnull Path what) throws IOException {
+        return move(what, what.resolveSibling(TRASH_DIRECTORY_PREFIX + what.getFileName()), ATOMIC_MOVE);
+    }
+
+    protected void deleteDirectoryInParallel(@Nonnull Path what) throws Exception {
+        final ForkJoinPool pool = PARALLELISM_TO_POOL.computeIfAbsent(getCleanupParallelism(), ForkJoinPool::new);
+        try {
+            pool.invoke(new DeleteDirectoryTask(what));
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    protected void deleteDirectorySerially(@Nonnull Path what) throws Exception {
         try {
             walkFileTree(what, new SimpleFileVisitor<Path>() {
                 @Override
@@ -135,6 +322,24 @@ public abstract class TemporaryDirectoryBasedRuleSupport<T extends TemporaryDire
         }
     }
 
+    protected void deleteFiles(@Nonnull List<Path> files) {
+        for (final Path file : files) {
+            try {
+                delete(file);
+            } catch (final IOException e) {
+                handleExceptionIfRequiredUnchecked(e);
+            }
+        }
+    }
+
+    protected void handleExceptionIfRequiredUnchecked(@Nonnull IOException e) {
+        try {
+            handleExceptionIfRequired(e);
+        } catch (final IOException rethrown) {
+            throw new UncheckedIOException(rethrown);
+        }
+    }
+
     protected void handleExceptionIfRequired(@Nonnull IOException e) throws IOException {
         if (e instanceof NoSuchFileException) {
             return;
@@ -144,4 +349,68 @@ public abstract class TemporaryDirectoryBasedRuleSupport<T extends TemporaryDire
         }
     }
 
+    protected class DeleteDirectoryTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        @Nonnull
+        private final Path directory;
+
+        protected DeleteDirectoryTask(@Nonnull Path directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        protected void compute() {
+            final List<RecursiveAction> subTasks = new ArrayList<>();
+            final List<Path> files = new ArrayList<>();
+            try (final DirectoryStream<Path> entries = newDirectoryStream(directory)) {
+                for (final Path entry : entries) {
+                    if (isDirectory(entry, NOFOLLOW_LINKS)) {
+                        subTasks.add(new DeleteDirectoryTask(entry));
+                    } else {
+                        files.add(entry);
+                    }
+                }
+            } catch (final IOException e) {
+                handleExceptionIfRequiredUnchecked(e);
+                return;
+            }
+            for (int i = FILES_PER_DELETE_TASK; i < files.size(); i += FILES_PER_DELETE_TASK) {
+                subTasks.add(new DeleteFilesTask(files.subList(i, min(i + FILES_PER_DELETE_TASK, files.size()))));
+            }
+            for (final RecursiveAction subTask : subTasks) {
+                subTask.fork();
+            }
+            deleteFiles(files.subList(0, min(FILES_PER_DELETE_TASK, files.size())));
+            for (int i = subTasks.size() - 1; i >= 0; i--) {
+                subTasks.get(i).join();
+            }
+            try {
+                delete(directory);
+            } catch (final IOException e) {
+                handleExceptionIfRequiredUnchecked(e);
+            }
+        }
+
+    }
+
+    protected class DeleteFilesTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        @Nonnull
+        private final List<Path> files;
+
+        protected DeleteFilesTask(@Nonnull List<Path> files) {
+            this.files = files;
+        }
+
+        @Override
+        protected void compute() {
+            deleteFiles(files);
+        }
+
+    }
+
 }
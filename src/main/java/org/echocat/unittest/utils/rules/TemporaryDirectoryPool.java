@@ -0,0 +1,176 @@
+package org.echocat.unittest.utils.rules;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.nio.file.Files.*;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+
+public class TemporaryDirectoryPool implements AutoCloseable {
+
+    @Nonnegative
+    public static final int DEFAULT_CAPACITY = 64;
+    @Nonnull
+    protected static final String DIRECTORY_PREFIX = "pooled-";
+
+    @Nonnull
+    private static final ConcurrentMap<Path, TemporaryDirectoryPool> ROOT_TO_POOL = new ConcurrentHashMap<>();
+    @Nonnull
+    private static final ExecutorService EXECUTOR = newSingleThreadExecutor(task -> {
+        final Thread thread = new Thread(task, "temporary-directory-pool");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> ROOT_TO_POOL.values().forEach(TemporaryDirectoryPool::shutdown), "temporary-directory-pool-close"));
+    }
+
+    @Nonnull
+    public static TemporaryDirectoryPool temporaryDirectoryPool() {
+        return temporaryDirectoryPoolFor(Paths.get(System.getProperty("java.io.tmpdir")));
+    }
+
+    @Nonnull
+    public static TemporaryDirectoryPool temporaryDirectoryPoolFor(@Nonnull Path root) {
+        return temporaryDirectoryPoolFor(root, DEFAULT_CAPACITY);
+    }
+
+    @Nonnull
+    public static TemporaryDirectoryPool temporaryDirectoryPoolFor(@Nonnull Path root, @Nonnegative int capacity) {
+        final Path normalizedRoot = requireNonNull(root, "No root provided.").toAbsolutePath().normalize();
+        final TemporaryDirectoryPool result = ROOT_TO_POOL.compute(normalizedRoot, (key, existing) -> {
+            if (existing == null) {
+                return new TemporaryDirectoryPool(key, capacity);
+            }
+            if (existing.capacity() != capacity) {
+                throw new IllegalArgumentException("There is already a pool for " + key + " with capacity " + existing.capacity() + " but capacity " + capacity + " was requested.");
+            }
+            existing.references++;
+            return existing;
+        });
+        result.refillInBackground();
+        return result;
+    }
+
+    @Nonnull
+    private final Path root;
+    @Nonnull
+    private final BlockingQueue<Path> available;
+    @Nonnull
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    @Nonnull
+    private final AtomicBoolean closed = new AtomicBoolean();
+    @Nonnegative
+    private int references = 1;
+
+    protected TemporaryDirectoryPool(@Nonnull Path root, @Nonnegative int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity have to be positive but was " + capacity + ".");
+        }
+        this.root = requireNonNull(root);
+        this.available = new ArrayBlockingQueue<>(capacity);
+    }
+
+    @Nonnull
+    public Path acquire() throws IOException {
+        if (closed.get()) {
+            throw new IllegalStateException("The pool for " + root + " was already closed.");
+        }
+        final Path result = available.poll();
+        refillInBackground();
+        return result != null ? result : createDirectory();
+    }
+
+    @Nonnull
+    public Path root() {
+        return root;
+    }
+
+    @Nonnegative
+    public int capacity() {
+        return available.size() + available.remainingCapacity();
+    }
+
+    @Nonnegative
+    public int available() {
+        return available.size();
+    }
+
+    @Override
+    public void close() {
+        final AtomicBoolean released = new AtomicBoolean(true);
+        ROOT_TO_POOL.computeIfPresent(root, (key, existing) -> {
+            if (existing == this && --references > 0) {
+                released.set(false);
+                return existing;
+            }
+            return existing == this ? null : existing;
+        });
+        if (released.get()) {
+            shutdown();
+        }
+    }
+
+    protected void shutdown() {
+        if (closed.compareAndSet(false, true)) {
+            ROOT_TO_POOL.remove(root, this);
+            Path path;
+            while ((path = available.poll()) != null) {
+                try {
+                    deleteIfExists(path);
+                } catch (final IOException ignored) {}
+            }
+        }
+    }
+
+    protected void refillInBackground() {
+        if (available.remainingCapacity() > 0 && !closed.get() && refilling.compareAndSet(false, true)) {
+            EXECUTOR.execute(() -> {
+                try {
+                    refill();
+                } finally {
+                    refilling.set(false);
+                }
+            });
+        }
+    }
+
+    protected void refill() {
+        while (available.remainingCapacity() > 0 && !closed.get()) {
+            final Path path;
+            try {
+                path = createDirectory();
+            } catch (final IOException ignored) {
+                return;
+            }
+            if (!available.offer(path) || (closed.get() && available.remove(path))) {
+                try {
+                    delete(path);
+                } catch (final IOException ignored) {}
+                return;
+            }
+        }
+    }
+
+    @Nonnull
+    protected Path createDirectory() throws IOException {
+        return createTempDirectory(createDirectories(root), DIRECTORY_PREFIX);
+    }
+
+    @Override
+    public String toString() {
+        return "TemporaryDirectoryPool{root=" + root + ", available=" + available() + "/" + capacity() + "}";
+    }
+
+}
@@ -8,10 +8,15 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.nio.file.Path;
 
+import static java.util.Objects.requireNonNull;
+import static org.echocat.unittest.utils.rules.DirectoryTemplates.directoryTemplates;
+
 public class TestDirectory extends TemporaryDirectoryBasedRuleSupport<TestDirectory> implements WrappedPath {
 
     @Nullable
     private final ContentProducer contentProducer;
+    @Nullable
+    private volatile Path template;
 
 
     public TestDirectory() {
@@ -24,10 +29,16 @@ public class TestDirectory extends TemporaryDirectoryBasedRuleSupport<TestDirect
 
     @Override
     protected void evaluate(@Nonnull Statement base, @Nonnull Description description, @Nonnull Path baseDirectory) throws Throwable {
-        if (contentProducer != null) {
-            contentProducer.produce(baseDirectory);
+        try {
+            if (contentProducer instanceof TemplateContentProducer) {
+                template = ((TemplateContentProducer) contentProducer).linkInto(baseDirectory);
+            } else if (contentProducer != null) {
+                contentProducer.produce(baseDirectory);
+            }
+            base.evaluate();
+        } finally {
+            template = null;
         }
-        base.evaluate();
     }
 
     @Override
@@ -36,12 +47,57 @@ public class TestDirectory extends TemporaryDirectoryBasedRuleSupport<TestDirect
         return baseDirectory();
     }
 
+    @Override
+    public Path resolve(Path other) {
+        return copyOnWrite(wrapped().resolve(other));
+    }
+
+    @Override
+    public Path resolve(String other) {
+        return copyOnWrite(wrapped().resolve(other));
+    }
+
+    @Nonnull
+    protected Path copyOnWrite(@Nonnull Path path) {
+        final Path template = this.template;
+        return template != null ? new CopyOnWritePath(path, wrapped().toAbsolutePath().normalize(), template) : path;
+    }
+
     @FunctionalInterface
     public static interface ContentProducer {
         public void produce(@Nonnull Path path) throws Exception;
     }
 
+    @Nonnull
+    public static ContentProducer fromTemplate(@Nonnull Object key, @Nonnull ContentProducer producer) {
+        return new TemplateContentProducer(requireNonNull(key), requireNonNull(producer));
+    }
+
     @Override
     public String toString() {return wrapped().toString();}
 
+    protected static final class TemplateContentProducer implements ContentProducer {
+
+        @Nonnull
+        private final Object key;
+        @Nonnull
+        private final ContentProducer producer;
+
+        private TemplateContentProducer(@Nonnull Object key, @Nonnull ContentProducer producer) {
+            this.key = key;
+            this.producer = producer;
+        }
+
+        @Override
+        public void produce(@Nonnull Path path) throws Exception {
+            directoryTemplates().cloneInto(key, producer, path);
+        }
+
+        @Nullable
+        private Path linkInto(@Nonnull Path path) throws Exception {
+            return directoryTemplates().linkInto(key, producer, path);
+        }
+
+    }
+
 }
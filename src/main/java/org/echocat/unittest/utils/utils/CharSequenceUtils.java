@@ -0,0 +1,90 @@
+package org.echocat.unittest.utils.utils;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+import static java.lang.Character.toLowerCase;
+import static java.lang.Character.toUpperCase;
+
+public final class CharSequenceUtils {
+
+    public static boolean startsWith(@Nonnull CharSequence actual, @Nonnull CharSequence prefix) {
+        if (actual instanceof String && prefix instanceof String) {
+            return ((String) actual).startsWith((String) prefix);
+        }
+        return actual.length() >= prefix.length() && regionMatches(actual, 0, prefix, false);
+    }
+
+    public static boolean endsWith(@Nonnull CharSequence actual, @Nonnull CharSequence suffix) {
+        if (actual instanceof String && suffix instanceof String) {
+            return ((String) actual).endsWith((String) suffix);
+        }
+        final int offset = actual.length() - suffix.length();
+        return offset >= 0 && regionMatches(actual, offset, suffix, false);
+    }
+
+    public static boolean contains(@Nonnull CharSequence actual, @Nonnull CharSequence what) {
+        if (actual instanceof String && what instanceof String) {
+            return ((String) actual).contains(what);
+        }
+        return indexOf(actual, what) >= 0;
+    }
+
+    public static boolean startsWithIgnoreCase(@Nonnull CharSequence actual, @Nonnull CharSequence prefix) {
+        if (actual instanceof String && prefix instanceof String) {
+            return ((String) actual).regionMatches(true, 0, (String) prefix, 0, prefix.length());
+        }
+        return actual.length() >= prefix.length() && regionMatches(actual, 0, prefix, true);
+    }
+
+    public static boolean endsWithIgnoreCase(@Nonnull CharSequence actual, @Nonnull CharSequence suffix) {
+        final int offset = actual.length() - suffix.length();
+        if (actual instanceof String && suffix instanceof String) {
+            return offset >= 0 && ((String) actual).regionMatches(true, offset, (String) suffix, 0, suffix.length());
+        }
+        return offset >= 0 && regionMatches(actual, offset, suffix, true);
+    }
+
+    public static boolean containsIgnoreCase(@Nonnull CharSequence actual, @Nonnull CharSequence what) {
+        return indexOf(actual, what, true) >= 0;
+    }
+
+    public static boolean equalsIgnoreCase(@Nonnull CharSequence actual, @Nonnull CharSequence expected) {
+        if (actual instanceof String && expected instanceof String) {
+            return ((String) actual).equalsIgnoreCase((String) expected);
+        }
+        return actual.length() == expected.length() && regionMatches(actual, 0, expected, true);
+    }
+
+    public static int indexOf(@Nonnull CharSequence actual, @Nonnull CharSequence what) {
+        return indexOf(actual, what, false);
+    }
+
+    public static int indexOf(@Nonnull CharSequence actual, @Nonnull CharSequence what, boolean ignoreCase) {
+        return new SubstringSearch(what, ignoreCase).indexIn(actual);
+    }
+
+    public static boolean regionMatches(@Nonnull CharSequence actual, @Nonnegative int offset, @Nonnull CharSequence expected, boolean ignoreCase) {
+        final int length = expected.length();
+        if (offset < 0 || offset + length > actual.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            final char a = actual.charAt(offset + i);
+            final char e = expected.charAt(i);
+            if (a != e && !(ignoreCase && fold(a) == fold(e))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char fold(char c) {
+        return toLowerCase(toUpperCase(c));
+    }
+
+    static char fold(char c, boolean ignoreCase) {
+        return ignoreCase ? fold(c) : c;
+    }
+
+}
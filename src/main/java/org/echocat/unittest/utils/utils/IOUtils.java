@@ -3,14 +3,23 @@ package org.echocat.unittest.utils.utils;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.WillNotClose;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
+import java.io.*;
+import java.nio.channels.FileChannel;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 
 public final class IOUtils {
 
     static final int BUFFER_SIZE = 8192;
 
+    @Nonnull
+    private static final ThreadLocal<byte[]> SKIP_BYTE_BUFFER = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+    @Nonnull
+    private static final ThreadLocal<char[]> SKIP_CHAR_BUFFER = ThreadLocal.withInitial(() -> new char[BUFFER_SIZE]);
+    @Nonnull
+    private static final ThreadLocal<char[]> SCAN_CHAR_BUFFER = ThreadLocal.withInitial(() -> new char[BUFFER_SIZE]);
+
     @Nonnegative
     public static long copy(@Nonnull @WillNotClose InputStream is, @Nonnull @WillNotClose OutputStream os) throws IOException {
         long nread = 0L;
@@ -23,4 +32,107 @@ public final class IOUtils {
         return nread;
     }
 
+    @Nonnegative
+    public static long skipAtMost(@Nonnull @WillNotClose InputStream is, @Nonnegative long limit) throws IOException {
+        final Class<? extends InputStream> type = is.getClass();
+        if (type == FileInputStream.class) {
+            final long skipped = skipAtMost(((FileInputStream) is).getChannel(), limit);
+            if (skipped > 0 || limit == 0) {
+                return skipped;
+            }
+        } else if (type == ByteArrayInputStream.class) {
+            return skipExactlyAtMost(is, limit);
+        }
+        return readAtMost(is, limit);
+    }
+
+    @Nonnegative
+    public static long skipAtMost(@Nonnull @WillNotClose Reader reader, @Nonnegative long limit) throws IOException {
+        final Class<? extends Reader> type = reader.getClass();
+        if (type == StringReader.class || type == CharArrayReader.class) {
+            return skipExactlyAtMost(reader, limit);
+        }
+        return readAtMost(reader, limit);
+    }
+
+    public static boolean scan(@Nonnull @WillNotClose Reader reader, @Nonnull CharsVisitor visitor) throws IOException {
+        final char[] buf = SCAN_CHAR_BUFFER.get();
+        int n;
+        while ((n = reader.read(buf)) >= 0) {
+            if (n > 0 && !visitor.visit(buf, n)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Nonnegative
+    private static long skipAtMost(@Nonnull @WillNotClose FileChannel channel, @Nonnegative long limit) throws IOException {
+        final long position = channel.position();
+        final long skipped = min(max(channel.size() - position, 0), limit);
+        channel.position(position + skipped);
+        return skipped;
+    }
+
+    @Nonnegative
+    private static long skipExactlyAtMost(@Nonnull @WillNotClose InputStream is, @Nonnegative long limit) throws IOException {
+        long skipped = 0;
+        long n;
+        while (skipped < limit && (n = is.skip(limit - skipped)) > 0) {
+            skipped += n;
+        }
+        return skipped;
+    }
+
+    @Nonnegative
+    private static long skipExactlyAtMost(@Nonnull @WillNotClose Reader reader, @Nonnegative long limit) throws IOException {
+        long skipped = 0;
+        long n;
+        while (skipped < limit && (n = reader.skip(limit - skipped)) > 0) {
+            skipped += n;
+        }
+        return skipped;
+    }
+
+    @Nonnegative
+    private static long readAtMost(@Nonnull @WillNotClose InputStream is, @Nonnegative long limit) throws IOException {
+        final byte[] buf = SKIP_BYTE_BUFFER.get();
+        long nread = 0L;
+        int n;
+        while (nread < limit && (n = read(is, buf, limit - nread)) > 0) {
+            nread += n;
+        }
+        return nread;
+    }
+
+    @Nonnegative
+    private static long readAtMost(@Nonnull @WillNotClose Reader reader, @Nonnegative long limit) throws IOException {
+        final char[] buf = SKIP_CHAR_BUFFER.get();
+        long nread = 0L;
+        int n;
+        while (nread < limit && (n = read(reader, buf, limit - nread)) > 0) {
+            nread += n;
+        }
+        return nread;
+    }
+
+    private static int read(@Nonnull @WillNotClose InputStream is, @Nonnull byte[] buf, @Nonnegative long maximum) throws IOException {
+        if (maximum >= buf.length) {
+            return is.read(buf);
+        }
+        return is.read(buf, 0, (int) maximum);
+    }
+
+    private static int read(@Nonnull @WillNotClose Reader reader, @Nonnull char[] buf, @Nonnegative long maximum) throws IOException {
+        if (maximum >= buf.length) {
+            return reader.read(buf);
+        }
+        return reader.read(buf, 0, (int) maximum);
+    }
+
+    @FunctionalInterface
+    public interface CharsVisitor {
+        boolean visit(@Nonnull char[] buffer, @Nonnegative int length);
+    }
+
 }
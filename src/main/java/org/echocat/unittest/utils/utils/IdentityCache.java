@@ -0,0 +1,51 @@
+package org.echocat.unittest.utils.utils;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.function.Function;
+
+public final class IdentityCache<V> extends IdentityTable<IdentityCache.ValueEntry<V>> {
+
+    public IdentityCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IdentityCache(@Nonnegative int capacity) {
+        super(capacity);
+    }
+
+    @Nullable
+    public V get(@Nullable Object key) {
+        final ValueEntry<V> entry = find(key);
+        return entry != null ? entry.value : null;
+    }
+
+    public void put(@Nullable Object key, @Nonnull V value) {
+        store(key, new ValueEntry<>(key, value));
+    }
+
+    @Nonnull
+    public <K> V computeIfAbsent(@Nullable K key, @Nonnull Function<? super K, ? extends V> computer) {
+        final V cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+        final V value = computer.apply(key);
+        put(key, value);
+        return value;
+    }
+
+    static final class ValueEntry<V> extends IdentityTable.Entry {
+
+        @Nonnull
+        private final V value;
+
+        private ValueEntry(@Nullable Object key, @Nonnull V value) {
+            super(key);
+            this.value = value;
+        }
+
+    }
+
+}
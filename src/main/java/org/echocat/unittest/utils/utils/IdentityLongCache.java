@@ -0,0 +1,41 @@
+package org.echocat.unittest.utils.utils;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
+
+public final class IdentityLongCache extends IdentityTable<IdentityLongCache.LongEntry> {
+
+    public IdentityLongCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IdentityLongCache(@Nonnegative int capacity) {
+        super(capacity);
+    }
+
+    public long getOrDefault(@Nullable Object key, long defaultValue) {
+        final LongEntry entry = find(key);
+        return entry != null ? entry.value : defaultValue;
+    }
+
+    public void put(@Nullable Object key, long value) {
+        final LongEntry entry = find(key);
+        if (entry != null) {
+            entry.value = value;
+        } else {
+            store(key, new LongEntry(key, value));
+        }
+    }
+
+    static final class LongEntry extends IdentityTable.Entry {
+
+        private volatile long value;
+
+        private LongEntry(@Nullable Object key, long value) {
+            super(key);
+            this.value = value;
+        }
+
+    }
+
+}
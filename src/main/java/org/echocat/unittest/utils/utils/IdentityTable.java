@@ -0,0 +1,194 @@
+package org.echocat.unittest.utils.utils;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static java.lang.Integer.highestOneBit;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+abstract class IdentityTable<E extends IdentityTable.Entry> {
+
+    @Nonnegative
+    protected static final int DEFAULT_CAPACITY = 8;
+    @Nonnegative
+    private static final int MAXIMUM_PROBES = 4;
+
+    @Nonnull
+    private volatile AtomicReferenceArray<Object> entries;
+
+    @Nullable
+    private volatile E nullKeyEntry;
+
+    protected IdentityTable(@Nonnegative int capacity) {
+        entries = new AtomicReferenceArray<>(tableSizeFor(capacity));
+    }
+
+    @Nullable
+    protected E find(@Nullable Object key) {
+        if (key == null) {
+            return nullKeyEntry;
+        }
+        AtomicReferenceArray<Object> entries = this.entries;
+        while (true) {
+            final int mask = entries.length() - 1;
+            final int index = indexOf(key, mask);
+            boolean moved = false;
+            for (int probe = 0; probe < probes(mask); probe++) {
+                final Object candidate = entries.get((index + probe) & mask);
+                moved |= candidate instanceof Moved;
+                final E entry = entryOf(candidate);
+                if (entry != null && entry.get() == key) {
+                    return entry;
+                }
+            }
+            final AtomicReferenceArray<Object> current = this.entries;
+            if (!moved || current == entries) {
+                return null;
+            }
+            entries = current;
+        }
+    }
+
+    protected void store(@Nullable Object key, @Nonnull E entry) {
+        if (key == null) {
+            nullKeyEntry = entry;
+            return;
+        }
+        AtomicReferenceArray<Object> entries = this.entries;
+        int minimumSize = entries.length();
+        while (true) {
+            final Result result = tryStore(entries, key, entry);
+            if (result == Result.STORED) {
+                return;
+            }
+            resize(entries, minimumSize);
+            if (result == Result.FULL) {
+                minimumSize = max(minimumSize, entries.length()) * 2;
+            }
+            entries = this.entries;
+        }
+    }
+
+    @Nonnull
+    private Result tryStore(@Nonnull AtomicReferenceArray<Object> entries, @Nonnull Object key, @Nonnull E entry) {
+        final int mask = entries.length() - 1;
+        final int index = indexOf(key, mask);
+        while (true) {
+            int free = -1;
+            Object freeCandidate = null;
+            boolean conflict = false;
+            for (int probe = 0; probe < probes(mask) && !conflict; probe++) {
+                final int slot = (index + probe) & mask;
+                final Object candidate = entries.get(slot);
+                if (candidate instanceof Moved) {
+                    return Result.MOVED;
+                }
+                final E current = entryOf(candidate);
+                if (current != null && current.get() == key) {
+                    if (entries.compareAndSet(slot, candidate, entry)) {
+                        return Result.STORED;
+                    }
+                    conflict = true;
+                } else if (free < 0 && (current == null || current.get() == null)) {
+                    free = slot;
+                    freeCandidate = candidate;
+                }
+            }
+            if (!conflict) {
+                if (free < 0) {
+                    return Result.FULL;
+                }
+                if (entries.compareAndSet(free, freeCandidate, entry)) {
+                    return Result.STORED;
+                }
+            }
+        }
+    }
+
+    private synchronized void resize(@Nonnull AtomicReferenceArray<Object> expected, @Nonnegative int minimumSize) {
+        if (entries != expected) {
+            return;
+        }
+        int alive = 0;
+        for (int i = 0; i < expected.length(); i++) {
+            Object candidate;
+            do {
+                candidate = expected.get(i);
+            } while (!expected.compareAndSet(i, candidate, new Moved(candidate)));
+            final E entry = entryOf(candidate);
+            if (entry != null && entry.get() != null) {
+                alive++;
+            }
+        }
+        int size = max(tableSizeFor(alive * 2), minimumSize);
+        while (true) {
+            final AtomicReferenceArray<Object> result = new AtomicReferenceArray<>(size);
+            if (copyAliveEntries(expected, result)) {
+                entries = result;
+                return;
+            }
+            size *= 2;
+        }
+    }
+
+    private boolean copyAliveEntries(@Nonnull AtomicReferenceArray<Object> source, @Nonnull AtomicReferenceArray<Object> target) {
+        for (int i = 0; i < source.length(); i++) {
+            final E entry = entryOf(source.get(i));
+            final Object key = entry != null ? entry.get() : null;
+            if (key != null && tryStore(target, key, entry) != Result.STORED) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Nullable
+    private E entryOf(@Nullable Object candidate) {
+        final Object result = candidate instanceof Moved ? ((Moved) candidate).entry : candidate;
+        //noinspection unchecked
+        return (E) result;
+    }
+
+    private static int indexOf(@Nonnull Object key, int mask) {
+        final int hash = System.identityHashCode(key);
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private static int probes(int mask) {
+        return min(MAXIMUM_PROBES, mask + 1);
+    }
+
+    private static int tableSizeFor(@Nonnegative int capacity) {
+        return max(highestOneBit(max(capacity, 1) * 2 - 1), 1);
+    }
+
+    private enum Result {
+        STORED,
+        FULL,
+        MOVED
+    }
+
+    private static final class Moved {
+
+        @Nullable
+        private final Object entry;
+
+        private Moved(@Nullable Object entry) {
+            this.entry = entry;
+        }
+
+    }
+
+    protected static class Entry extends WeakReference<Object> {
+
+        protected Entry(@Nullable Object key) {
+            super(key);
+        }
+
+    }
+
+}
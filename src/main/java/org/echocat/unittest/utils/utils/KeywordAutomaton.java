@@ -0,0 +1,149 @@
+package org.echocat.unittest.utils.utils;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.*;
+
+import static java.util.Collections.unmodifiableList;
+
+public final class KeywordAutomaton {
+
+    @Nonnull
+    private static final char[] NO_CHARS = new char[0];
+    @Nonnull
+    private static final int[] NO_INTS = new int[0];
+
+    @Nonnull
+    private final List<String> keywords;
+    @Nonnull
+    private final char[][] edgeChars;
+    @Nonnull
+    private final int[][] edgeTargets;
+    @Nonnull
+    private final int[] failures;
+    @Nonnull
+    private final int[][] outputs;
+
+    public KeywordAutomaton(@Nonnull Iterable<? extends CharSequence> keywords) {
+        final List<String> plainKeywords = new ArrayList<>();
+        final List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        final List<List<Integer>> ownOutputs = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        ownOutputs.add(new ArrayList<>());
+        for (final CharSequence keyword : keywords) {
+            int state = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                final Character c = keyword.charAt(i);
+                final Integer next = trie.get(state).get(c);
+                if (next != null) {
+                    state = next;
+                } else {
+                    trie.get(state).put(c, trie.size());
+                    state = trie.size();
+                    trie.add(new TreeMap<>());
+                    ownOutputs.add(new ArrayList<>());
+                }
+            }
+            ownOutputs.get(state).add(plainKeywords.size());
+            plainKeywords.add(keyword.toString());
+        }
+        this.keywords = unmodifiableList(plainKeywords);
+        final int states = trie.size();
+        edgeChars = new char[states][];
+        edgeTargets = new int[states][];
+        for (int state = 0; state < states; state++) {
+            final TreeMap<Character, Integer> edges = trie.get(state);
+            edgeChars[state] = edges.isEmpty() ? NO_CHARS : new char[edges.size()];
+            edgeTargets[state] = edges.isEmpty() ? NO_INTS : new int[edges.size()];
+            int i = 0;
+            for (final Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                edgeChars[state][i] = edge.getKey();
+                edgeTargets[state][i] = edge.getValue();
+                i++;
+            }
+        }
+        failures = new int[states];
+        outputs = new int[states][];
+        outputs[0] = toArray(ownOutputs.get(0));
+        final Deque<Integer> queue = new ArrayDeque<>();
+        for (final int child : edgeTargets[0]) {
+            failures[child] = 0;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            final int state = queue.poll();
+            outputs[state] = merge(ownOutputs.get(state), outputs[failures[state]]);
+            for (int i = 0; i < edgeChars[state].length; i++) {
+                final int child = edgeTargets[state][i];
+                failures[child] = next(failures[state], edgeChars[state][i]);
+                queue.add(child);
+            }
+        }
+    }
+
+    @Nonnull
+    public List<String> keywords() {
+        return keywords;
+    }
+
+    @Nonnull
+    public BitSet find(@Nonnull CharSequence input, boolean stopOnFirst) {
+        final BitSet result = new BitSet(keywords.size());
+        if (collect(0, result, stopOnFirst)) {
+            return result;
+        }
+        int state = 0;
+        for (int i = 0; i < input.length(); i++) {
+            state = next(state, input.charAt(i));
+            if (collect(state, result, stopOnFirst)) {
+                return result;
+            }
+        }
+        return result;
+    }
+
+    private boolean collect(@Nonnegative int state, @Nonnull BitSet found, boolean stopOnFirst) {
+        final int[] output = outputs[state];
+        if (output.length == 0) {
+            return false;
+        }
+        for (final int keyword : output) {
+            found.set(keyword);
+        }
+        return stopOnFirst || found.cardinality() == keywords.size();
+    }
+
+    @Nonnegative
+    private int next(@Nonnegative int state, char c) {
+        int current = state;
+        while (true) {
+            final int index = Arrays.binarySearch(edgeChars[current], c);
+            if (index >= 0) {
+                return edgeTargets[current][index];
+            }
+            if (current == 0) {
+                return 0;
+            }
+            current = failures[current];
+        }
+    }
+
+    @Nonnull
+    private static int[] merge(@Nonnull List<Integer> own, @Nonnull int[] inherited) {
+        if (own.isEmpty()) {
+            return inherited;
+        }
+        final int[] result = new int[own.size() + inherited.length];
+        for (int i = 0; i < own.size(); i++) {
+            result[i] = own.get(i);
+        }
+        System.arraycopy(inherited, 0, result, own.size(), inherited.length);
+        return result;
+    }
+
+    @Nonnull
+    private static int[] toArray(@Nonnull List<Integer> input) {
+        return merge(input, NO_INTS);
+    }
+
+}
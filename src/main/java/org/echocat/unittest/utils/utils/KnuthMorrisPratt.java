@@ -0,0 +1,40 @@
+package org.echocat.unittest.utils.utils;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.Objects;
+
+public final class KnuthMorrisPratt {
+
+    @Nonnull
+    public static int[] failureFunctionOf(@Nonnull Object[] pattern) {
+        return failureFunctionOf(pattern.length, (i, j) -> Objects.equals(pattern[i], pattern[j]));
+    }
+
+    @Nonnull
+    public static int[] failureFunctionOf(@Nonnull CharSequence pattern) {
+        return failureFunctionOf(pattern.length(), (i, j) -> pattern.charAt(i) == pattern.charAt(j));
+    }
+
+    @Nonnull
+    private static int[] failureFunctionOf(@Nonnegative int length, @Nonnull PositionEquality equality) {
+        final int[] result = new int[length];
+        int matched = 0;
+        for (int i = 1; i < length; i++) {
+            while (matched > 0 && !equality.equal(i, matched)) {
+                matched = result[matched - 1];
+            }
+            if (equality.equal(i, matched)) {
+                matched++;
+            }
+            result[i] = matched;
+        }
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface PositionEquality {
+        boolean equal(@Nonnegative int i, @Nonnegative int j);
+    }
+
+}
@@ -0,0 +1,123 @@
+package org.echocat.unittest.utils.utils;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+public final class PatternCache {
+
+    @Nonnegative
+    private static final int DEFAULT_MAXIMUM_SIZE = 256;
+    @Nonnull
+    private static final PatternCache DEFAULT_INSTANCE = new PatternCache(DEFAULT_MAXIMUM_SIZE);
+
+    @Nonnull
+    public static PatternCache defaultPatternCache() {
+        return DEFAULT_INSTANCE;
+    }
+
+    @Nonnull
+    public static Pattern compile(@Nonnull String regex) {
+        return compile(regex, 0);
+    }
+
+    @Nonnull
+    public static Pattern compile(@Nonnull String regex, int flags) {
+        return defaultPatternCache().patternFor(regex, flags);
+    }
+
+    @Nonnegative
+    private final int maximumSize;
+    @Nonnull
+    private final Map<Key, Pattern> patterns;
+
+    public PatternCache(@Nonnegative int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("The maximum size have to be positive but was " + maximumSize + ".");
+        }
+        this.maximumSize = maximumSize;
+        patterns = new LeastRecentlyUsedMap<>(maximumSize);
+    }
+
+    @Nonnull
+    public Pattern patternFor(@Nonnull String regex, int flags) {
+        final Key key = new Key(regex, flags);
+        synchronized (patterns) {
+            final Pattern cached = patterns.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        final Pattern pattern = Pattern.compile(regex, flags);
+        synchronized (patterns) {
+            final Pattern concurrentlyCached = patterns.putIfAbsent(key, pattern);
+            return concurrentlyCached != null ? concurrentlyCached : pattern;
+        }
+    }
+
+    @Nonnegative
+    public int size() {
+        synchronized (patterns) {
+            return patterns.size();
+        }
+    }
+
+    @Nonnegative
+    public int maximumSize() {
+        return maximumSize;
+    }
+
+    private static final class LeastRecentlyUsedMap<K, V> extends LinkedHashMap<K, V> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Nonnegative
+        private final int maximumSize;
+
+        private LeastRecentlyUsedMap(@Nonnegative int maximumSize) {
+            super(16, 0.75f, true);
+            this.maximumSize = maximumSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(@Nullable Map.Entry<K, V> eldest) {
+            return size() > maximumSize;
+        }
+
+    }
+
+    private static final class Key {
+
+        @Nonnull
+        private final String regex;
+        private final int flags;
+
+        private Key(@Nonnull String regex, int flags) {
+            this.regex = regex;
+            this.flags = flags;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key that = (Key) o;
+            return flags == that.flags && regex.equals(that.regex);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(regex, flags);
+        }
+
+    }
+
+}
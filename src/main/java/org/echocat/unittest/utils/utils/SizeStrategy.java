@@ -0,0 +1,61 @@
+package org.echocat.unittest.utils.utils;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+import static java.lang.Math.min;
+
+@FunctionalInterface
+public interface SizeStrategy<T> {
+
+    @Nonnull
+    static <T> SizeStrategy<T> sizeStrategy(@Nonnull ToLongFunction<T> sizeOf, @Nonnull Predicate<T> isEmpty) {
+        return new SizeStrategy<T>() {
+            @Override
+            public long sizeOf(@Nonnull T what) {
+                return sizeOf.applyAsLong(what);
+            }
+
+            @Override
+            public boolean isEmpty(@Nonnull T what) {
+                return isEmpty.test(what);
+            }
+        };
+    }
+
+    @Nonnull
+    static <T> SizeStrategy<T> boundedSizeStrategy(@Nonnull BoundedSizeOf<T> sizeOfAtMost) {
+        return new SizeStrategy<T>() {
+            @Override
+            public long sizeOf(@Nonnull T what) {
+                return sizeOfAtMost.sizeOfAtMost(what, Long.MAX_VALUE);
+            }
+
+            @Override
+            public long sizeOfAtMost(@Nonnull T what, @Nonnegative long limit) {
+                return sizeOfAtMost.sizeOfAtMost(what, limit);
+            }
+        };
+    }
+
+    @Nonnegative
+    long sizeOf(@Nonnull T what);
+
+    @Nonnegative
+    default long sizeOfAtMost(@Nonnull T what, @Nonnegative long limit) {
+        return min(sizeOf(what), limit);
+    }
+
+    default boolean isEmpty(@Nonnull T what) {
+        return sizeOfAtMost(what, 1) == 0;
+    }
+
+    @FunctionalInterface
+    interface BoundedSizeOf<T> {
+        @Nonnegative
+        long sizeOfAtMost(@Nonnull T what, @Nonnegative long limit);
+    }
+
+}
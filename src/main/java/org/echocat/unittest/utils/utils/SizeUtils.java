@@ -4,95 +4,152 @@ import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.*;
-import java.net.MalformedURLException;
-import java.net.URI;
-import java.net.URL;
+import java.net.*;
+import java.nio.file.FileSystemNotFoundException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.jar.JarEntry;
 import java.util.stream.Stream;
 
-import static org.echocat.unittest.utils.utils.IOUtils.BUFFER_SIZE;
+import static java.lang.Math.min;
+import static java.nio.file.Files.isRegularFile;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.requireNonNull;
+import static org.echocat.unittest.utils.utils.IOUtils.skipAtMost;
+import static org.echocat.unittest.utils.utils.SizeStrategy.boundedSizeStrategy;
+import static org.echocat.unittest.utils.utils.SizeStrategy.sizeStrategy;
 
 public final class SizeUtils {
 
+    @Nonnull
+    private static final List<Registration<?>> DEFAULT_REGISTRATIONS = unmodifiableList(asList(
+        new Registration<>(Stream.class, boundedSizeStrategy(SizeUtils::sizeOfAtMost)),
+        new Registration<>(Path.class, SizeUtils::sizeOf),
+        new Registration<>(Collection.class, sizeStrategy(Collection::size, Collection::isEmpty)),
+        new Registration<>(Iterable.class, boundedSizeStrategy((iterable, limit) -> sizeOfAtMost(iterable.iterator(), limit))),
+        new Registration<>(Iterator.class, boundedSizeStrategy(SizeUtils::sizeOfAtMost)),
+        new Registration<>(Map.class, sizeStrategy(Map::size, Map::isEmpty)),
+        new Registration<>(Object[].class, array -> array.length),
+        new Registration<>(boolean[].class, array -> array.length),
+        new Registration<>(byte[].class, array -> array.length),
+        new Registration<>(char[].class, array -> array.length),
+        new Registration<>(short[].class, array -> array.length),
+        new Registration<>(int[].class, array -> array.length),
+        new Registration<>(long[].class, array -> array.length),
+        new Registration<>(float[].class, array -> array.length),
+        new Registration<>(double[].class, array -> array.length),
+        new Registration<>(CharSequence.class, CharSequence::length),
+        new Registration<>(File.class, file -> sizeOf(file.toPath())),
+        new Registration<>(InputStream.class, boundedSizeStrategy(SizeUtils::sizeOfAtMost)),
+        new Registration<>(Reader.class, boundedSizeStrategy(SizeUtils::sizeOfAtMost)),
+        new Registration<>(URL.class, boundedSizeStrategy(SizeUtils::sizeOfAtMost)),
+        new Registration<>(URI.class, boundedSizeStrategy(SizeUtils::sizeOfAtMost))
+    ));
+
+    @Nonnull
+    private static final List<ContentLengthResolver> CONTENT_LENGTH_RESOLVERS = unmodifiableList(asList(
+        SizeUtils::contentLengthOfFile,
+        SizeUtils::contentLengthOfJarEntry,
+        SizeUtils::contentLengthOfHttpResource
+    ));
+
+    @Nonnull
+    private static final Object REGISTRATIONS_LOCK = new Object();
+    @Nonnull
+    private static volatile List<Registration<?>> customRegistrations = emptyList();
+    @Nonnull
+    private static volatile ClassValue<SizeStrategy<Object>> typeToStrategy = newTypeToStrategy();
+
     @Nonnegative
     public static long sizeOf(@Nullable Object what) {
         if (what == null) {
             return 0;
         }
-        if (what instanceof Stream) {
-            return ((Stream<?>) what).count();
-        }
-        if (what instanceof Path) {
-            return sizeOf((Path) what);
-        }
-        if (what instanceof Collection) {
-            return ((Collection<?>) what).size();
-        }
-        if (what instanceof Iterable) {
-            return sizeOf(((Iterable<?>) what).iterator());
-        }
-        if (what instanceof Iterator) {
-            return sizeOf((Iterator<?>) what);
-        }
-        if (what instanceof Map) {
-            return ((Map<?, ?>) what).size();
-        }
-        if (what instanceof Object[]) {
-            return ((Object[]) what).length;
-        }
-        if (what instanceof boolean[]) {
-            return ((boolean[]) what).length;
-        }
-        if (what instanceof byte[]) {
-            return ((byte[]) what).length;
-        }
-        if (what instanceof char[]) {
-            return ((char[]) what).length;
-        }
-        if (what instanceof short[]) {
-            return ((short[]) what).length;
-        }
-        if (what instanceof int[]) {
-            return ((int[]) what).length;
-        }
-        if (what instanceof long[]) {
-            return ((long[]) what).length;
-        }
-        if (what instanceof float[]) {
-            return ((float[]) what).length;
-        }
-        if (what instanceof double[]) {
-            return ((double[]) what).length;
-        }
-        if (what instanceof CharSequence) {
-            return ((CharSequence) what).length();
-        }
-        if (what instanceof File) {
-            return sizeOf(((File) what).toPath());
+        return sizeStrategyFor(what.getClass()).sizeOf(what);
+    }
+
+    @Nonnegative
+    public static long sizeOfAtMost(@Nullable Object what, @Nonnegative long limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("The limit have to be positive but was " + limit + ".");
         }
-        if (what instanceof InputStream) {
-            return sizeOf((InputStream) what);
+        if (what == null) {
+            return 0;
         }
-        if (what instanceof Reader) {
-            return sizeOf((Reader) what);
+        return sizeStrategyFor(what.getClass()).sizeOfAtMost(what, limit);
+    }
+
+    public static int compareSize(@Nullable Object what, @Nonnegative long expectedSize) {
+        final long limit = expectedSize < Long.MAX_VALUE ? expectedSize + 1 : expectedSize;
+        return Long.compare(sizeOfAtMost(what, limit), expectedSize);
+    }
+
+    public static <T> void registerSizeStrategy(@Nonnull Class<T> type, @Nonnull SizeStrategy<? super T> strategy) {
+        requireNonNull(type, "No type provided.");
+        requireNonNull(strategy, "No strategy provided.");
+        synchronized (REGISTRATIONS_LOCK) {
+            final List<Registration<?>> registrations = new ArrayList<>(customRegistrations.size() + 1);
+            registrations.add(new Registration<>(type, strategy));
+            customRegistrations.stream()
+                .filter(candidate -> !candidate.type().equals(type))
+                .forEach(registrations::add);
+            customRegistrations = unmodifiableList(registrations);
+            typeToStrategy = newTypeToStrategy();
         }
-        if (what instanceof URL) {
-            return sizeOf((URL) what);
+    }
+
+    public static void unregisterSizeStrategy(@Nonnull Class<?> type) {
+        synchronized (REGISTRATIONS_LOCK) {
+            final List<Registration<?>> registrations = new ArrayList<>(customRegistrations);
+            if (registrations.removeIf(candidate -> candidate.type().equals(type))) {
+                customRegistrations = unmodifiableList(registrations);
+                typeToStrategy = newTypeToStrategy();
+            }
         }
-        if (what instanceof URI) {
-            return sizeOf((URI) what);
+    }
+
+    @Nonnull
+    public static SizeStrategy<Object> sizeStrategyFor(@Nonnull Class<?> type) {
+        return typeToStrategy.get(type);
+    }
+
+    @Nonnull
+    private static ClassValue<SizeStrategy<Object>> newTypeToStrategy() {
+        final List<Registration<?>> registrations = customRegistrations;
+        return new ClassValue<SizeStrategy<Object>>() {
+            @Override
+            protected SizeStrategy<Object> computeValue(Class<?> type) {
+                return Stream.concat(registrations.stream(), DEFAULT_REGISTRATIONS.stream())
+                    .filter(candidate -> candidate.type().isAssignableFrom(type))
+                    .findFirst()
+                    .map(Registration::<Object>strategy)
+                    .orElseGet(() -> what -> {
+                        throw new IllegalArgumentException("Could not get size of " + type.getName() + ".");
+                    });
+            }
+        };
+    }
+
+    @Nonnegative
+    private static long sizeOfAtMost(@Nonnull Stream<?> stream, @Nonnegative long limit) {
+        if (limit == Long.MAX_VALUE) {
+            return stream.count();
         }
-        throw new IllegalArgumentException("Could not get size of " + what.getClass().getName() + ".");
+        return stream.limit(limit).count();
     }
 
     @Nonnegative
-    private static long sizeOf(@Nonnull Iterator<?> iterator) {
+    private static long sizeOfAtMost(@Nonnull Iterator<?> iterator, @Nonnegative long limit) {
         long result = 0;
-        while (iterator.hasNext()) {
+        while (result < limit && iterator.hasNext()) {
             iterator.next();
             result++;
         }
@@ -109,48 +166,121 @@ public final class SizeUtils {
     }
 
     @Nonnegative
-    private static long sizeOf(@Nonnull InputStream is) {
-        long nread = 0L;
-        final byte[] buf = new byte[BUFFER_SIZE];
-        int n;
+    private static long sizeOfAtMost(@Nonnull InputStream is, @Nonnegative long limit) {
         try {
-            while ((n = is.read(buf)) > 0) {
-                nread += n;
-            }
+            return skipAtMost(is, limit);
         } catch (final IOException e) {
             throw new UncheckedIOException(e);
         }
-        return nread;
     }
 
     @Nonnegative
-    private static long sizeOf(@Nonnull Reader reader) {
-        long nread = 0L;
-        final char[] buf = new char[BUFFER_SIZE];
-        int n;
+    private static long sizeOfAtMost(@Nonnull Reader reader, @Nonnegative long limit) {
         try {
-            while ((n = reader.read(buf)) > 0) {
-                nread += n;
-            }
+            return skipAtMost(reader, limit);
         } catch (final IOException e) {
             throw new UncheckedIOException(e);
         }
-        return nread;
     }
 
     @Nonnegative
-    private static long sizeOf(@Nonnull URL url) {
-        try (final InputStream is = url.openStream()) {
-            return sizeOf(is);
+    private static long sizeOfAtMost(@Nonnull URL url, @Nonnegative long limit) {
+        try {
+            final long contentLength = contentLengthOf(url);
+            if (contentLength >= 0) {
+                return min(contentLength, limit);
+            }
+            try (final InputStream is = url.openStream()) {
+                return skipAtMost(is, limit);
+            }
         } catch (final IOException e) {
             throw new UncheckedIOException(e);
         }
     }
 
+    private static long contentLengthOf(@Nonnull URL url) throws IOException {
+        for (final ContentLengthResolver resolver : CONTENT_LENGTH_RESOLVERS) {
+            final long contentLength = resolver.contentLengthOf(url);
+            if (contentLength >= 0) {
+                return contentLength;
+            }
+        }
+        return -1;
+    }
+
+    private static long contentLengthOfFile(@Nonnull URL url) throws IOException {
+        if (!"file".equalsIgnoreCase(url.getProtocol())) {
+            return -1;
+        }
+        final Path path;
+        try {
+            path = Paths.get(url.toURI());
+        } catch (final URISyntaxException | IllegalArgumentException | FileSystemNotFoundException ignored) {
+            return -1;
+        }
+        return isRegularFile(path) ? Files.size(path) : -1;
+    }
+
+    private static long contentLengthOfJarEntry(@Nonnull URL url) throws IOException {
+        if (!"jar".equalsIgnoreCase(url.getProtocol())) {
+            return -1;
+        }
+        final URLConnection connection = url.openConnection();
+        // Only with enabled caches the JarFile (and its index) will be shared between calls and not leak
+        if (!(connection instanceof JarURLConnection) || !connection.getUseCaches()) {
+            return -1;
+        }
+        final JarEntry entry = ((JarURLConnection) connection).getJarEntry();
+        return entry != null ? entry.getSize() : -1;
+    }
+
+    private static long contentLengthOfHttpResource(@Nonnull URL url) throws IOException {
+        if (!"http".equalsIgnoreCase(url.getProtocol()) && !"https".equalsIgnoreCase(url.getProtocol())) {
+            return -1;
+        }
+        final URLConnection connection = url.openConnection();
+        if (!(connection instanceof HttpURLConnection)) {
+            return -1;
+        }
+        final HttpURLConnection httpConnection = (HttpURLConnection) connection;
+        try {
+            httpConnection.setRequestMethod("HEAD");
+            final int responseCode = httpConnection.getResponseCode();
+            if (responseCode < 200 || responseCode >= 300) {
+                return -1;
+            }
+            return httpConnection.getContentLengthLong();
+        } finally {
+            release(httpConnection);
+        }
+    }
+
+    private static void release(@Nonnull HttpURLConnection connection) {
+        try {
+            final InputStream errorStream = connection.getErrorStream();
+            if (errorStream != null) {
+                drain(errorStream);
+            } else {
+                final int responseCode = connection.getResponseCode();
+                if (responseCode >= 200 && responseCode < 300) {
+                    drain(connection.getInputStream());
+                }
+            }
+        } catch (final IOException ignored) {
+            connection.disconnect();
+        }
+    }
+
+    private static void drain(@Nonnull InputStream what) throws IOException {
+        try (final InputStream is = what) {
+            skipAtMost(is, Long.MAX_VALUE);
+        }
+    }
+
     @Nonnegative
-    private static long sizeOf(@Nonnull URI uri) {
+    private static long sizeOfAtMost(@Nonnull URI uri, @Nonnegative long limit) {
         try {
-            return sizeOf(uri.toURL());
+            return sizeOfAtMost(uri.toURL(), limit);
         } catch (final MalformedURLException e) {
             throw new UncheckedIOException(e);
         }
@@ -164,33 +294,37 @@ public final class SizeUtils {
         if (what == null) {
             return true;
         }
-        if (what instanceof Stream) {
-            return ((Stream<?>) what).count() == 0;
-        }
-        if (what instanceof Path) {
-            return sizeOf((Path) what) == 0;
-        }
-        if (what instanceof Collection) {
-            return ((Collection<?>) what).isEmpty();
-        }
-        if (what instanceof Iterable) {
-            return isEmpty(((Iterable<?>) what).iterator());
-        }
-        if (what instanceof Iterator) {
-            return isEmpty((Iterator<?>) what);
+        return sizeStrategyFor(what.getClass()).isEmpty(what);
+    }
+
+    @FunctionalInterface
+    private interface ContentLengthResolver {
+        long contentLengthOf(@Nonnull URL url) throws IOException;
+    }
+
+    private static final class Registration<T> {
+
+        @Nonnull
+        private final Class<T> type;
+        @Nonnull
+        private final SizeStrategy<? super T> strategy;
+
+        private Registration(@Nonnull Class<T> type, @Nonnull SizeStrategy<? super T> strategy) {
+            this.type = type;
+            this.strategy = strategy;
         }
-        if (what instanceof Map) {
-            return ((Map<?, ?>) what).isEmpty();
+
+        @Nonnull
+        private Class<T> type() {
+            return type;
         }
-        if (what instanceof File) {
-            return sizeOf(((File) what).toPath()) == 0;
+
+        @Nonnull
+        private <R> SizeStrategy<R> strategy() {
+            //noinspection unchecked
+            return (SizeStrategy<R>) strategy;
         }
-        return sizeOf(what) == 0;
-    }
 
-    @Nonnegative
-    private static boolean isEmpty(@Nonnull Iterator<?> iterator) {
-        return !iterator.hasNext();
     }
 
 }
@@ -0,0 +1,93 @@
+package org.echocat.unittest.utils.utils;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import static org.echocat.unittest.utils.utils.CharSequenceUtils.fold;
+
+public final class SubstringSearch {
+
+    @Nonnegative
+    private static final int SHIFT_TABLE_SIZE = 256;
+    @Nonnegative
+    private static final int MINIMUM_LENGTH_FOR_SHIFT_TABLE = 4;
+
+    @Nonnull
+    private final char[] pattern;
+    private final boolean ignoreCase;
+    @Nullable
+    private final int[] shifts;
+
+    public SubstringSearch(@Nonnull CharSequence what, boolean ignoreCase) {
+        final int m = what.length();
+        this.ignoreCase = ignoreCase;
+        pattern = new char[m];
+        for (int i = 0; i < m; i++) {
+            pattern[i] = fold(what.charAt(i), ignoreCase);
+        }
+        shifts = m >= MINIMUM_LENGTH_FOR_SHIFT_TABLE ? shiftTableOf(pattern) : null;
+    }
+
+    public boolean isContainedIn(@Nonnull CharSequence actual) {
+        return indexIn(actual) >= 0;
+    }
+
+    public int indexIn(@Nonnull CharSequence actual) {
+        final int m = pattern.length;
+        final int n = actual.length();
+        if (m == 0) {
+            return 0;
+        }
+        if (m > n) {
+            return -1;
+        }
+        final int[] shifts = this.shifts;
+        if (shifts == null) {
+            for (int i = 0; i <= n - m; i++) {
+                if (regionMatches(actual, i, m)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        final char last = pattern[m - 1];
+        int i = 0;
+        while (i <= n - m) {
+            final char c = fold(actual.charAt(i + m - 1), ignoreCase);
+            if (c == last && regionMatches(actual, i, m - 1)) {
+                return i;
+            }
+            i += shifts[c & (SHIFT_TABLE_SIZE - 1)];
+        }
+        return -1;
+    }
+
+    private boolean regionMatches(@Nonnull CharSequence actual, @Nonnegative int offset, @Nonnegative int length) {
+        for (int i = 0; i < length; i++) {
+            if (fold(actual.charAt(offset + i), ignoreCase) != pattern[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Nonnull
+    private static int[] shiftTableOf(@Nonnull char[] pattern) {
+        final int m = pattern.length;
+        final int[] result = new int[SHIFT_TABLE_SIZE];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = m;
+        }
+        for (int i = 0; i < m - 1; i++) {
+            result[pattern[i] & (SHIFT_TABLE_SIZE - 1)] = m - 1 - i;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return new String(pattern);
+    }
+
+}
@@ -1,5 +1,6 @@
 package org.echocat.unittest.utils.matchers;
 
+import org.echocat.unittest.utils.matchers.CombinedMappingMatcher.MismatchRecorder;
 import org.echocat.unittest.utils.matchers.CombinedMappingMatcher.StreamMatcher;
 import org.echocat.unittest.utils.utils.StreamUtils;
 import org.hamcrest.Description;
@@ -9,13 +10,18 @@ import org.junit.Test;
 import javax.annotation.Nonnull;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
 import static org.echocat.unittest.utils.TestUtils.givenDescription;
+import static org.echocat.unittest.utils.matchers.CombinedMappingMatcher.MAXIMUM_MISMATCHES_TO_REPORT;
+import static org.echocat.unittest.utils.matchers.CombinedMappingMatcher.REORDER_INTERVAL;
 import static org.echocat.unittest.utils.matchers.CombinedMappingMatcher.collectMatchers;
 import static org.echocat.unittest.utils.matchers.CompareTo.isGreaterThanOrEqualTo;
 import static org.echocat.unittest.utils.matchers.CompareTo.isLessThanOrEqualTo;
@@ -159,6 +165,114 @@ public class CombinedMappingMatcherUnitTest {
             "          [...]"));
     }
 
+    @Test
+    public void describeMismatchReusesEvaluationOfMatchesForOneShotStreams() throws Exception {
+        final Description description = givenDescription();
+        final CombinedMappingMatcher<Stream<Integer>, Integer> instance = new CombinedMappingMatcher<>(StreamUtils::toStream, MATCHERS, ContainsAtLeastOneElementThat.streamMatcherInstance(), "at least one");
+        final Stream<Integer> stream = Stream.of(-1, 11, -2);
+
+        assertThat(instance.matches(stream), equalTo(false));
+        instance.describeMismatch((Object) stream, description);
+
+        assertThat(description.toString(), equalTo("for <-1> is greater than or equal to <0> was <-1>\n" +
+            "          for <11> is less than or equal to <10> was <11>\n" +
+            "          for <-2> is greater than or equal to <0> was <-2>"));
+    }
+
+    @Test
+    public void describeMismatchReusesEvaluationOfMatchesPerItem() throws Exception {
+        final CombinedMappingMatcher<Stream<Integer>, Integer> instance = new CombinedMappingMatcher<>(StreamUtils::toStream, MATCHERS, ContainsAtLeastOneElementThat.streamMatcherInstance(), "at least one");
+        final List<Stream<Integer>> streams = range(0, 16).mapToObj(i -> Stream.of(-i - 1, 11 + i)).collect(toList());
+
+        assertThat(streams.parallelStream().anyMatch(instance::matches), equalTo(false));
+
+        for (int i = 0; i < streams.size(); i++) {
+            final Description description = givenDescription();
+            instance.describeMismatch((Object) streams.get(i), description);
+            assertThat(description.toString(), equalTo("for <" + (-i - 1) + "> is greater than or equal to <0> was <" + (-i - 1) + ">\n" +
+                "          for <" + (11 + i) + "> is less than or equal to <10> was <" + (11 + i) + ">"));
+        }
+    }
+
+    @Test
+    public void describeMismatchReevaluatesOnlyRecordedMismatches() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final Matcher<Integer> countingMatcher = new IsEqualTo<Integer>(0) {
+            @Override
+            public boolean matches(Object item) {
+                calls.incrementAndGet();
+                return super.matches(item);
+            }
+        };
+        final CombinedMappingMatcher<Iterable<Integer>, Integer> instance = new CombinedMappingMatcher<>(MAPPER, singletonList(countingMatcher), ContainsAtLeastOneElementThat.streamMatcherInstance(), "at least one");
+        final List<Integer> items = range(1, 1000).boxed().collect(toList());
+
+        assertThat(instance.matches(items), equalTo(false));
+        assertThat(calls.get(), equalTo(999));
+        instance.describeMismatch(items, givenDescription());
+        assertThat(calls.get(), equalTo(999 + 10));
+    }
+
+    @Test
+    public void mismatchRecorderRecordsEveryElementOnce() throws Exception {
+        final MismatchRecorder<Integer> recorder = new MismatchRecorder<>();
+        final Integer first = 1;
+        final Integer second = 2;
+
+        recorder.recordMismatch(first, 0);
+        recorder.recordMismatch(first, 1);
+        recorder.recordMismatch(second, 1);
+        recorder.recordMismatch(second, 0);
+        recorder.recordMismatch(second, 1);
+
+        assertThat(recorder.mismatches(), equalTo(asList(1, 2, 2)));
+    }
+
+    @Test
+    public void mismatchRecorderStopsAfterMaximumMismatchesToReport() throws Exception {
+        final MismatchRecorder<Integer> recorder = new MismatchRecorder<>();
+
+        range(0, 100).forEach(i -> recorder.recordMismatch(i, 0));
+
+        assertThat(recorder.mismatches(), equalTo(range(0, MAXIMUM_MISMATCHES_TO_REPORT + 1).boxed().collect(toList())));
+    }
+
+    @Test
+    public void adaptiveOrderingMovesSelectiveMatchersFirst() throws Exception {
+        final CombinedMappingMatcher<Iterable<Integer>, Integer> instance = new CombinedMappingMatcher<>(MAPPER, asList(isGreaterThanOrEqualTo(0), isLessThanOrEqualTo(10)), ContainsAtLeastOneElementThat.streamMatcherInstance(), "at least one", true);
+        final List<Integer> items = range(0, REORDER_INTERVAL * 2).map(i -> 100 + i).boxed().collect(toList());
+
+        assertThat(instance.adaptiveOrdering(), equalTo(true));
+        assertThat(instance.adaptiveOrder().order(), equalTo(new int[]{0, 1}));
+        assertThat(instance.matches(items), equalTo(false));
+        assertThat(instance.adaptiveOrder().order(), equalTo(new int[]{1, 0}));
+        assertThat(instance.matches(asList(100, 5)), equalTo(true));
+    }
+
+    @Test
+    public void adaptiveOrderingKeepsOriginalOrderInDescriptions() throws Exception {
+        final CombinedMappingMatcher<Iterable<Integer>, Integer> instance = new CombinedMappingMatcher<>(MAPPER, MATCHERS, ContainsAtLeastOneElementThat.streamMatcherInstance(), "first item", true);
+        final List<Integer> items = range(0, REORDER_INTERVAL * 2).map(i -> 100 + i).boxed().collect(toList());
+        final Description description = givenDescription();
+        final Description mismatch = givenDescription();
+
+        assertThat(instance.matches(items), equalTo(false));
+        instance.describeTo(description);
+        instance.describeMismatch(asList(-1), mismatch);
+
+        assertThat(description.toString(), equalTo("first item is greater than or equal to <0>\n" +
+            "              and is less than or equal to <10>"));
+        assertThat(mismatch.toString(), equalTo("for <-1> is greater than or equal to <0> was <-1>"));
+    }
+
+    @Test
+    public void notAdaptiveByDefault() throws Exception {
+        final CombinedMappingMatcher<Iterable<Integer>, Integer> instance = givenInstance();
+
+        assertThat(instance.adaptiveOrdering(), equalTo(false));
+        assertThat(instance.adaptiveOrder(), equalTo(null));
+    }
+
     @Test
     public void describeToFor2MatchersAndOneFails() throws Exception {
         final Description description = givenDescription();
@@ -1,15 +1,20 @@
 package org.echocat.unittest.utils.matchers;
 
 import org.echocat.unittest.utils.utils.StreamUtils;
+import org.hamcrest.Description;
 import org.hamcrest.Matcher;
 import org.junit.Test;
 
 import javax.annotation.Nonnull;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.singleton;
+import static org.echocat.unittest.utils.TestUtils.givenDescription;
 import static org.echocat.unittest.utils.matchers.ContainsAtLeastOneElementThat.matches;
 import static org.echocat.unittest.utils.matchers.ContainsAtLeastOneElementThat.streamMatcherInstance;
 import static org.echocat.unittest.utils.matchers.IsEqualTo.isEqualTo;
@@ -33,6 +38,18 @@ public class ContainsAtLeastOneElementThatUnitTest {
         assertThat(instance.streamMatcher(), sameInstance(streamMatcherInstance()));
     }
 
+    @Test
+    public void withAdaptiveOrdering() throws Exception {
+        final Set<Matcher<Integer>> matchers = givenMatchers();
+        final ContainsAtLeastOneElementThat<Iterable<Integer>, Integer> instance = new ContainsAtLeastOneElementThat<>(MAPPER, matchers).withAdaptiveOrdering();
+
+        assertThat(instance.description(), equalTo(new ContainsAtLeastOneElementThat<>(MAPPER, matchers).description()));
+        assertThat(instance.mapper(), sameInstance(MAPPER));
+        assertThat(instance.matchers(), sameInstance(matchers));
+        assertThat(instance.streamMatcher(), sameInstance(streamMatcherInstance()));
+        assertThat(instance.adaptiveOrdering(), equalTo(true));
+    }
+
     @Test
     public void matchesWorks() throws Exception {
         final Set<Matcher<Integer>> matchers = givenMatchers();
@@ -47,6 +64,42 @@ public class ContainsAtLeastOneElementThatUnitTest {
         assertThat(matches(matchers, Stream.of(1)), equalTo(false));
     }
 
+    @Test
+    public void matchesStopsOnFirstMatchingElement() throws Exception {
+        final Set<Matcher<Integer>> matchers = givenMatchers();
+
+        assertThat(matches(matchers, Stream.iterate(5, i -> i - 1)), equalTo(true));
+    }
+
+    @Test
+    public void matchesStopsOnFirstMismatchingMatcher() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final List<Matcher<Integer>> matchers = asList(isEqualTo(0), new IsEqualTo<Integer>(0) {
+            @Override
+            public boolean matches(Object item) {
+                calls.incrementAndGet();
+                return super.matches(item);
+            }
+        });
+
+        assertThat(matches(matchers, Stream.of(1, 2, 0, 3)), equalTo(true));
+        assertThat(calls.get(), equalTo(1));
+    }
+
+    @Test
+    public void describeMismatchReportsAllMismatchingElementsOfOneShotStreams() throws Exception {
+        final ContainsAtLeastOneElementThat<Stream<Integer>, Integer> instance = new ContainsAtLeastOneElementThat<>(StreamUtils::toStream, givenMatchers());
+        final Stream<Integer> stream = Stream.of(1, 2, 3);
+        final Description description = givenDescription();
+
+        assertThat(instance.matches(stream), equalTo(false));
+        instance.describeMismatch((Object) stream, description);
+
+        assertThat(description.toString(), equalTo("for <1> is equal to <0> was <1>\n" +
+            "          for <2> is equal to <0> was <2>\n" +
+            "          for <3> is equal to <0> was <3>"));
+    }
+
     @Nonnull
     protected static Set<Matcher<Integer>> givenMatchers() {
         return singleton(isEqualTo(0));
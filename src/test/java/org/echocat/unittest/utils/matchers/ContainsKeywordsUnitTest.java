@@ -0,0 +1,93 @@
+package org.echocat.unittest.utils.matchers;
+
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+
+import static java.util.Arrays.asList;
+import static org.echocat.unittest.utils.TestUtils.givenDescription;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class ContainsKeywordsUnitTest {
+
+    @Test
+    public void constructor() throws Exception {
+        final ContainsKeywords<String> instance = givenContainsAllInstance();
+
+        assertThat(instance.keywords(), equalTo(asList("foo", "bar", "baz")));
+        assertThat(instance.all(), equalTo(true));
+    }
+
+    @Test
+    public void matchesAll() throws Exception {
+        final Matcher<String> instance = givenContainsAllInstance();
+
+        assertThat(instance.matches("foo, bar and baz"), equalTo(true));
+        assertThat(instance.matches(new StringBuilder("bazbarfoo")), equalTo(true));
+        assertThat(instance.matches("foo and bar"), equalTo(false));
+        assertThat(instance.matches(666), equalTo(false));
+        assertThat(instance.matches(null), equalTo(false));
+    }
+
+    @Test
+    public void matchesAny() throws Exception {
+        final Matcher<String> instance = givenContainsAnyInstance();
+
+        assertThat(instance.matches("only bar"), equalTo(true));
+        assertThat(instance.matches("nothing"), equalTo(false));
+        assertThat(instance.matches(666), equalTo(false));
+    }
+
+    @Test
+    public void describeTo() throws Exception {
+        final Description all = givenDescription();
+        final Description any = givenDescription();
+
+        givenContainsAllInstance().describeTo(all);
+        givenContainsAnyInstance().describeTo(any);
+
+        assertThat(all.toString(), equalTo("contains all of [\"foo\", \"bar\", \"baz\"]"));
+        assertThat(any.toString(), equalTo("contains any of [\"foo\", \"bar\", \"baz\"]"));
+    }
+
+    @Test
+    public void describeMismatchListsMissingKeywords() throws Exception {
+        final Description description = givenDescription();
+
+        givenContainsAllInstance().describeMismatch("only bar", description);
+
+        assertThat(description.toString(), equalTo("was missing [\"foo\", \"baz\"]"));
+    }
+
+    @Test
+    public void describeMismatchForAny() throws Exception {
+        final Description description = givenDescription();
+
+        givenContainsAnyInstance().describeMismatch("nothing", description);
+
+        assertThat(description.toString(), equalTo("contained none of them"));
+    }
+
+    @Test
+    public void describeMismatchOfOtherType() throws Exception {
+        final Description description = givenDescription();
+
+        givenContainsAllInstance().describeMismatch(666, description);
+
+        assertThat(description.toString(), equalTo("was <666>"));
+    }
+
+    @Nonnull
+    protected static ContainsKeywords<String> givenContainsAllInstance() {
+        return new ContainsKeywords<>(asList("foo", "bar", "baz"), true);
+    }
+
+    @Nonnull
+    protected static ContainsKeywords<String> givenContainsAnyInstance() {
+        return new ContainsKeywords<>(asList("foo", "bar", "baz"), false);
+    }
+
+}
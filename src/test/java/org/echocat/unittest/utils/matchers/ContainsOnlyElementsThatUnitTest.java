@@ -1,15 +1,22 @@
 package org.echocat.unittest.utils.matchers;
 
 import org.echocat.unittest.utils.utils.StreamUtils;
+import org.hamcrest.Description;
 import org.hamcrest.Matcher;
 import org.junit.Test;
 
 import javax.annotation.Nonnull;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
 import static java.util.Collections.singleton;
+import static java.util.stream.IntStream.range;
+import static org.echocat.unittest.utils.TestUtils.givenDescription;
+import static org.echocat.unittest.utils.matchers.CombinedMappingMatcher.MAXIMUM_MISMATCHES_TO_REPORT;
+import static org.echocat.unittest.utils.matchers.ContainsOnlyElementsThat.matchesInParallel;
+import static org.echocat.unittest.utils.matchers.ContainsOnlyElementsThat.parallelStreamMatcherInstance;
 import static org.echocat.unittest.utils.matchers.ContainsOnlyElementsThat.matches;
 import static org.echocat.unittest.utils.matchers.ContainsOnlyElementsThat.streamMatcherInstance;
 import static org.echocat.unittest.utils.matchers.IsEqualTo.isEqualTo;
@@ -33,6 +40,26 @@ public class ContainsOnlyElementsThatUnitTest {
         assertThat(instance.streamMatcher(), sameInstance(streamMatcherInstance()));
     }
 
+    @Test
+    public void withAdaptiveOrdering() throws Exception {
+        final Set<Matcher<Integer>> matchers = givenMatchers();
+        final ContainsOnlyElementsThat<Iterable<Integer>, Integer> instance = new ContainsOnlyElementsThat<>(MAPPER, matchers).withAdaptiveOrdering();
+
+        assertThat(instance.description(), equalTo(new ContainsOnlyElementsThat<>(MAPPER, matchers).description()));
+        assertThat(instance.mapper(), sameInstance(MAPPER));
+        assertThat(instance.matchers(), sameInstance(matchers));
+        assertThat(instance.streamMatcher(), sameInstance(streamMatcherInstance()));
+        assertThat(instance.adaptiveOrdering(), equalTo(true));
+    }
+
+    @Test
+    public void inParallelKeepsAdaptiveOrdering() throws Exception {
+        final ContainsOnlyElementsThat<Iterable<Integer>, Integer> instance = new ContainsOnlyElementsThat<>(MAPPER, givenMatchers()).withAdaptiveOrdering().inParallel();
+
+        assertThat(instance.streamMatcher(), sameInstance(parallelStreamMatcherInstance()));
+        assertThat(instance.adaptiveOrdering(), equalTo(true));
+    }
+
     @Test
     public void matchesWorks() throws Exception {
         final Set<Matcher<Integer>> matchers = givenMatchers();
@@ -47,9 +74,86 @@ public class ContainsOnlyElementsThatUnitTest {
         assertThat(matches(matchers, Stream.of(1)), equalTo(false));
     }
 
+    @Test
+    public void inParallel() throws Exception {
+        final Set<Matcher<Integer>> matchers = givenMatchers();
+        final ContainsOnlyElementsThat<Iterable<Integer>, Integer> instance = new ContainsOnlyElementsThat<>(MAPPER, matchers).inParallel();
+
+        assertThat(instance.description(), equalTo("contains only elements that"));
+        assertThat(instance.mapper(), sameInstance(MAPPER));
+        assertThat(instance.matchers(), sameInstance(matchers));
+        assertThat(instance.streamMatcher(), sameInstance(parallelStreamMatcherInstance()));
+    }
+
+    @Test
+    public void matchesInParallelWorks() throws Exception {
+        final Set<Matcher<Integer>> matchers = givenMatchers();
+
+        assertThat(matchesInParallel(matchers, Stream.of(0, 1, 2)), equalTo(false));
+        assertThat(matchesInParallel(matchers, Stream.of(0)), equalTo(true));
+        assertThat(matchesInParallel(matchers, range(0, 10000).map(i -> 0).boxed()), equalTo(true));
+        assertThat(matchesInParallel(matchers, range(0, 10000).map(i -> i == 5000 ? 1 : 0).boxed()), equalTo(false));
+        assertThat(matchesInParallel(matchers, Stream.of()), equalTo(false));
+    }
+
+    @Test
+    public void matchesStopsAfterMaximumMismatchesToReport() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final Set<Matcher<Integer>> matchers = singleton(new CountingIsEqualTo(0, calls));
+
+        assertThat(matches(matchers, Stream.of(0, 1, 0, 2, 3)), equalTo(false));
+        assertThat(calls.get(), equalTo(5));
+
+        calls.set(0);
+        assertThat(matches(matchers, range(0, 100).boxed()), equalTo(false));
+        assertThat(calls.get(), equalTo(1 + MAXIMUM_MISMATCHES_TO_REPORT + 1));
+    }
+
+    @Test
+    public void describeMismatchReportsAllMismatchingElementsOfOneShotStreams() throws Exception {
+        final ContainsOnlyElementsThat<Stream<Integer>, Integer> instance = new ContainsOnlyElementsThat<>(StreamUtils::toStream, givenMatchers());
+        final Stream<Integer> stream = Stream.of(0, 1, 0, 2, 3);
+        final Description description = givenDescription();
+
+        assertThat(instance.matches(stream), equalTo(false));
+        instance.describeMismatch((Object) stream, description);
+
+        assertThat(description.toString(), equalTo("for <1> is equal to <0> was <1>\n" +
+            "          for <2> is equal to <0> was <2>\n" +
+            "          for <3> is equal to <0> was <3>"));
+    }
+
+    @Test
+    public void matchesInParallelTracksEmptinessOfStream() throws Exception {
+        final Set<Matcher<Integer>> matchers = givenMatchers();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(matchesInParallel(matchers, range(0, 1000).map(ignored -> 0).boxed()), equalTo(true));
+            assertThat(matchesInParallel(matchers, range(0, 0).boxed()), equalTo(false));
+        }
+    }
+
     @Nonnull
     protected static Set<Matcher<Integer>> givenMatchers() {
         return singleton(isEqualTo(0));
     }
 
+    protected static class CountingIsEqualTo extends IsEqualTo<Integer> {
+
+        @Nonnull
+        private final AtomicInteger calls;
+
+        protected CountingIsEqualTo(Integer expected, @Nonnull AtomicInteger calls) {
+            super(expected);
+            this.calls = calls;
+        }
+
+        @Override
+        public boolean matches(Object item) {
+            calls.incrementAndGet();
+            return super.matches(item);
+        }
+
+    }
+
 }
@@ -0,0 +1,146 @@
+package org.echocat.unittest.utils.matchers;
+
+import org.echocat.unittest.utils.rules.TestFile;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.junit.Rule;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.echocat.unittest.utils.TestUtils.givenDescription;
+import static org.echocat.unittest.utils.matchers.ContentBasedMatcher.*;
+import static org.echocat.unittest.utils.matchers.ThrowsException.throwsException;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ContentBasedMatcherUnitTest {
+
+    @Rule
+    public final TestFile file = new TestFile("file.txt", "666 hello");
+
+    @Test
+    public void factoryMethodStartsWithComparator() throws Exception {
+        final Comparator instance = startsWithComparator();
+
+        assertThat(instance.check(readerOf("666 hello world"), "666"), equalTo(true));
+        assertThat(instance.check(readerOf("hello 666 world"), "666"), equalTo(false));
+        assertThat(instance.check(readerOf("66"), "666"), equalTo(false));
+        assertThat(instance.check(readerOf(""), ""), equalTo(true));
+        assertThat(instance.check(readerOf(repeated('a', 20000) + "b"), repeated('a', 20000)), equalTo(true));
+    }
+
+    @Test
+    public void factoryMethodEndsWithComparator() throws Exception {
+        final Comparator instance = endsWithComparator();
+
+        assertThat(instance.check(readerOf("666 hello world"), "666"), equalTo(false));
+        assertThat(instance.check(readerOf("hello world 666"), "666"), equalTo(true));
+        assertThat(instance.check(readerOf("66"), "666"), equalTo(false));
+        assertThat(instance.check(readerOf("hello"), ""), equalTo(true));
+        assertThat(instance.check(readerOf(repeated('a', 20000) + "bc"), "abc"), equalTo(true));
+    }
+
+    @Test
+    public void factoryMethodContainsComparator() throws Exception {
+        final Comparator instance = containsComparator();
+
+        assertThat(instance.check(readerOf("66 hello world"), "666"), equalTo(false));
+        assertThat(instance.check(readerOf("hello 666 world"), "666"), equalTo(true));
+        assertThat(instance.check(readerOf("aababc"), "abc"), equalTo(true));
+        assertThat(instance.check(readerOf("hello"), ""), equalTo(true));
+        assertThat(instance.check(readerOf(repeated('a', 8190) + "marker" + repeated('b', 10000)), "marker"), equalTo(true));
+    }
+
+    @Test
+    public void factoryMethodMatchesLineComparator() throws Exception {
+        final Comparator instance = matchesLineComparator();
+
+        assertThat(instance.check(readerOf("foo\nbar 666\nbaz"), "bar [0-9]+"), equalTo(true));
+        assertThat(instance.check(readerOf("foo\r\nbar 666\r\nbaz"), "bar [0-9]+"), equalTo(true));
+        assertThat(instance.check(readerOf("foo\nbaz\nbar 666"), "bar [0-9]+"), equalTo(true));
+        assertThat(instance.check(readerOf("foo\nbar 666 baz\n"), "bar [0-9]+"), equalTo(false));
+        assertThat(instance.check(readerOf(""), ".*"), equalTo(false));
+    }
+
+    @Test
+    public void factoryMethodContainsComparatorFor() throws Exception {
+        final Comparator instance = containsComparatorFor("abc");
+
+        assertThat(instance.check(readerOf("aababc"), "abc"), equalTo(true));
+        assertThat(instance.check(readerOf("aababd"), "abc"), equalTo(false));
+        assertThat(instance.check(readerOf("aababd"), "abd"), equalTo(false));
+    }
+
+    @Test
+    public void factoryMethodMatchesLineComparatorFor() throws Exception {
+        final Comparator instance = matchesLineComparatorFor("bar [0-9]+");
+
+        assertThat(instance.check(readerOf("foo\nbar 666\nbaz"), "bar [0-9]+"), equalTo(true));
+        assertThat(instance.check(readerOf("foo\nbar 666 baz\n"), "bar [0-9]+"), equalTo(false));
+        assertThat(instance.check(readerOf("foo\nbaz"), "ba[rz]"), equalTo(false));
+    }
+
+    @Test
+    public void matchesLineFailsOnTooLongLines() throws Exception {
+        final Comparator instance = matchesLineComparator();
+
+        assertThat(instance.check(readerOf(repeated('a', MAXIMUM_LINE_LENGTH) + "\nb"), "b"), equalTo(true));
+        assertThat(() -> instance.check(readerOf("a\n" + repeated('a', MAXIMUM_LINE_LENGTH + 1) + "\nb"), "b"), throwsException(IOException.class,
+            "Found a line longer than " + MAXIMUM_LINE_LENGTH + " chars which could not be matched against b\\."));
+    }
+
+    @Test
+    public void constructor() throws Exception {
+        final ContentBasedMatcher instance = new ContentBasedMatcher("test", startsWithComparator(), "666");
+
+        assertThat(instance.comparator(), sameInstance(startsWithComparator()));
+        assertThat(instance.comparatorDescription(), equalTo("test"));
+        assertThat(instance.expected(), equalTo("666"));
+    }
+
+    @Test
+    public void matches() throws Exception {
+        final Matcher<Content> instance = givenStartsWith666Instance();
+
+        assertThat(instance.matches(Content.contentOf(file.wrapped(), UTF_8)), equalTo(true));
+        assertThat(instance.matches(Content.contentOf(readerOf("hello 666"))), equalTo(false));
+        assertThat(instance.matches("666 hello"), equalTo(false));
+        assertThat(instance.matches(null), equalTo(false));
+    }
+
+    @Test
+    public void describeTo() throws Exception {
+        final Description description = givenDescription();
+        final Matcher<Content> instance = givenStartsWith666Instance();
+
+        instance.describeTo(description);
+
+        assertThat(description.toString(), equalTo("starts with \"666\""));
+    }
+
+    @Nonnull
+    protected static Matcher<Content> givenStartsWith666Instance() {
+        return new ContentBasedMatcher("starts with", startsWithComparator(), "666");
+    }
+
+    @Nonnull
+    protected static Reader readerOf(@Nonnull String content) {
+        return new StringReader(content);
+    }
+
+    @Nonnull
+    protected static String repeated(char c, int times) {
+        final StringBuilder result = new StringBuilder(times);
+        for (int i = 0; i < times; i++) {
+            result.append(c);
+        }
+        return result.toString();
+    }
+
+}
@@ -0,0 +1,67 @@
+package org.echocat.unittest.utils.matchers;
+
+import org.echocat.unittest.utils.rules.TestFile;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.regex.Pattern.quote;
+import static org.echocat.unittest.utils.matchers.Content.contentOf;
+import static org.echocat.unittest.utils.matchers.ThrowsException.throwsException;
+import static org.echocat.unittest.utils.utils.IOUtils.scan;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class ContentUnitTest {
+
+    @Rule
+    public final TestFile file = new TestFile("file.txt", "hällo");
+
+    @Test
+    public void readPath() throws Exception {
+        final Content instance = contentOf(file.wrapped(), UTF_8);
+
+        assertThat(instance.read(reader -> (char) reader.read()), equalTo('h'));
+        assertThat(instance.read(reader -> (char) reader.read()), equalTo('h'));
+        assertThat(instance.toString(), equalTo("content of " + file.wrapped()));
+    }
+
+    @Test
+    public void readInputStream() throws Exception {
+        final Content instance = contentOf(new ByteArrayInputStream("hällo".getBytes(UTF_8)), UTF_8);
+
+        assertThat(instance.read(reader -> {
+            final StringBuilder result = new StringBuilder();
+            scan(reader, (buffer, length) -> {
+                result.append(buffer, 0, length);
+                return true;
+            });
+            return result.toString();
+        }), equalTo("hällo"));
+    }
+
+    @Test
+    public void readReader() throws Exception {
+        final Content instance = contentOf(new StringReader("hello"));
+
+        assertThat(instance.read(reader -> (char) reader.read()), equalTo('h'));
+        assertThat(instance.read(reader -> (char) reader.read()), equalTo('e'));
+    }
+
+    @Test
+    public void readWrapsIOExceptions() throws Exception {
+        final Path notExisting = file.wrapped().resolveSibling("notExisting.txt");
+        final Content instance = contentOf(notExisting, UTF_8);
+
+        assertThat(() -> instance.read(reader -> {
+            throw new IOException("expected");
+        }), throwsException(UncheckedIOException.class, quote("Could not read content of " + notExisting + ".")));
+    }
+
+}
@@ -6,7 +6,11 @@ import org.junit.Test;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
 
+import static java.util.Arrays.asList;
 import static org.echocat.unittest.utils.TestUtils.givenArrayWithLength3;
 import static org.echocat.unittest.utils.TestUtils.givenArrayWithLength4;
 import static org.echocat.unittest.utils.TestUtils.givenDescription;
@@ -79,6 +83,60 @@ public class HasSameSizeAsUnitTest {
         assertThat(description.toString(), equalTo("was <3L> with content [<0>, <1>, <2>]"));
     }
 
+    @Test
+    public void matchesRecomputesSizeOfMutatedItems() throws Exception {
+        final HasSameSizeAs<Object> instance = givenInstance(givenArrayWithLength3());
+        final List<Integer> list = new ArrayList<>(asList(1, 2, 3));
+
+        assertThat(instance.matches(list), equalTo(true));
+
+        list.add(4);
+
+        assertThat(instance.matches(list), equalTo(false));
+    }
+
+    @Test
+    public void matchesRecomputesSizeOfMutatedCompareTo() throws Exception {
+        final List<Integer> compareTo = new ArrayList<>(asList(1, 2, 3));
+        final HasSameSizeAs<Object> instance = givenInstance(compareTo);
+
+        assertThat(instance.matches("012"), equalTo(true));
+
+        compareTo.add(4);
+
+        assertThat(instance.matches("012"), equalTo(false));
+        assertThat(instance.matches("0123"), equalTo(true));
+    }
+
+    @Test
+    public void matchesKeepsSizeOfOneShotCompareTo() throws Exception {
+        final HasSameSizeAs<Object> instance = givenInstance(asList(1, 2, 3).iterator());
+
+        assertThat(instance.matches("012"), equalTo(true));
+        assertThat(instance.matches("012"), equalTo(true));
+    }
+
+    @Test
+    public void matchesDoesNotDrainInfiniteSources() throws Exception {
+        final HasSameSizeAs<Object> instance = givenInstance(givenArrayWithLength4());
+
+        assertThat(instance.matches(Stream.generate(() -> 1)), equalTo(false));
+        assertThat(instance.matches(Stream.generate(() -> 1).limit(4)), equalTo(true));
+    }
+
+    @Test
+    public void describeMismatchOfTooLargeItem() throws Exception {
+        final Object[] compareTo = givenArrayWithLength3();
+        final Object[] toTest = givenArrayWithLength4();
+        final HasSameSizeAs<Object> instance = givenInstance(compareTo);
+        final Description description = givenDescription();
+
+        instance.matches(toTest);
+        instance.describeMismatch(toTest, description);
+
+        assertThat(description.toString(), equalTo("was more than <3L> with content [<0>, <1>, <2>, <3>]"));
+    }
+
     @Nonnull
     protected static HasSameSizeAs<Object> givenInstance(@Nullable Object compareTo) {
         return new HasSameSizeAs<>(compareTo);
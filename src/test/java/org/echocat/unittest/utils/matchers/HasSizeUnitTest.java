@@ -5,14 +5,20 @@ import org.hamcrest.Matcher;
 import org.junit.Test;
 
 import javax.annotation.Nonnull;
-import java.util.function.Predicate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
 
+import static java.util.Arrays.asList;
 import static org.echocat.unittest.utils.TestUtils.givenArrayWithLength3;
+import static org.echocat.unittest.utils.TestUtils.givenArrayWithLength4;
 import static org.echocat.unittest.utils.TestUtils.givenDescription;
 import static org.echocat.unittest.utils.TestUtils.givenEmptyArray;
 import static org.echocat.unittest.utils.matchers.HasSize.*;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
 public class HasSizeUnitTest {
@@ -49,6 +55,44 @@ public class HasSizeUnitTest {
         assertThat(((HasSize<?>) matcher).expectedSize(), equalTo(666L));
     }
 
+    @Test
+    public void factoryMethodHasSizeAtLeast() throws Exception {
+        final Matcher<Object> matcher = hasSizeAtLeast(666);
+
+        assertThat(matcher, instanceOf(HasSize.class));
+        assertThat(((HasSize<?>) matcher).expectedSize(), equalTo(666L));
+        assertThat(((HasSize<?>) matcher).comparatorDescription(), equalTo("has size of at least"));
+        assertThat(((HasSize<?>) matcher).comparator(), sameInstance(atLeastComparator()));
+    }
+
+    @Test
+    public void factoryMethodHasLengthAtLeast() throws Exception {
+        final Matcher<Object> matcher = hasLengthAtLeast(666);
+
+        assertThat(matcher, instanceOf(HasSize.class));
+        assertThat(((HasSize<?>) matcher).expectedSize(), equalTo(666L));
+        assertThat(((HasSize<?>) matcher).comparator(), sameInstance(atLeastComparator()));
+    }
+
+    @Test
+    public void factoryMethodHasSizeAtMost() throws Exception {
+        final Matcher<Object> matcher = hasSizeAtMost(666);
+
+        assertThat(matcher, instanceOf(HasSize.class));
+        assertThat(((HasSize<?>) matcher).expectedSize(), equalTo(666L));
+        assertThat(((HasSize<?>) matcher).comparatorDescription(), equalTo("has size of at most"));
+        assertThat(((HasSize<?>) matcher).comparator(), sameInstance(atMostComparator()));
+    }
+
+    @Test
+    public void factoryMethodHasLengthAtMost() throws Exception {
+        final Matcher<Object> matcher = hasLengthAtMost(666);
+
+        assertThat(matcher, instanceOf(HasSize.class));
+        assertThat(((HasSize<?>) matcher).expectedSize(), equalTo(666L));
+        assertThat(((HasSize<?>) matcher).comparator(), sameInstance(atMostComparator()));
+    }
+
     @Test
     public void constructor() throws Exception {
         final Matcher<Object> matcher = new HasSize<>(666);
@@ -67,6 +111,63 @@ public class HasSizeUnitTest {
         assertThat(instance.matches(new byte[3]), equalTo(false));
     }
 
+    @Test
+    public void matchesAtLeast() throws Exception {
+        final Matcher<Object> instance = hasSizeAtLeast(4);
+
+        assertThat(instance.matches("01234"), equalTo(true));
+        assertThat(instance.matches("0123"), equalTo(true));
+        assertThat(instance.matches("012"), equalTo(false));
+        assertThat(instance.matches(Stream.generate(() -> 1)), equalTo(true));
+    }
+
+    @Test
+    public void matchesAtMost() throws Exception {
+        final Matcher<Object> instance = hasSizeAtMost(4);
+
+        assertThat(instance.matches("01234"), equalTo(false));
+        assertThat(instance.matches("0123"), equalTo(true));
+        assertThat(instance.matches("012"), equalTo(true));
+        assertThat(instance.matches(Stream.generate(() -> 1)), equalTo(false));
+    }
+
+    @Test
+    public void matchesDoesNotDrainInfiniteSources() throws Exception {
+        final HasSize<Object> instance = givenInstance();
+
+        assertThat(instance.matches(Stream.generate(() -> 1)), equalTo(false));
+        assertThat(instance.matches(Stream.generate(() -> 1).limit(4)), equalTo(true));
+    }
+
+    @Test
+    public void matchesRecomputesSizeOfMutatedItems() throws Exception {
+        final Matcher<Object> instance = hasSize(2);
+        final List<Integer> list = new ArrayList<>(asList(1, 2));
+
+        assertThat(instance.matches(list), equalTo(true));
+
+        list.add(3);
+
+        assertThat(instance.matches(list), equalTo(false));
+    }
+
+    @Test
+    public void describeMismatchOfConsumedIteratorAfterManyMatches() throws Exception {
+        final HasSize<Object> instance = givenInstance();
+        final Iterator<Integer> toTest = asList(1, 2, 3).iterator();
+        final List<Object> others = new ArrayList<>();
+        final Description description = givenDescription();
+
+        instance.matches(toTest);
+        for (int i = 0; i < 32; i++) {
+            others.add(new Object[i]);
+            instance.matches(others.get(i));
+        }
+        instance.describeMismatch(toTest, description);
+
+        assertThat(description.toString().startsWith("was <3L> with content "), equalTo(true));
+    }
+
     @Test
     public void describeTo() throws Exception {
         final HasSize<Object> instance = givenInstance();
@@ -89,6 +190,18 @@ public class HasSizeUnitTest {
         assertThat(description.toString(), equalTo("was <3L> with content [<0>, <1>, <2>]"));
     }
 
+    @Test
+    public void describeMismatchOfTooLargeItem() throws Exception {
+        final Object[] toTest = givenArrayWithLength4();
+        final HasSize<Object> instance = new HasSize<>(3);
+        final Description description = givenDescription();
+
+        instance.matches(toTest);
+        instance.describeMismatch(toTest, description);
+
+        assertThat(description.toString(), equalTo("was more than <3L> with content [<0>, <1>, <2>, <3>]"));
+    }
+
     @Nonnull
     protected static HasSize<Object> givenInstance() {
         return new HasSize<>(4);
@@ -6,12 +6,17 @@ import org.junit.Test;
 
 import javax.annotation.Nonnull;
 import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyIterator;
 import static org.echocat.unittest.utils.TestUtils.givenDescription;
 import static org.echocat.unittest.utils.matchers.IterableBasedMatcher.Comparator;
+import static org.echocat.unittest.utils.matchers.IterableBasedMatcher.failureFunctionOf;
+import static org.echocat.unittest.utils.matchers.IterableBasedMatcher.regionMatches;
 import static org.echocat.unittest.utils.matchers.IterableBasedMatcher.skipOne;
 import static org.echocat.unittest.utils.matchers.ThrowsException.throwsException;
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -55,6 +60,11 @@ public class IterableBasedMatcherUnitTest {
         assertThat(instance.check(iterableOf(0, 1), iterableOf(0, 1, 2)), equalTo(false));
         assertThat(instance.check(iterableOf(), iterableOf(0, 1, 2)), equalTo(false));
         assertThat(instance.check(iterableOf(0, 1, 2, 3, 4, 5), iterableOf()), equalTo(true));
+        assertThat(instance.check(iterableOf(), iterableOf()), equalTo(true));
+        assertThat(instance.check(iterableOf(1, 1, 1, 2), iterableOf(1, 1, 2)), equalTo(true));
+        assertThat(instance.check(iterableOf(1, 2, 1, 2), iterableOf(1, 2)), equalTo(true));
+        assertThat(instance.check(oneShotIterableOf(0, 1, 2, 3, 4, 5), oneShotIterableOf(3, 4, 5)), equalTo(true));
+        assertThat(instance.check(oneShotIterableOf(0, 1, 2, 3, 4, 5), oneShotIterableOf(3, 4)), equalTo(false));
     }
 
     @Test
@@ -73,6 +83,34 @@ public class IterableBasedMatcherUnitTest {
         assertThat(instance.check(iterableOf(0), iterableOf(0, 1, 2)), equalTo(false));
         assertThat(instance.check(iterableOf(), iterableOf(0, 1, 2)), equalTo(false));
         assertThat(instance.check(iterableOf(0, 1, 2, 3, 4, 5), iterableOf()), equalTo(true));
+        assertThat(instance.check(iterableOf(1, 1, 1, 2), iterableOf(1, 1, 2)), equalTo(true));
+        assertThat(instance.check(iterableOf(1, 2, 1, 2, 1, 3), iterableOf(1, 2, 1, 3)), equalTo(true));
+        assertThat(instance.check(iterableOf(1, 2, 1, 2, 1, 2), iterableOf(1, 2, 1, 3)), equalTo(false));
+        assertThat(instance.check(oneShotIterableOf(0, 0, 1, 0, 0, 1, 2), oneShotIterableOf(0, 0, 1, 2)), equalTo(true));
+    }
+
+    @Test
+    public void comparatorsOnSequentialLists() throws Exception {
+        assertThat(IterableBasedMatcher.<Integer>startsWithComparator().check(linkedListOf(0, 1, 2, 3), iterableOf(0, 1)), equalTo(true));
+        assertThat(IterableBasedMatcher.<Integer>startsWithComparator().check(linkedListOf(0, 1), iterableOf(0, 1, 2)), equalTo(false));
+        assertThat(IterableBasedMatcher.<Integer>endsWithComparator().check(linkedListOf(0, 1, 2, 3), iterableOf(2, 3)), equalTo(true));
+        assertThat(IterableBasedMatcher.<Integer>endsWithComparator().check(linkedListOf(0, 1, 2, 3), iterableOf(1, 3)), equalTo(false));
+        assertThat(IterableBasedMatcher.<Integer>containsComparator().check(linkedListOf(1, 2, 1, 2, 1, 3), iterableOf(1, 2, 1, 3)), equalTo(true));
+        assertThat(IterableBasedMatcher.<Integer>containsComparator().check(linkedListOf(1, 2, 1, 2, 1, 2), iterableOf(1, 2, 1, 3)), equalTo(false));
+    }
+
+    @Test
+    public void regionMatchesWorks() throws Exception {
+        assertThat(regionMatches(asList(0, 1, 2, 3), 1, new Object[]{1, 2}), equalTo(true));
+        assertThat(regionMatches(asList(0, 1, 2, 3), 2, new Object[]{1, 2}), equalTo(false));
+        assertThat(regionMatches(asList(0, 1, 2, 3), 4, new Object[]{}), equalTo(true));
+    }
+
+    @Test
+    public void failureFunctionOfWorks() throws Exception {
+        assertThat(failureFunctionOf(new Object[]{1, 1, 2}), equalTo(new int[]{0, 1, 0}));
+        assertThat(failureFunctionOf(new Object[]{1, 2, 1, 2, 1, 3}), equalTo(new int[]{0, 0, 1, 2, 3, 0}));
+        assertThat(failureFunctionOf(new Object[]{}), equalTo(new int[]{}));
     }
 
     @Test
@@ -82,6 +120,27 @@ public class IterableBasedMatcherUnitTest {
         assertThat(instance.matches(iterableOf(0, 1, 2)), equalTo(true));
         assertThat(instance.matches(iterableOf(1, 2, 3)), equalTo(false));
         assertThat(instance.matches("666"), equalTo(false));
+        assertThat(instance.matches(null), equalTo(false));
+    }
+
+    @Test
+    public void matchesStreamsAndIterators() throws Exception {
+        final Matcher<Iterable<Integer>> instance = givenStartsWith123Instance();
+
+        assertThat(instance.matches(Stream.of(0, 1, 2, 3)), equalTo(true));
+        assertThat(instance.matches(Stream.of(1, 2, 3)), equalTo(false));
+        assertThat(instance.matches(asList(0, 1, 2, 3).iterator()), equalTo(true));
+        assertThat(instance.matches(asList(1, 2, 3).iterator()), equalTo(false));
+    }
+
+    @Test
+    public void matchesArrays() throws Exception {
+        final Matcher<Iterable<Integer>> instance = givenStartsWith123Instance();
+
+        assertThat(instance.matches(new Integer[]{0, 1, 2, 3}), equalTo(true));
+        assertThat(instance.matches(new Integer[]{1, 2, 3}), equalTo(false));
+        assertThat(instance.matches(new Integer[]{0, 1}), equalTo(false));
+        assertThat(instance.matches(new int[]{0, 1, 2}), equalTo(false));
     }
 
     @Test
@@ -146,4 +205,23 @@ public class IterableBasedMatcherUnitTest {
     protected static <T> Iterable<T> iterableOf(@Nonnull T... values) {
         return asList(values);
     }
+
+    @SafeVarargs
+    @Nonnull
+    protected static <T> Iterable<T> linkedListOf(@Nonnull T... values) {
+        return new LinkedList<>(asList(values));
+    }
+
+    @SafeVarargs
+    @Nonnull
+    protected static <T> Iterable<T> oneShotIterableOf(@Nonnull T... values) {
+        final Iterator<T> iterator = asList(values).iterator();
+        final AtomicBoolean consumed = new AtomicBoolean();
+        return () -> {
+            if (consumed.getAndSet(true)) {
+                throw new IllegalStateException("Iterable could only be iterated once.");
+            }
+            return iterator;
+        };
+    }
 }
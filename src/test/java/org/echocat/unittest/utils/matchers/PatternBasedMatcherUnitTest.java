@@ -0,0 +1,74 @@
+package org.echocat.unittest.utils.matchers;
+
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.util.regex.Pattern;
+
+import static java.util.regex.Pattern.*;
+import static org.echocat.unittest.utils.TestUtils.givenDescription;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class PatternBasedMatcherUnitTest {
+
+    @Nonnull
+    protected static final Pattern PATTERN = Pattern.compile(".*666.*");
+
+    @Test
+    public void constructor() throws Exception {
+        final PatternBasedMatcher<String> instance = givenInstance();
+
+        assertThat(instance.pattern(), sameInstance(PATTERN));
+        assertThat(instance.comparator(), sameInstance(StringBasedMatcher.matchesComparator()));
+        assertThat(instance.comparatorDescription(), equalTo("matches regular expression"));
+        assertThat(instance.expected(), equalTo(".*666.*"));
+    }
+
+    @Test
+    public void matches() throws Exception {
+        final Matcher<CharSequence> instance = givenInstance();
+
+        assertThat(instance.matches("hello 666 world"), equalTo(true));
+        assertThat(instance.matches(new StringBuilder("hello 666 world")), equalTo(true));
+        assertThat(instance.matches("hello world"), equalTo(false));
+        assertThat(instance.matches(666), equalTo(false));
+        assertThat(instance.matches(null), equalTo(false));
+    }
+
+    @Test
+    public void describeTo() throws Exception {
+        final Description description = givenDescription();
+        final Matcher<String> instance = givenInstance();
+
+        instance.describeTo(description);
+
+        assertThat(description.toString(), equalTo("matches regular expression \".*666.*\""));
+    }
+
+    @Test
+    public void describeToWithFlags() throws Exception {
+        final Description description = givenDescription();
+        final Matcher<String> instance = new PatternBasedMatcher<>(Pattern.compile(".*666.*", CASE_INSENSITIVE | MULTILINE));
+
+        instance.describeTo(description);
+
+        assertThat(description.toString(), equalTo("matches regular expression \".*666.*\" with flags CASE_INSENSITIVE|MULTILINE"));
+    }
+
+    @Test
+    public void flagsToStringWorks() throws Exception {
+        assertThat(PatternBasedMatcher.flagsToString(0), equalTo(""));
+        assertThat(PatternBasedMatcher.flagsToString(DOTALL), equalTo("DOTALL"));
+        assertThat(PatternBasedMatcher.flagsToString(UNIX_LINES | COMMENTS | 0x10000), equalTo("UNIX_LINES|COMMENTS|0x10000"));
+    }
+
+    @Nonnull
+    protected static <T extends CharSequence> PatternBasedMatcher<T> givenInstance() {
+        return new PatternBasedMatcher<>(PATTERN);
+    }
+
+}
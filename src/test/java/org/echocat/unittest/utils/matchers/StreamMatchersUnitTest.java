@@ -11,6 +11,7 @@ import static org.echocat.unittest.utils.matchers.CompareTo.isLessThanOrEqualTo;
 import static org.echocat.unittest.utils.matchers.StreamMatchers.*;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
 public class StreamMatchersUnitTest {
@@ -50,6 +51,42 @@ public class StreamMatchersUnitTest {
         assertThat(((CombinedMappingMatcher<?, ?>) instance).matchers(), equalTo(asList(MATCHER1, MATCHER2)));
     }
 
+    @Test
+    public void factoryMethodStartsWith() throws Exception {
+        final Matcher<Stream<Integer>> instance = startsWith(0, 1, 2);
+
+        assertThat(instance, instanceOf(IterableBasedMatcher.class));
+        assertThat(((IterableBasedMatcher<?, ?>) instance).comparator(), sameInstance(IterableBasedMatcher.startsWithComparator()));
+        assertThat(((IterableBasedMatcher<?, ?>) instance).comparatorDescription(), equalTo("starts with"));
+        assertThat(((IterableBasedMatcher<?, ?>) instance).expected(), equalTo(asList(0, 1, 2)));
+        assertThat(instance.matches(Stream.of(0, 1, 2, 3)), equalTo(true));
+        assertThat(instance.matches(Stream.of(1, 2, 3)), equalTo(false));
+    }
+
+    @Test
+    public void factoryMethodEndsWith() throws Exception {
+        final Matcher<Stream<Integer>> instance = endsWith(1, 2, 3);
+
+        assertThat(instance, instanceOf(IterableBasedMatcher.class));
+        assertThat(((IterableBasedMatcher<?, ?>) instance).comparator(), sameInstance(IterableBasedMatcher.endsWithComparator()));
+        assertThat(((IterableBasedMatcher<?, ?>) instance).comparatorDescription(), equalTo("ends with"));
+        assertThat(((IterableBasedMatcher<?, ?>) instance).expected(), equalTo(asList(1, 2, 3)));
+        assertThat(instance.matches(Stream.of(0, 1, 2, 3)), equalTo(true));
+        assertThat(instance.matches(Stream.of(0, 1, 2)), equalTo(false));
+    }
+
+    @Test
+    public void factoryMethodContains() throws Exception {
+        final Matcher<Stream<Integer>> instance = StreamMatchers.contains(1, 2);
+
+        assertThat(instance, instanceOf(IterableBasedMatcher.class));
+        assertThat(((IterableBasedMatcher<?, ?>) instance).comparator(), sameInstance(IterableBasedMatcher.containsComparator()));
+        assertThat(((IterableBasedMatcher<?, ?>) instance).comparatorDescription(), equalTo("contains"));
+        assertThat(((IterableBasedMatcher<?, ?>) instance).expected(), equalTo(asList(1, 2)));
+        assertThat(instance.matches(Stream.of(0, 1, 2, 3)), equalTo(true));
+        assertThat(instance.matches(Stream.of(2, 1, 0)), equalTo(false));
+    }
+
     @Test
     public void constructor() {
         new StreamMatchers();
@@ -17,7 +17,7 @@ public class StringBasedMatcherUnitTest {
 
     @Test
     public void factoryMethodStartsWithComparator() throws Exception {
-        final Comparator instance = startsWithComparator();
+        final CharSequenceComparator instance = startsWithComparator();
 
         assertThat(instance.check("666 hello world", "666"), equalTo(true));
         assertThat(instance.check("hello 666 world", "666"), equalTo(false));
@@ -26,7 +26,7 @@ public class StringBasedMatcherUnitTest {
 
     @Test
     public void factoryMethodEndsWithComparator() throws Exception {
-        final Comparator instance = endsWithComparator();
+        final CharSequenceComparator instance = endsWithComparator();
 
         assertThat(instance.check("666 hello world", "666"), equalTo(false));
         assertThat(instance.check("hello 666 world", "666"), equalTo(false));
@@ -35,7 +35,7 @@ public class StringBasedMatcherUnitTest {
 
     @Test
     public void factoryMethodContainsComparator() throws Exception {
-        final Comparator instance = containsComparator();
+        final CharSequenceComparator instance = containsComparator();
 
         assertThat(instance.check("66 hello world", "666"), equalTo(false));
         assertThat(instance.check("666 hello world", "666"), equalTo(true));
@@ -45,7 +45,7 @@ public class StringBasedMatcherUnitTest {
 
     @Test
     public void factoryMethodMatchesComparator() throws Exception {
-        final Comparator instance = matchesComparator();
+        final CharSequenceComparator instance = matchesComparator();
 
         assertThat(instance.check("66 hello world", ".*666.*"), equalTo(false));
         assertThat(instance.check("666 hello world", ".*666.*"), equalTo(true));
@@ -53,9 +53,56 @@ public class StringBasedMatcherUnitTest {
         assertThat(instance.check("hello world 666", ".*666.*"), equalTo(true));
     }
 
+    @Test
+    public void factoryMethodStartsWithIgnoreCaseComparator() throws Exception {
+        final CharSequenceComparator instance = startsWithIgnoreCaseComparator();
+
+        assertThat(instance.check("HeLLo world", "hello"), equalTo(true));
+        assertThat(instance.check(new StringBuilder("HeLLo world"), "hello"), equalTo(true));
+        assertThat(instance.check("world hello", "hello"), equalTo(false));
+    }
+
+    @Test
+    public void factoryMethodEndsWithIgnoreCaseComparator() throws Exception {
+        final CharSequenceComparator instance = endsWithIgnoreCaseComparator();
+
+        assertThat(instance.check("hello WoRlD", "world"), equalTo(true));
+        assertThat(instance.check(new StringBuilder("hello WoRlD"), "world"), equalTo(true));
+        assertThat(instance.check("world hello", "world"), equalTo(false));
+    }
+
+    @Test
+    public void factoryMethodContainsIgnoreCaseComparator() throws Exception {
+        final CharSequenceComparator instance = containsIgnoreCaseComparator();
+
+        assertThat(instance.check("hello 6A6 world", "6a6"), equalTo(true));
+        assertThat(instance.check(new StringBuilder("hello 6A6 world"), "6a6"), equalTo(true));
+        assertThat(instance.check("hello 6b6 world", "6a6"), equalTo(false));
+    }
+
+    @Test
+    public void factoryMethodContainsComparatorFor() throws Exception {
+        final CharSequenceComparator instance = containsComparatorFor("hello");
+
+        assertThat(instance.check("say hello world", "hello"), equalTo(true));
+        assertThat(instance.check(new StringBuilder("say hello world"), "hello"), equalTo(true));
+        assertThat(instance.check(new StringBuilder("say HELLO world"), "hello"), equalTo(false));
+        assertThat(instance.check(new StringBuilder("say world"), "world"), equalTo(false));
+    }
+
+    @Test
+    public void factoryMethodContainsIgnoreCaseComparatorFor() throws Exception {
+        final CharSequenceComparator instance = containsIgnoreCaseComparatorFor("hello");
+
+        assertThat(instance.check("say HeLLo world", "hello"), equalTo(true));
+        assertThat(instance.check(new StringBuilder("say HeLLo world"), "hello"), equalTo(true));
+        assertThat(instance.check(new StringBuilder("say hallo world"), "hello"), equalTo(false));
+        assertThat(instance.check(new StringBuilder("say WORLD"), "world"), equalTo(false));
+    }
+
     @Test
     public void factoryMethodEqualsIgnoreCaseComparator() throws Exception {
-        final Comparator instance = equalsIgnoreCaseComparator();
+        final CharSequenceComparator instance = equalsIgnoreCaseComparator();
 
         assertThat(instance.check("hello world", "hello world"), equalTo(true));
         assertThat(instance.check("hElLo WoRlD", "hello world"), equalTo(true));
@@ -80,6 +127,53 @@ public class StringBasedMatcherUnitTest {
         assertThat(instance.matches(666), equalTo(false));
     }
 
+    @Test
+    public void matchesWithStringBasedComparator() throws Exception {
+        final Comparator comparator = String::startsWith;
+        final Matcher<CharSequence> instance = new StringBasedMatcher<>("starts with", comparator, "666");
+
+        assertThat(instance.matches("666 hello"), equalTo(true));
+        assertThat(instance.matches(new StringBuilder("666 hello")), equalTo(true));
+        assertThat(instance.matches(new StringBuilder("hello 666")), equalTo(false));
+    }
+
+    @Test
+    public void charSequenceComparatorAcceptsStrings() throws Exception {
+        final Comparator instance = startsWithComparator();
+
+        assertThat(instance.check("666 hello", "666"), equalTo(true));
+        assertThat(instance.check("hello 666", "666"), equalTo(false));
+    }
+
+    @Test
+    public void matchesCharSequencesWithoutCopying() throws Exception {
+        final Matcher<CharSequence> instance = new StringBasedMatcher<>("contains", containsComparator(), "666");
+
+        assertThat(instance.matches(new CharSequence() {
+            private final String content = "hello 666 world";
+
+            @Override
+            public int length() {
+                return content.length();
+            }
+
+            @Override
+            public char charAt(int index) {
+                return content.charAt(index);
+            }
+
+            @Override
+            public CharSequence subSequence(int start, int end) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public String toString() {
+                throw new UnsupportedOperationException();
+            }
+        }), equalTo(true));
+    }
+
     @Test
     public void describeTo() throws Exception {
         final Description description = givenDescription();
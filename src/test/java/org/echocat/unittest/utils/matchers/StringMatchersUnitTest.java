@@ -1,8 +1,18 @@
 package org.echocat.unittest.utils.matchers;
 
+import org.echocat.unittest.utils.utils.PatternCache;
 import org.hamcrest.Matcher;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.file.Paths;
+import java.util.regex.Pattern;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.regex.Pattern.CASE_INSENSITIVE;
+import static org.echocat.unittest.utils.matchers.StringMatchers.*;
 import static org.echocat.unittest.utils.matchers.StringMatchers.endsWith;
 import static org.echocat.unittest.utils.matchers.StringMatchers.startsWith;
 import static org.hamcrest.CoreMatchers.*;
@@ -35,11 +45,43 @@ public class StringMatchersUnitTest {
         final Matcher<String> instance = StringMatchers.contains("666");
 
         assertThat(instance, instanceOf(StringBasedMatcher.class));
-        assertThat(((StringBasedMatcher<?>) instance).comparator(), sameInstance(StringBasedMatcher.containsComparator()));
+        assertThat(instance.matches(new StringBuilder("a 666 b")), equalTo(true));
+        assertThat(instance.matches(new StringBuilder("a 66 b")), equalTo(false));
         assertThat(((StringBasedMatcher<?>) instance).comparatorDescription(), equalTo("contains"));
         assertThat(((StringBasedMatcher<?>) instance).expected(), equalTo("666"));
     }
 
+    @Test
+    public void factoryMethodStartsWithIgnoreCase() throws Exception {
+        final Matcher<String> instance = startsWithIgnoreCase("abc");
+
+        assertThat(instance, instanceOf(StringBasedMatcher.class));
+        assertThat(((StringBasedMatcher<?>) instance).comparator(), sameInstance(StringBasedMatcher.startsWithIgnoreCaseComparator()));
+        assertThat(((StringBasedMatcher<?>) instance).comparatorDescription(), equalTo("starts with ignore case"));
+        assertThat(((StringBasedMatcher<?>) instance).expected(), equalTo("abc"));
+    }
+
+    @Test
+    public void factoryMethodEndsWithIgnoreCase() throws Exception {
+        final Matcher<String> instance = endsWithIgnoreCase("abc");
+
+        assertThat(instance, instanceOf(StringBasedMatcher.class));
+        assertThat(((StringBasedMatcher<?>) instance).comparator(), sameInstance(StringBasedMatcher.endsWithIgnoreCaseComparator()));
+        assertThat(((StringBasedMatcher<?>) instance).comparatorDescription(), equalTo("ends with ignore case"));
+        assertThat(((StringBasedMatcher<?>) instance).expected(), equalTo("abc"));
+    }
+
+    @Test
+    public void factoryMethodContainsIgnoreCase() throws Exception {
+        final Matcher<String> instance = containsIgnoreCase("abc");
+
+        assertThat(instance, instanceOf(StringBasedMatcher.class));
+        assertThat(instance.matches(new StringBuilder("x ABC y")), equalTo(true));
+        assertThat(instance.matches(new StringBuilder("x ABD y")), equalTo(false));
+        assertThat(((StringBasedMatcher<?>) instance).comparatorDescription(), equalTo("contains ignore case"));
+        assertThat(((StringBasedMatcher<?>) instance).expected(), equalTo("abc"));
+    }
+
     @Test
     public void factoryMethodMatches() throws Exception {
         final Matcher<String> instance = StringMatchers.matches("666");
@@ -50,6 +92,28 @@ public class StringMatchersUnitTest {
         assertThat(((StringBasedMatcher<?>) instance).expected(), equalTo("666"));
     }
 
+    @Test
+    public void factoryMethodMatchesWithFlags() throws Exception {
+        final Matcher<String> instance = StringMatchers.matches("a+", CASE_INSENSITIVE);
+
+        assertThat(instance, instanceOf(PatternBasedMatcher.class));
+        assertThat(((PatternBasedMatcher<?>) instance).pattern(), sameInstance(PatternCache.compile("a+", CASE_INSENSITIVE)));
+        assertThat(instance.matches("AaA"), equalTo(true));
+        assertThat(instance.matches("AbA"), equalTo(false));
+    }
+
+    @Test
+    public void factoryMethodMatchesWithPattern() throws Exception {
+        final Pattern pattern = Pattern.compile("[0-9]+");
+        final Matcher<String> instance = StringMatchers.matches(pattern);
+
+        assertThat(instance, instanceOf(PatternBasedMatcher.class));
+        assertThat(((PatternBasedMatcher<?>) instance).pattern(), sameInstance(pattern));
+        assertThat(((StringBasedMatcher<?>) instance).expected(), equalTo("[0-9]+"));
+        assertThat(instance.matches("666"), equalTo(true));
+        assertThat(instance.matches("a666"), equalTo(false));
+    }
+
     @Test
     public void factoryMethodEqualsIgnoreCase() throws Exception {
         //noinspection LiteralAsArgToStringEquals
@@ -91,6 +155,72 @@ public class StringMatchersUnitTest {
         assertThat(((StringBasedMatcher<?>) instance).expected(), equalTo("666"));
     }
 
+    @Test
+    public void factoryMethodContainsAll() throws Exception {
+        final Matcher<String> instance = containsAll("foo", "bar");
+
+        assertThat(instance, instanceOf(ContainsKeywords.class));
+        assertThat(((ContainsKeywords<?>) instance).keywords(), equalTo(asList("foo", "bar")));
+        assertThat(((ContainsKeywords<?>) instance).all(), equalTo(true));
+    }
+
+    @Test
+    public void factoryMethodContainsAny() throws Exception {
+        final Matcher<String> instance = containsAny("foo", "bar");
+
+        assertThat(instance, instanceOf(ContainsKeywords.class));
+        assertThat(((ContainsKeywords<?>) instance).keywords(), equalTo(asList("foo", "bar")));
+        assertThat(((ContainsKeywords<?>) instance).all(), equalTo(false));
+    }
+
+    @Test
+    public void factoryMethodContentOf() throws Exception {
+        assertThat(contentOf(new StringReader("666")), instanceOf(Content.class));
+        assertThat(contentOf(new ByteArrayInputStream(new byte[0]), UTF_8), instanceOf(Content.class));
+        assertThat(contentOf(Paths.get("666.txt"), UTF_8), instanceOf(Content.class));
+    }
+
+    @Test
+    public void factoryMethodContentStartsWith() throws Exception {
+        final Matcher<Content> instance = contentStartsWith("666");
+
+        assertThat(instance, instanceOf(ContentBasedMatcher.class));
+        assertThat(((ContentBasedMatcher) instance).comparator(), sameInstance(ContentBasedMatcher.startsWithComparator()));
+        assertThat(((ContentBasedMatcher) instance).comparatorDescription(), equalTo("starts with"));
+        assertThat(((ContentBasedMatcher) instance).expected(), equalTo("666"));
+    }
+
+    @Test
+    public void factoryMethodContentEndsWith() throws Exception {
+        final Matcher<Content> instance = contentEndsWith("666");
+
+        assertThat(instance, instanceOf(ContentBasedMatcher.class));
+        assertThat(((ContentBasedMatcher) instance).comparator(), sameInstance(ContentBasedMatcher.endsWithComparator()));
+        assertThat(((ContentBasedMatcher) instance).comparatorDescription(), equalTo("ends with"));
+        assertThat(((ContentBasedMatcher) instance).expected(), equalTo("666"));
+    }
+
+    @Test
+    public void factoryMethodContentContains() throws Exception {
+        final Matcher<Content> instance = contentContains("666");
+
+        assertThat(instance, instanceOf(ContentBasedMatcher.class));
+        assertThat(((ContentBasedMatcher) instance).comparator().check(new StringReader("a 666 b"), "666"), equalTo(true));
+        assertThat(((ContentBasedMatcher) instance).comparator().check(new StringReader("a 66 b"), "666"), equalTo(false));
+        assertThat(((ContentBasedMatcher) instance).comparatorDescription(), equalTo("contains"));
+        assertThat(((ContentBasedMatcher) instance).expected(), equalTo("666"));
+    }
+
+    @Test
+    public void factoryMethodMatchesLine() throws Exception {
+        final Matcher<Content> instance = matchesLine("6+");
+
+        assertThat(instance, instanceOf(ContentBasedMatcher.class));
+        assertThat(((ContentBasedMatcher) instance).comparatorDescription(), equalTo("has a line that matches regular expression"));
+        assertThat(((ContentBasedMatcher) instance).expected(), equalTo("6+"));
+        assertThat(instance.matches(contentOf(new StringReader("foo\n666\nbar"))), equalTo(true));
+    }
+
     @Test
     public void constructor() {
         new StringMatchers();
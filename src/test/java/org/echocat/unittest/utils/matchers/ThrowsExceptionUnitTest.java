@@ -7,7 +7,15 @@ import org.junit.Test;
 
 import javax.annotation.Nonnull;
 import java.lang.reflect.UndeclaredThrowableException;
-
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import static java.time.Duration.ZERO;
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofSeconds;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.regex.Pattern.compile;
 import static org.echocat.unittest.utils.TestUtils.givenDescription;
 import static org.echocat.unittest.utils.matchers.ThrowsException.throwsException;
@@ -202,6 +210,96 @@ public class ThrowsExceptionUnitTest {
         assertThat(description.toString(), equalTo("message of exception was \"other\""));
     }
 
+    @Test
+    public void within() throws Exception {
+        final ThrowsException<Execution> instance = throwsException(TestException.class, "test").within(ofSeconds(5));
+
+        assertThat(instance.expectedExceptionType(), sameInstance(TestException.class));
+        assertThat(instance.expectedExceptionMessagePattern().map(Pattern::pattern), equalTo(Optional.of("test")));
+        assertThat(instance.timeout(), equalTo(Optional.of(ofSeconds(5))));
+    }
+
+    @Test
+    public void withinRejectsNonPositiveTimeouts() throws Exception {
+        assertThat(() -> throwsException(TestException.class).within(ZERO), throwsException(IllegalArgumentException.class, "The timeout have to be positive but was PT0S\\."));
+    }
+
+    @Test
+    public void matchesWithinTimeout() throws Exception {
+        final Matcher<Execution> instance = throwsException(TestException.class, "test").within(ofSeconds(5));
+
+        assertThat(instance.matches(givenExpectedExceptionThrowingExecution()), equalTo(true));
+        assertThat(instance.matches(givenNoopExecution()), equalTo(false));
+    }
+
+    @Test
+    public void matchesInterruptsExecutionOnTimeout() throws Exception {
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final Execution execution = () -> {
+            try {
+                Thread.sleep(60_000);
+            } catch (final InterruptedException ignored) {
+                interrupted.countDown();
+            }
+            throw new TestException("test");
+        };
+        final Matcher<Execution> instance = throwsException(TestException.class).within(ofMillis(50));
+
+        assertThat(instance.matches(execution), equalTo(false));
+        assertThat(interrupted.await(5, SECONDS), equalTo(true));
+    }
+
+    @Test
+    public void describeToWithTimeout() throws Exception {
+        final Description description = givenDescription();
+
+        throwsException(TestException.class).within(ofMillis(5)).describeTo(description);
+
+        assertThat(description.toString(), equalTo("execution should throw exception of type <" + TestException.class + "> within <PT0.005S>"));
+    }
+
+    @Test
+    public void describeMismatchForTimeout() throws Exception {
+        final Description description = givenDescription();
+        final Matcher<Execution> instance = throwsException(TestException.class).within(ofMillis(50));
+
+        instance.describeMismatch((Execution) () -> Thread.sleep(60_000), description);
+
+        assertThat(description.toString(), startsWith("did not complete and was interrupted after <PT"));
+    }
+
+    @Test
+    public void describeMismatchWithinTimeoutReportsElapsedTime() throws Exception {
+        final Description description = givenDescription();
+        final Matcher<Execution> instance = throwsException(TestException.class).within(ofSeconds(5));
+
+        instance.describeMismatch(givenNoopExecution(), description);
+
+        assertThat(description.toString(), startsWith("throws no exception (completed after <PT"));
+    }
+
+    @Test
+    public void describeMismatchNeverRunsExecutionAgain() throws Exception {
+        final Description description = givenDescription();
+        final Matcher<Execution> instance = throwsException(TestException.class);
+        final AtomicInteger executions = new AtomicInteger();
+        final Execution first = executions::incrementAndGet;
+        final Execution[] others = new Execution[32];
+
+        assertThat(instance.matches(first), equalTo(false));
+        for (int i = 0; i < others.length; i++) {
+            others[i] = new Execution() {
+                @Override
+                public void execute() {}
+            };
+            assertThat(instance.matches(others[i]), equalTo(false));
+        }
+        instance.describeMismatch(first, description);
+
+        assertThat(executions.get(), equalTo(1));
+        assertThat(description.toString(), equalTo("throws no exception"));
+    }
+
     @Nonnull
     protected static Matcher<Execution> givenMessageIgnoringInstance() {
         return throwsException(TestException.class);
@@ -0,0 +1,254 @@
+package org.echocat.unittest.utils.nio;
+
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.NonReadableChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static java.nio.file.Files.*;
+import static java.nio.file.StandardOpenOption.*;
+import static java.util.Arrays.asList;
+import static org.echocat.unittest.utils.matchers.ThrowsException.throwsException;
+import static org.echocat.unittest.utils.nio.MemoryFileSystemProvider.defaultMemoryFileSystem;
+import static org.echocat.unittest.utils.nio.MemoryFileSystemProvider.memoryFileSystemProvider;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class MemoryFileSystemProviderUnitTest {
+
+    private final MemoryFileSystemProvider instance = memoryFileSystemProvider();
+    private final MemoryFileSystem fileSystem = givenFileSystem();
+
+    @Test
+    public void fileSystems() throws Exception {
+        final String name = UUID.randomUUID().toString();
+        final URI uri = URI.create("memory://" + name + "/");
+
+        assertThat(instance.getScheme(), equalTo("memory"));
+        assertThat(defaultMemoryFileSystem(), sameInstance(defaultMemoryFileSystem()));
+        assertThat(() -> instance.getFileSystem(uri), throwsException(FileSystemNotFoundException.class));
+
+        final MemoryFileSystem created = instance.newFileSystem(uri, null);
+
+        assertThat(instance.getFileSystem(uri), sameInstance(created));
+        assertThat(instance.fileSystemFor(name), sameInstance(created));
+        assertThat(() -> instance.newFileSystem(uri, null), throwsException(FileSystemAlreadyExistsException.class));
+        assertThat(() -> instance.getFileSystem(URI.create("foo://bar")), throwsException(IllegalArgumentException.class, "Expected an URI with scheme 'memory' but got: foo://bar"));
+    }
+
+    @Test
+    public void toMemoryPath() throws Exception {
+        assertThat(() -> instance.toMemoryPath(null), throwsException(NullPointerException.class, "No path provided."));
+        assertThat(() -> instance.toMemoryPath(Paths.get("foo")), throwsException(ProviderMismatchException.class, "Could only handle paths of type '" + MemoryPath.class.getName() +
+            "' but got an instance of type '.+'\\."));
+    }
+
+    @Test
+    public void streams() throws Exception {
+        final Path file = fileSystem.getPath("/a.txt");
+        final byte[] content = givenContentOf(3 * MemoryNode.RegularFile.SEGMENT_SIZE + 17);
+
+        try (final OutputStream os = newOutputStream(file)) {
+            os.write(content);
+        }
+
+        assertThat(readAllBytes(file), equalTo(content));
+        try (final InputStream is = newInputStream(file)) {
+            assertThat(is.skip(10), equalTo(10L));
+            assertThat(is.read(), equalTo(content[10] & 0xff));
+        }
+
+        write(file, "abc".getBytes());
+        write(file, "def".getBytes(), APPEND);
+
+        assertThat(new String(readAllBytes(file)), equalTo("abcdef"));
+        assertThat(() -> newInputStream(fileSystem.getPath("/b")), throwsException(NoSuchFileException.class, "/b"));
+        assertThat(() -> newOutputStream(file, CREATE_NEW, WRITE), throwsException(FileAlreadyExistsException.class, "/a.txt"));
+        assertThat(() -> newOutputStream(file, APPEND, TRUNCATE_EXISTING), throwsException(IllegalArgumentException.class));
+        assertThat(() -> newOutputStream(fileSystem.getPath("/")), throwsException(FileSystemException.class));
+    }
+
+    @Test
+    public void fileChannel() throws Exception {
+        final Path file = fileSystem.getPath("/a.bin");
+
+        try (final FileChannel channel = FileChannel.open(file, CREATE, READ, WRITE)) {
+            assertThat(channel.write(ByteBuffer.wrap("hello".getBytes()), 10), equalTo(5));
+            assertThat(channel.size(), equalTo(15L));
+
+            final ByteBuffer buffer = ByteBuffer.allocate(15);
+            assertThat(channel.read(buffer), equalTo(15));
+            assertThat(buffer.array(), equalTo(new byte[]{0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 'h', 'e', 'l', 'l', 'o'}));
+            assertThat(channel.position(), equalTo(15L));
+            assertThat(channel.read(ByteBuffer.allocate(1)), equalTo(-1));
+
+            channel.truncate(11);
+            assertThat(channel.position(), equalTo(11L));
+            channel.write(ByteBuffer.wrap("i".getBytes()), 13);
+            final ByteBuffer truncated = ByteBuffer.allocate(4);
+            channel.read(truncated, 10);
+            assertThat(truncated.array(), equalTo(new byte[]{'h', 0, 0, 'i'}));
+            assertThat(channel.tryLock().isValid(), equalTo(true));
+        }
+
+        try (final FileChannel channel = FileChannel.open(file, READ)) {
+            assertThat(() -> channel.write(ByteBuffer.allocate(1)), throwsException(NonWritableChannelException.class));
+        }
+        try (final FileChannel channel = FileChannel.open(file, WRITE)) {
+            assertThat(() -> channel.read(ByteBuffer.allocate(1)), throwsException(NonReadableChannelException.class));
+        }
+        try (final FileChannel ignored = FileChannel.open(file, READ, DELETE_ON_CLOSE)) {
+            assertThat(exists(file), equalTo(true));
+        }
+        assertThat(exists(file), equalTo(false));
+    }
+
+    @Test
+    public void copiesAreIndependent() throws Exception {
+        final byte[] content = givenContentOf(2 * MemoryNode.RegularFile.SEGMENT_SIZE + 3);
+        final Path source = write(fileSystem.getPath("/a"), content);
+        final Path target = copy(source, fileSystem.getPath("/b"));
+
+        write(target, "foo".getBytes(), APPEND);
+
+        assertThat(readAllBytes(source), equalTo(content));
+        assertThat(size(target), equalTo(content.length + 3L));
+
+        write(source, "bar".getBytes());
+
+        assertThat(new String(readAllBytes(source)), equalTo("bar"));
+        assertThat(size(target), equalTo(content.length + 3L));
+    }
+
+    @Test
+    public void segmentsAreSizedToContent() throws Exception {
+        final MemoryPath file = fileSystem.getPath("/small");
+        final int segmentSize = MemoryNode.RegularFile.SEGMENT_SIZE;
+
+        write(file, "abc".getBytes());
+        assertThat(allocatedBy(file), equalTo((long) MemoryNode.RegularFile.MINIMUM_SEGMENT_SIZE));
+
+        write(file, givenContentOf(100), APPEND);
+        assertThat(allocatedBy(file), equalTo(128L));
+
+        final byte[] content = givenContentOf(segmentSize + 100);
+        write(file, content);
+        assertThat(allocatedBy(file), equalTo(segmentSize + 100L));
+        assertThat(readAllBytes(file), equalTo(content));
+
+        write(file, "abc".getBytes(), APPEND);
+        assertThat(size(file), equalTo(segmentSize + 103L));
+        assertThat(readAllBytes(file)[segmentSize + 100], equalTo((byte) 'a'));
+    }
+
+    @Test
+    public void getFileStore() throws Exception {
+        assertThat(() -> instance.getFileStore(fileSystem.getPath("/")), throwsException(IOException.class, "File stores are not supported by in-memory file systems\\."));
+    }
+
+    @Test
+    public void directoryStream() throws Exception {
+        final Path directory = createDirectory(fileSystem.getPath("/a"));
+        createFile(directory.resolve("c.txt"));
+        createFile(directory.resolve("b.txt"));
+        createDirectory(directory.resolve("d"));
+        final List<Path> entries = new ArrayList<>();
+
+        try (final DirectoryStream<Path> stream = newDirectoryStream(directory, "*.txt")) {
+            stream.forEach(entries::add);
+        }
+
+        assertThat(entries, equalTo(asList(directory.resolve("b.txt"), directory.resolve("c.txt"))));
+        assertThat(() -> newDirectoryStream(directory.resolve("b.txt")), throwsException(NotDirectoryException.class, "/a/b.txt"));
+    }
+
+    @Test
+    public void links() throws Exception {
+        final Path file = write(fileSystem.getPath("/a"), "hello".getBytes());
+        final Path link = createLink(fileSystem.getPath("/b"), file);
+
+        write(link, "world".getBytes());
+
+        assertThat(new String(readAllBytes(file)), equalTo("world"));
+        assertThat(isSameFile(file, link), equalTo(true));
+        assertThat(isSameFile(file, fileSystem.getPath("/")), equalTo(false));
+        assertThat(isSymbolicLink(link), equalTo(false));
+        assertThat(() -> createSymbolicLink(fileSystem.getPath("/c"), file), throwsException(UnsupportedOperationException.class));
+        assertThat(() -> readSymbolicLink(link), throwsException(NotLinkException.class, "/b"));
+        assertThat(() -> createLink(fileSystem.getPath("/c"), fileSystem.getPath("/")), throwsException(FileSystemException.class));
+    }
+
+    @Test
+    public void attributes() throws Exception {
+        final Path file = write(fileSystem.getPath("/.a"), "hello".getBytes());
+        final FileTime time = FileTime.fromMillis(666000L);
+
+        final BasicFileAttributes attributes = readAttributes(file, BasicFileAttributes.class);
+
+        assertThat(attributes.isRegularFile(), equalTo(true));
+        assertThat(attributes.isDirectory(), equalTo(false));
+        assertThat(attributes.size(), equalTo(5L));
+        assertThat(isHidden(file), equalTo(true));
+        assertThat(() -> readAttributes(file, PosixFileAttributes.class), throwsException(UnsupportedOperationException.class));
+
+        setLastModifiedTime(file, time);
+        getFileAttributeView(file, BasicFileAttributeView.class).setTimes(null, time, time);
+
+        final Map<String, Object> map = readAttributes(file, "basic:size,lastModifiedTime,creationTime");
+        assertThat(map.get("size"), equalTo(5L));
+        assertThat(map.get("lastModifiedTime"), equalTo(time));
+        assertThat(map.get("creationTime"), equalTo(time));
+        assertThat(getAttribute(file, "isDirectory"), equalTo(false));
+        assertThat(readAttributes(file, "*").size(), equalTo(9));
+        assertThat(() -> readAttributes(file, "posix:*"), throwsException(UnsupportedOperationException.class, "View 'posix' is not supported."));
+        assertThat(() -> readAttributes(file, "foo"), throwsException(IllegalArgumentException.class, "Attribute 'foo' is not supported."));
+        assertThat(() -> setAttribute(file, "size", 1L), throwsException(IllegalArgumentException.class, "Attribute 'size' could not be set."));
+    }
+
+    @Test
+    public void temporaryDirectories() throws Exception {
+        final Path directory = createTempDirectory(fileSystem.getPath("/"), "foo-");
+        final Path file = createTempFile(directory, "bar-", ".txt");
+
+        assertThat(directory.getParent(), equalTo(fileSystem.getPath("/")));
+        assertThat(directory.getFileName().toString().startsWith("foo-"), equalTo(true));
+        assertThat(file.getParent(), equalTo(directory));
+        assertThat(isRegularFile(file), equalTo(true));
+    }
+
+    protected long allocatedBy(@Nonnull MemoryPath path) throws Exception {
+        return ((MemoryNode.RegularFile) fileSystem.require(path)).allocated();
+    }
+
+    @Nonnull
+    protected static byte[] givenContentOf(int length) {
+        final byte[] result = new byte[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = (byte) i;
+        }
+        return result;
+    }
+
+    @Nonnull
+    protected MemoryFileSystem givenFileSystem() {
+        return memoryFileSystemProvider().newFileSystem(UUID.randomUUID().toString());
+    }
+
+}
@@ -0,0 +1,105 @@
+package org.echocat.unittest.utils.nio;
+
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.nio.file.*;
+import java.util.UUID;
+
+import static java.nio.file.Files.*;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static org.echocat.unittest.utils.matchers.ThrowsException.throwsException;
+import static org.echocat.unittest.utils.nio.MemoryFileSystemProvider.memoryFileSystemProvider;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class MemoryFileSystemUnitTest {
+
+    @Test
+    public void properties() throws Exception {
+        final MemoryFileSystem instance = givenInstance();
+
+        assertThat(instance.provider(), sameInstance(memoryFileSystemProvider()));
+        assertThat(instance.getSeparator(), equalTo("/"));
+        assertThat(instance.isOpen(), equalTo(true));
+        assertThat(instance.isReadOnly(), equalTo(false));
+        assertThat(instance.getRootDirectories(), equalTo(singletonList(instance.getPath("/"))));
+        assertThat(instance.supportedFileAttributeViews(), equalTo(singleton("basic")));
+        assertThat(instance.toString(), equalTo("memory://" + instance.name()));
+    }
+
+    @Test
+    public void getPathMatcher() throws Exception {
+        final MemoryFileSystem instance = givenInstance();
+
+        assertThat(instance.getPathMatcher("glob:/a/*.txt").matches(instance.getPath("/a/b.txt")), equalTo(true));
+        assertThat(instance.getPathMatcher("glob:/a/*.txt").matches(instance.getPath("/a/b/c.txt")), equalTo(false));
+        assertThat(instance.getPathMatcher("glob:/a/**.txt").matches(instance.getPath("/a/b/c.txt")), equalTo(true));
+        assertThat(instance.getPathMatcher("glob:*.{txt,md}").matches(instance.getPath("b.md")), equalTo(true));
+        assertThat(instance.getPathMatcher("glob:[!a]?").matches(instance.getPath("bc")), equalTo(true));
+        assertThat(instance.getPathMatcher("glob:[!a]?").matches(instance.getPath("ac")), equalTo(false));
+        assertThat(instance.getPathMatcher("regex:/a/[0-9]+").matches(instance.getPath("/a/123")), equalTo(true));
+        assertThat(() -> instance.getPathMatcher("foo"), throwsException(IllegalArgumentException.class, "Expected <syntax>:<pattern> but got: foo"));
+        assertThat(() -> instance.getPathMatcher("foo:bar"), throwsException(UnsupportedOperationException.class, "Syntax 'foo' is not supported."));
+    }
+
+    @Test
+    public void unsupportedServices() throws Exception {
+        final MemoryFileSystem instance = givenInstance();
+
+        assertThat(instance::newWatchService, throwsException(UnsupportedOperationException.class));
+        assertThat(instance::getUserPrincipalLookupService, throwsException(UnsupportedOperationException.class));
+    }
+
+    @Test
+    public void treeOperations() throws Exception {
+        final MemoryFileSystem instance = givenInstance();
+        final Path a = createDirectories(instance.getPath("/a/b"));
+        final Path file = write(a.resolve("c.txt"), "hello".getBytes());
+
+        assertThat(isDirectory(a), equalTo(true));
+        assertThat(isRegularFile(file), equalTo(true));
+        assertThat(size(file), equalTo(5L));
+        assertThat(() -> createDirectory(a), throwsException(FileAlreadyExistsException.class, "/a/b"));
+        assertThat(() -> createDirectory(instance.getPath("/x/y")), throwsException(NoSuchFileException.class, "/x"));
+        assertThat(() -> createDirectory(file.resolve("d")), throwsException(NotDirectoryException.class, "/a/b/c.txt"));
+        assertThat(() -> delete(a), throwsException(DirectoryNotEmptyException.class, "/a/b"));
+        assertThat(() -> delete(instance.getPath("/")), throwsException(FileSystemException.class));
+
+        copy(file, a.resolve("d.txt"));
+        move(a.resolve("d.txt"), instance.getPath("/a/e.txt"));
+
+        assertThat(new String(readAllBytes(instance.getPath("/a/e.txt"))), equalTo("hello"));
+        assertThat(exists(a.resolve("d.txt")), equalTo(false));
+        assertThat(() -> move(instance.getPath("/a"), instance.getPath("/a/b/f")), throwsException(FileSystemException.class));
+        assertThat(() -> copy(file, instance.getPath("/a/e.txt")), throwsException(FileAlreadyExistsException.class, "/a/e.txt"));
+
+        copy(file, instance.getPath("/a/e.txt"), REPLACE_EXISTING);
+        delete(file);
+        delete(a);
+
+        assertThat(exists(a), equalTo(false));
+        assertThat(() -> delete(a), throwsException(NoSuchFileException.class, "/a/b"));
+    }
+
+    @Test
+    public void close() throws Exception {
+        final MemoryFileSystem instance = givenInstance();
+        final Path file = write(instance.getPath("/a"), "hello".getBytes());
+
+        instance.close();
+
+        assertThat(instance.isOpen(), equalTo(false));
+        assertThat(() -> readAllBytes(file), throwsException(ClosedFileSystemException.class));
+        assertThat(memoryFileSystemProvider().newFileSystem(instance.name()).isOpen(), equalTo(true));
+    }
+
+    @Nonnull
+    protected static MemoryFileSystem givenInstance() {
+        return memoryFileSystemProvider().newFileSystem(UUID.randomUUID().toString());
+    }
+
+}
@@ -0,0 +1,146 @@
+package org.echocat.unittest.utils.nio;
+
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.net.URI;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.nio.file.ProviderMismatchException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static java.util.Arrays.asList;
+import static org.echocat.unittest.utils.matchers.ThrowsException.throwsException;
+import static org.echocat.unittest.utils.nio.MemoryFileSystemProvider.memoryFileSystemProvider;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class MemoryPathUnitTest {
+
+    private final MemoryFileSystem fileSystem = givenFileSystem();
+
+    @Test
+    public void parse() throws Exception {
+        assertThat(path("/a/b").toString(), equalTo("/a/b"));
+        assertThat(path("a//b/").toString(), equalTo("a/b"));
+        assertThat(fileSystem.getPath("/a", "b", "", "c").toString(), equalTo("/a/b/c"));
+        assertThat(path("/").toString(), equalTo("/"));
+        assertThat(path("/a").isAbsolute(), equalTo(true));
+        assertThat(path("a").isAbsolute(), equalTo(false));
+    }
+
+    @Test
+    public void structure() throws Exception {
+        final MemoryPath instance = path("/a/b/c");
+
+        assertThat(instance.getRoot(), equalTo(path("/")));
+        assertThat(instance.getFileName(), equalTo(path("c")));
+        assertThat(instance.getParent(), equalTo(path("/a/b")));
+        assertThat(path("/a").getParent(), equalTo(path("/")));
+        assertThat(path("/").getParent(), nullValue());
+        assertThat(path("a").getParent(), nullValue());
+        assertThat(path("a").getRoot(), nullValue());
+        assertThat(instance.getNameCount(), equalTo(3));
+        assertThat(instance.getName(1), equalTo(path("b")));
+        assertThat(instance.subpath(1, 3), equalTo(path("b/c")));
+        assertThat(() -> instance.getName(3), throwsException(IllegalArgumentException.class, "Index 3 is out of range of /a/b/c."));
+        assertThat(() -> instance.subpath(2, 2), throwsException(IllegalArgumentException.class, "Range 2..2 is out of range of /a/b/c."));
+    }
+
+    @Test
+    public void startsWithAndEndsWith() throws Exception {
+        final MemoryPath instance = path("/a/b/c");
+
+        assertThat(instance.startsWith("/a/b"), equalTo(true));
+        assertThat(instance.startsWith("/"), equalTo(true));
+        assertThat(instance.startsWith("a/b"), equalTo(false));
+        assertThat(instance.startsWith("/a/bc"), equalTo(false));
+        assertThat(instance.startsWith(Paths.get("/a")), equalTo(false));
+        assertThat(instance.endsWith("b/c"), equalTo(true));
+        assertThat(instance.endsWith("/a/b/c"), equalTo(true));
+        assertThat(instance.endsWith("/b/c"), equalTo(false));
+        assertThat(instance.endsWith("a/c"), equalTo(false));
+    }
+
+    @Test
+    public void normalize() throws Exception {
+        assertThat(path("/a/./b/../c").normalize(), equalTo(path("/a/c")));
+        assertThat(path("/../a").normalize(), equalTo(path("/a")));
+        assertThat(path("../a/../../b").normalize(), equalTo(path("../../b")));
+    }
+
+    @Test
+    public void resolve() throws Exception {
+        assertThat(path("/a").resolve("b/c"), equalTo(path("/a/b/c")));
+        assertThat(path("/a").resolve("/b"), equalTo(path("/b")));
+        assertThat(path("/a").resolve(""), equalTo(path("/a")));
+        assertThat(path("/a/b").resolveSibling("c"), equalTo(path("/a/c")));
+        assertThat(path("a").resolveSibling("c"), equalTo(path("c")));
+        assertThat(() -> path("/a").resolve(Paths.get("b")), throwsException(ProviderMismatchException.class));
+    }
+
+    @Test
+    public void relativize() throws Exception {
+        assertThat(path("/a/b").relativize(path("/a/c/d")), equalTo(path("../c/d")));
+        assertThat(path("/a").relativize(path("/a/b")), equalTo(path("b")));
+        assertThat(path("/a/b").resolve(path("/a/b").relativize(path("/c"))).normalize(), equalTo(path("/c")));
+        assertThat(() -> path("/a").relativize(path("b")), throwsException(IllegalArgumentException.class, "Could not relativize b against /a."));
+    }
+
+    @Test
+    public void toUriAndBack() throws Exception {
+        final MemoryPath instance = path("/a/b");
+
+        final URI uri = instance.toUri();
+
+        assertThat(uri.getScheme(), equalTo("memory"));
+        assertThat(uri.getAuthority(), equalTo(fileSystem.name()));
+        assertThat(memoryFileSystemProvider().getPath(uri), equalTo(instance));
+    }
+
+    @Test
+    public void toAbsoluteAndRealPath() throws Exception {
+        assertThat(path("a").toAbsolutePath(), equalTo(path("/a")));
+        assertThat(() -> path("a/../b").toRealPath(), throwsException(NoSuchFileException.class, "/b"));
+
+        fileSystem.createDirectory(path("/b"));
+
+        assertThat(path("a/../b").toRealPath(), equalTo(path("/b")));
+    }
+
+    @Test
+    public void toFile() throws Exception {
+        assertThat(() -> path("/a").toFile(), throwsException(UnsupportedOperationException.class));
+    }
+
+    @Test
+    public void iterator() throws Exception {
+        final List<Object> names = new ArrayList<>();
+        path("/a/b/c").iterator().forEachRemaining(names::add);
+
+        assertThat(names, equalTo(asList(path("a"), path("b"), path("c"))));
+    }
+
+    @Test
+    public void equalsAndCompareTo() throws Exception {
+        assertThat(path("/a").equals(path("/a")), equalTo(true));
+        assertThat(path("/a").hashCode(), equalTo(path("/a").hashCode()));
+        assertThat(path("/a").equals(path("a")), equalTo(false));
+        assertThat(path("/a").equals(givenFileSystem().getPath("/a")), equalTo(false));
+        assertThat(path("/a").compareTo(path("/b")) < 0, equalTo(true));
+    }
+
+    @Nonnull
+    protected MemoryPath path(@Nonnull String plain) {
+        return fileSystem.getPath(plain);
+    }
+
+    @Nonnull
+    protected static MemoryFileSystem givenFileSystem() {
+        return memoryFileSystemProvider().newFileSystem(UUID.randomUUID().toString());
+    }
+
+}
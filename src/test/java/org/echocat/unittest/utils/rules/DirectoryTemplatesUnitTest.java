@@ -0,0 +1,163 @@
+package org.echocat.unittest.utils.rules;
+
+import org.echocat.unittest.utils.rules.TestDirectory.ContentProducer;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+import javax.annotation.Nonnull;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.file.Files.*;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.attribute.PosixFilePermission.OWNER_WRITE;
+import static org.echocat.unittest.utils.matchers.ThrowsException.throwsException;
+import static org.echocat.unittest.utils.nio.MemoryFileSystemProvider.defaultMemoryFileSystem;
+import static org.echocat.unittest.utils.rules.DirectoryTemplates.directoryTemplates;
+import static org.echocat.unittest.utils.rules.TestDirectory.fromTemplate;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class DirectoryTemplatesUnitTest {
+
+    @Test
+    public void producerRunsOncePerKey() throws Throwable {
+        final AtomicInteger productions = new AtomicInteger();
+        final Object key = new Object();
+
+        for (int i = 0; i < 3; i++) {
+            final TestDirectory instance = new TestDirectory(fromTemplate(key, givenProducerCounting(productions)));
+            evaluate(instance, () -> assertThat(new String(readAllBytes(instance.resolve("a/b.txt"))), equalTo("template")));
+        }
+
+        assertThat(productions.get(), equalTo(1));
+    }
+
+    @Test
+    public void producerRunsOncePerKeyAndFileSystem() throws Throwable {
+        final AtomicInteger productions = new AtomicInteger();
+        final Object key = new Object();
+
+        evaluate(new TestDirectory(fromTemplate(key, givenProducerCounting(productions))), () -> {});
+        evaluate(new TestDirectory(fromTemplate(key, givenProducerCounting(productions))).withInMemoryFileSystem(), () -> {});
+
+        assertThat(productions.get(), equalTo(2));
+    }
+
+    @Test
+    public void evaluationsAreIsolatedFromEachOther() throws Throwable {
+        final Object key = new Object();
+
+        for (int i = 0; i < 2; i++) {
+            final TestDirectory instance = new TestDirectory(fromTemplate(key, givenProducerCounting(new AtomicInteger())));
+            evaluate(instance, () -> {
+                final Path file = instance.resolve("a/b.txt");
+                assertThat(new String(readAllBytes(file)), equalTo("template"));
+                write(file, "MUTATED".getBytes());
+                delete(file);
+            });
+        }
+
+        final Path template = directoryTemplates().templateDirectoryOf(key, FileSystems.getDefault());
+        assertThat(template, notNullValue());
+        assertThat(new String(readAllBytes(template.resolve("a/b.txt"))), equalTo("template"));
+    }
+
+    @Test
+    public void filesAreLinkedUntilFirstWrite() throws Throwable {
+        final Object key = new Object();
+        final TestDirectory instance = new TestDirectory(fromTemplate(key, givenProducerCounting(new AtomicInteger())));
+
+        evaluate(instance, () -> {
+            final Path template = directoryTemplates().templateDirectoryOf(key, FileSystems.getDefault());
+            final Path file = instance.resolve("a/b.txt");
+            assertThat(isSameFile(file, template.resolve("a/b.txt")), equalTo(true));
+            assertThat(getPosixFilePermissions(template.resolve("a/b.txt")).contains(OWNER_WRITE), equalTo(false));
+
+            write(file, "MUTATED".getBytes(), APPEND);
+
+            assertThat(isSameFile(file, template.resolve("a/b.txt")), equalTo(false));
+            assertThat(getPosixFilePermissions(file).contains(OWNER_WRITE), equalTo(true));
+            assertThat(new String(readAllBytes(file)), equalTo("templateMUTATED"));
+            assertThat(new String(readAllBytes(template.resolve("a/b.txt"))), equalTo("template"));
+        });
+    }
+
+    @Test
+    public void templateModifiedThroughLinkIsProducedAgain() throws Throwable {
+        final AtomicInteger productions = new AtomicInteger();
+        final Object key = new Object();
+
+        final TestDirectory first = new TestDirectory(fromTemplate(key, givenProducerCounting(productions)));
+        evaluate(first, () -> write(first.wrapped().resolve("a/b.txt"), "MUTATED".getBytes()));
+
+        final TestDirectory second = new TestDirectory(fromTemplate(key, givenProducerCounting(productions)));
+        evaluate(second, () -> assertThat(new String(readAllBytes(second.resolve("a/b.txt"))), equalTo("template")));
+
+        assertThat(productions.get(), equalTo(2));
+    }
+
+    @Test
+    public void failedProductionIsRetried() throws Throwable {
+        final Object key = new Object();
+        final AtomicInteger attempts = new AtomicInteger();
+        final ContentProducer producer = path -> {
+            write(path.resolve("partial.txt"), "partial".getBytes());
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("expected");
+            }
+        };
+
+        assertThat(() -> evaluate(new TestDirectory(fromTemplate(key, producer)), () -> {}), throwsException(IllegalStateException.class, "expected"));
+        assertThat(directoryTemplates().templateDirectoryOf(key, FileSystems.getDefault()), nullValue());
+
+        evaluate(new TestDirectory(fromTemplate(key, producer)), () -> {});
+
+        assertThat(attempts.get(), equalTo(2));
+    }
+
+    @Test
+    public void clearRemovesTemplateDirectories() throws Throwable {
+        final DirectoryTemplates instance = new DirectoryTemplates();
+        final Object key = new Object();
+        final Path target = createDirectory(defaultMemoryFileSystem().getPath("/clear-" + System.identityHashCode(key)));
+
+        instance.cloneInto(key, givenProducerCounting(new AtomicInteger()), target);
+        final Path template = instance.templateDirectoryOf(key, target.getFileSystem());
+
+        assertThat(exists(template.resolve("a/b.txt")), equalTo(true));
+        assertThat(exists(target.resolve("a/b.txt")), equalTo(true));
+
+        instance.clear();
+
+        assertThat(exists(template), equalTo(false));
+        assertThat(instance.templateDirectoryOf(key, target.getFileSystem()), nullValue());
+    }
+
+    @Nonnull
+    protected static ContentProducer givenProducerCounting(@Nonnull AtomicInteger productions) {
+        return path -> {
+            productions.incrementAndGet();
+            write(createDirectories(path.resolve("a")).resolve("b.txt"), "template".getBytes());
+        };
+    }
+
+    protected static void evaluate(@Nonnull TestDirectory rule, @Nonnull Evaluation evaluation) throws Throwable {
+        rule.apply(new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                evaluation.evaluate();
+            }
+        }, Description.createTestDescription(DirectoryTemplatesUnitTest.class, "evaluate")).evaluate();
+    }
+
+    @FunctionalInterface
+    protected interface Evaluation {
+        void evaluate() throws Throwable;
+    }
+
+}
@@ -0,0 +1,192 @@
+package org.echocat.unittest.utils.rules;
+
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+import static java.nio.file.Files.*;
+import static org.echocat.unittest.utils.matchers.ThrowsException.throwsException;
+import static org.echocat.unittest.utils.rules.BackgroundCleanup.backgroundCleanup;
+import static org.echocat.unittest.utils.rules.TemporaryDirectoryBasedRuleSupport.awaitBackgroundCleanup;
+import static org.echocat.unittest.utils.rules.TemporaryDirectoryBasedRuleSupport.backgroundCleanupReporter;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class TemporaryDirectoryBasedRuleSupportUnitTest {
+
+    @Test
+    public void deletesDirectoriesInParallel() throws Throwable {
+        final TestDirectory instance = new TestDirectory().setCleanupParallelism(4);
+        final AtomicReference<Path> baseDirectory = new AtomicReference<>();
+
+        evaluate(instance, () -> {
+            baseDirectory.set(instance.wrapped());
+            givenTreeIn(instance.wrapped());
+        });
+
+        assertThat(exists(baseDirectory.get()), equalTo(false));
+    }
+
+    @Test
+    public void parallelCleanupFailsWithUnwrappedIOException() throws Throwable {
+        final TestDirectory instance = givenInstanceFailingWhileDeletingFiles().setCleanupParallelism(4);
+        final AtomicReference<Path> baseDirectory = new AtomicReference<>();
+
+        try {
+            assertThat(() -> evaluate(instance, () -> {
+                baseDirectory.set(instance.wrapped());
+                givenTreeIn(instance.wrapped());
+            }), throwsException(IOException.class, "expected"));
+        } finally {
+            new TestDirectory().setFailOnProblemsWhileCleanup(false).deleteDirectorySerially(baseDirectory.get());
+        }
+    }
+
+    @Test
+    public void parallelCleanupIgnoresProblemsIfConfigured() throws Throwable {
+        final TestDirectory instance = givenInstanceFailingWhileDeletingFiles().setCleanupParallelism(4).setFailOnProblemsWhileCleanup(false);
+        final AtomicReference<Path> baseDirectory = new AtomicReference<>();
+
+        evaluate(instance, () -> {
+            baseDirectory.set(instance.wrapped());
+            givenTreeIn(instance.wrapped());
+        });
+
+        assertThat(exists(baseDirectory.get()), equalTo(false));
+    }
+
+    @Test
+    public void setCleanupParallelism() throws Exception {
+        final TestDirectory instance = new TestDirectory();
+
+        assertThat(instance.getCleanupParallelism(), equalTo(1));
+        assertThat(instance.setCleanupParallelism(3).getCleanupParallelism(), equalTo(3));
+        assertThat(() -> instance.setCleanupParallelism(0), throwsException(IllegalArgumentException.class, "The cleanup parallelism have to be positive but was 0\\."));
+        assertThat(() -> instance.setCleanupParallelism(-1), throwsException(IllegalArgumentException.class, "The cleanup parallelism have to be positive but was -1\\."));
+        assertThat(instance.getCleanupParallelism(), equalTo(3));
+    }
+
+    @Test
+    public void asyncCleanupRemovesDirectoryAndTrash() throws Throwable {
+        final TestDirectory instance = new TestDirectory().withAsyncCleanup();
+        final AtomicReference<Path> baseDirectory = new AtomicReference<>();
+
+        evaluate(instance, () -> {
+            baseDirectory.set(instance.wrapped());
+            givenTreeIn(instance.wrapped());
+        });
+        awaitBackgroundCleanup(TemporaryDirectoryBasedRuleSupportUnitTest.class);
+
+        assertThat(exists(baseDirectory.get()), equalTo(false));
+        assertThat(exists(baseDirectory.get().resolveSibling(TemporaryDirectoryBasedRuleSupport.TRASH_DIRECTORY_PREFIX + baseDirectory.get().getFileName())), equalTo(false));
+    }
+
+    @Test
+    public void asyncCleanupProblemsAreNotReportedToFollowingTests() throws Throwable {
+        final Description failing = Description.createTestDescription(FailingOwner.class, "evaluate");
+
+        evaluate(givenInstanceFailingWhileDeletingDirectories().withAsyncCleanup(), failing, () -> {});
+        givenBackgroundCleanupIsIdle();
+
+        evaluate(new TestDirectory(), failing, () -> {});
+        assertThat(() -> awaitBackgroundCleanup(FailingOwner.class), throwsException(IOException.class));
+    }
+
+    @Test
+    public void backgroundCleanupReporterReportsProblemsAtEndOfTestClass() throws Throwable {
+        final Description testClass = Description.createSuiteDescription(FailingOwner.class);
+        final Description failing = Description.createTestDescription(FailingOwner.class, "evaluate");
+        final Statement tests = new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                TemporaryDirectoryBasedRuleSupportUnitTest.evaluate(givenInstanceFailingWhileDeletingDirectories().withAsyncCleanup(), failing, () -> {});
+            }
+        };
+
+        assertThat(() -> backgroundCleanupReporter().apply(tests, testClass).evaluate(), throwsException(IOException.class,
+            "Background cleanup of .+ created for evaluate\\(" + Pattern.quote(FailingOwner.class.getName()) + "\\) failed\\."));
+        awaitBackgroundCleanup(FailingOwner.class);
+    }
+
+    @Test
+    public void awaitBackgroundCleanupReportsOnlyProblemsOfGivenTestClass() throws Throwable {
+        final Description failing = Description.createTestDescription(FailingOwner.class, "evaluate");
+
+        evaluate(givenInstanceFailingWhileDeletingDirectories().withAsyncCleanup(), failing, () -> {});
+
+        awaitBackgroundCleanup(OtherOwner.class);
+        assertThat(() -> awaitBackgroundCleanup(FailingOwner.class), throwsException(IOException.class, "Background cleanup of .+ failed\\."));
+        awaitBackgroundCleanup(FailingOwner.class);
+    }
+
+    @Nonnull
+    protected static TestDirectory givenInstanceFailingWhileDeletingDirectories() {
+        return new TestDirectory() {
+            @Override
+            protected void deleteDirectory(@Nonnull Path what) throws Exception {
+                super.deleteDirectory(what);
+                throw new IOException("expected");
+            }
+        };
+    }
+
+    protected static void givenBackgroundCleanupIsIdle() throws Exception {
+        final String barrier = TemporaryDirectoryBasedRuleSupportUnitTest.class.getName() + "#barrier";
+        backgroundCleanup().submit(barrier, () -> {});
+        backgroundCleanup().drain(barrier);
+    }
+
+    @Nonnull
+    protected static TestDirectory givenInstanceFailingWhileDeletingFiles() {
+        return new TestDirectory() {
+            @Override
+            protected void deleteFiles(@Nonnull List<Path> files) {
+                super.deleteFiles(files);
+                handleExceptionIfRequiredUnchecked(new IOException("expected"));
+            }
+        };
+    }
+
+    protected static void givenTreeIn(@Nonnull Path directory) throws IOException {
+        for (int i = 0; i < 3; i++) {
+            final Path subDirectory = createDirectories(directory.resolve("sub" + i).resolve("nested"));
+            for (int j = 0; j < TemporaryDirectoryBasedRuleSupport.FILES_PER_DELETE_TASK + 10; j++) {
+                createFile(subDirectory.resolve("file" + j));
+                createFile(subDirectory.getParent().resolve("file" + j));
+            }
+        }
+        for (int j = 0; j < 2 * TemporaryDirectoryBasedRuleSupport.FILES_PER_DELETE_TASK + 10; j++) {
+            createFile(directory.resolve("file" + j));
+        }
+    }
+
+    protected static void evaluate(@Nonnull TestDirectory rule, @Nonnull Evaluation evaluation) throws Throwable {
+        evaluate(rule, Description.createTestDescription(TemporaryDirectoryBasedRuleSupportUnitTest.class, "evaluate"), evaluation);
+    }
+
+    protected static void evaluate(@Nonnull TestDirectory rule, @Nonnull Description description, @Nonnull Evaluation evaluation) throws Throwable {
+        rule.apply(new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                evaluation.evaluate();
+            }
+        }, description).evaluate();
+    }
+
+    @FunctionalInterface
+    protected interface Evaluation {
+        void evaluate() throws Throwable;
+    }
+
+    protected static class FailingOwner {}
+
+    protected static class OtherOwner {}
+
+}
@@ -0,0 +1,119 @@
+package org.echocat.unittest.utils.rules;
+
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.nio.file.FileSystem;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.nio.file.Files.exists;
+import static java.nio.file.Files.isDirectory;
+import static org.echocat.unittest.utils.matchers.ThrowsException.throwsException;
+import static org.echocat.unittest.utils.nio.MemoryFileSystemProvider.defaultMemoryFileSystem;
+import static org.echocat.unittest.utils.nio.MemoryFileSystemProvider.memoryFileSystemProvider;
+import static org.echocat.unittest.utils.rules.TemporaryDirectoryPool.temporaryDirectoryPoolFor;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class TemporaryDirectoryPoolUnitTest {
+
+    @Test
+    public void poolsAreSharedPerRoot() throws Exception {
+        final Path root = givenRoot();
+
+        try (final TemporaryDirectoryPool instance = temporaryDirectoryPoolFor(root, 2)) {
+            try (final TemporaryDirectoryPool same = temporaryDirectoryPoolFor(root.resolve("foo").resolve(".."), 2)) {
+                assertThat(same, sameInstance(instance));
+            }
+            try (final TemporaryDirectoryPool other = temporaryDirectoryPoolFor(givenRoot(), 2)) {
+                assertThat(other, not(sameInstance(instance)));
+            }
+            assertThat(() -> temporaryDirectoryPoolFor(root, 3), throwsException(IllegalArgumentException.class, "There is already a pool for " + root + " with capacity 2 but capacity 3 was requested\\."));
+            assertThat(() -> temporaryDirectoryPoolFor(root, 0), throwsException(IllegalArgumentException.class));
+        }
+    }
+
+    @Test
+    public void acquire() throws Exception {
+        final Path root = givenRoot();
+
+        try (final TemporaryDirectoryPool instance = temporaryDirectoryPoolFor(root, 2)) {
+            final Path first = instance.acquire();
+            final Path second = instance.acquire();
+            final Path third = instance.acquire();
+
+            assertThat(isDirectory(first), equalTo(true));
+            assertThat(first.getParent(), equalTo(root));
+            assertThat(first.getFileName().toString().startsWith(TemporaryDirectoryPool.DIRECTORY_PREFIX), equalTo(true));
+            assertThat(second, not(equalTo(first)));
+            assertThat(third, not(equalTo(second)));
+            assertThat(instance.capacity(), equalTo(2));
+        }
+    }
+
+    @Test
+    public void close() throws Exception {
+        final Path root = givenRoot();
+        final TemporaryDirectoryPool instance = temporaryDirectoryPoolFor(root, 2);
+        final Path acquired = instance.acquire();
+
+        instance.close();
+
+        assertThat(exists(acquired), equalTo(true));
+        assertThat(instance.available(), equalTo(0));
+        assertThat(instance::acquire, throwsException(IllegalStateException.class, "The pool for " + root + " was already closed\\."));
+        try (final TemporaryDirectoryPool recreated = temporaryDirectoryPoolFor(root, 2)) {
+            assertThat(recreated, not(sameInstance(instance)));
+        }
+    }
+
+    @Test
+    public void closeReleasesSharedPoolOnlyOnLastClose() throws Exception {
+        final Path root = givenRoot();
+        final TemporaryDirectoryPool first = temporaryDirectoryPoolFor(root, 2);
+        final TemporaryDirectoryPool second = temporaryDirectoryPoolFor(root, 2);
+
+        first.close();
+
+        assertThat(isDirectory(second.acquire()), equalTo(true));
+        assertThat(temporaryDirectoryPoolFor(root, 2), sameInstance(second));
+
+        second.close();
+
+        assertThat(isDirectory(second.acquire()), equalTo(true));
+
+        second.close();
+
+        assertThat(second::acquire, throwsException(IllegalStateException.class, "The pool for " + root + " was already closed\\."));
+    }
+
+    @Test
+    public void ruleRequiresPoolOnTemporaryFileSystem() throws Throwable {
+        try (final TemporaryDirectoryPool pool = temporaryDirectoryPoolFor(givenRoot(), 2)) {
+            final TestDirectory rule = new TestDirectory().withDirectoryPool(pool).withInMemoryFileSystem();
+            final AtomicReference<Path> baseDirectory = new AtomicReference<>();
+
+            TemporaryDirectoryBasedRuleSupportUnitTest.evaluate(rule, () -> baseDirectory.set(rule.wrapped()));
+
+            assertThat(baseDirectory.get().getParent(), equalTo(pool.root()));
+            assertThat(() -> new TestDirectory().setTemporaryFileSystem(givenOtherFileSystem()).withDirectoryPool(pool), throwsException(IllegalArgumentException.class,
+                "The directory pool for " + pool.root() + " does not create directories on the temporary file system .+\\."));
+            assertThat(() -> new TestDirectory().withDirectoryPool(pool).setTemporaryFileSystem(givenOtherFileSystem()), throwsException(IllegalArgumentException.class));
+        }
+    }
+
+    @Nonnull
+    protected static Path givenRoot() {
+        return defaultMemoryFileSystem().getPath("/pool-" + UUID.randomUUID());
+    }
+
+    @Nonnull
+    protected static FileSystem givenOtherFileSystem() {
+        return memoryFileSystemProvider().newFileSystem(UUID.randomUUID().toString());
+    }
+
+}
@@ -0,0 +1,169 @@
+package org.echocat.unittest.utils.utils;
+
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.nio.CharBuffer;
+import java.util.Random;
+
+import static org.echocat.unittest.utils.utils.CharSequenceUtils.*;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class CharSequenceUtilsUnitTest {
+
+    @Test
+    public void startsWithWorks() throws Exception {
+        assertThat(startsWith(sequenceOf("666 hello world"), "666"), equalTo(true));
+        assertThat(startsWith(sequenceOf("hello 666 world"), "666"), equalTo(false));
+        assertThat(startsWith(sequenceOf("66"), "666"), equalTo(false));
+        assertThat(startsWith(sequenceOf("666"), ""), equalTo(true));
+        assertThat(startsWith("666 hello world", "666"), equalTo(true));
+    }
+
+    @Test
+    public void endsWithWorks() throws Exception {
+        assertThat(endsWith(sequenceOf("hello world 666"), "666"), equalTo(true));
+        assertThat(endsWith(sequenceOf("hello 666 world"), "666"), equalTo(false));
+        assertThat(endsWith(sequenceOf("66"), "666"), equalTo(false));
+        assertThat(endsWith(sequenceOf("666"), ""), equalTo(true));
+        assertThat(endsWith("hello world 666", "666"), equalTo(true));
+    }
+
+    @Test
+    public void containsWorks() throws Exception {
+        assertThat(contains(sequenceOf("hello 666 world"), "666"), equalTo(true));
+        assertThat(contains(sequenceOf("hello 66 world"), "666"), equalTo(false));
+        assertThat(contains(sequenceOf("hello world"), "lo wo"), equalTo(true));
+        assertThat(contains(sequenceOf("hello world"), "lo wO"), equalTo(false));
+        assertThat(contains(sequenceOf("hello world"), ""), equalTo(true));
+        assertThat(contains("hello 666 world", "666"), equalTo(true));
+    }
+
+    @Test
+    public void indexOfWorksLikeStringIndexOf() throws Exception {
+        final Random random = new Random(666);
+        for (int run = 0; run < 1000; run++) {
+            final String actual = randomStringOf(random, random.nextInt(64));
+            final String what = random.nextBoolean() && actual.length() > 0
+                ? actual.substring(random.nextInt(actual.length()))
+                : randomStringOf(random, random.nextInt(8));
+            final String candidate = what.substring(0, random.nextInt(what.length() + 1));
+
+            assertThat(actual + " / " + candidate, indexOf(sequenceOf(actual), candidate), equalTo(actual.indexOf(candidate)));
+        }
+    }
+
+    @Test
+    public void indexOfWithCharsOfSameShiftTableSlot() throws Exception {
+        assertThat(indexOf(sequenceOf("šššabca"), "abca"), equalTo(3));
+        assertThat(indexOf(sequenceOf("xxxxabcš"), "abca"), equalTo(-1));
+    }
+
+    @Test
+    public void equalsIgnoreCaseWorks() throws Exception {
+        assertThat(equalsIgnoreCase(sequenceOf("hElLo WoRlD"), "hello world"), equalTo(true));
+        assertThat(equalsIgnoreCase(sequenceOf("hElLo WoRlDs"), "hello world"), equalTo(false));
+        assertThat(equalsIgnoreCase(sequenceOf("ÄRGER"), "ärger"), equalTo(true));
+        assertThat(equalsIgnoreCase("hElLo WoRlD", "hello world"), equalTo(true));
+    }
+
+    @Test
+    public void startsWithIgnoreCaseWorks() throws Exception {
+        assertThat(startsWithIgnoreCase(sequenceOf("HeLLo world"), "hello"), equalTo(true));
+        assertThat(startsWithIgnoreCase(sequenceOf("world hello"), "hello"), equalTo(false));
+        assertThat(startsWithIgnoreCase(sequenceOf("he"), "hello"), equalTo(false));
+        assertThat(startsWithIgnoreCase("HeLLo world", "hello"), equalTo(true));
+        assertThat(startsWithIgnoreCase("he", "hello"), equalTo(false));
+    }
+
+    @Test
+    public void endsWithIgnoreCaseWorks() throws Exception {
+        assertThat(endsWithIgnoreCase(sequenceOf("hello WoRlD"), "world"), equalTo(true));
+        assertThat(endsWithIgnoreCase(sequenceOf("world hello"), "world"), equalTo(false));
+        assertThat(endsWithIgnoreCase(sequenceOf("ld"), "world"), equalTo(false));
+        assertThat(endsWithIgnoreCase("hello WoRlD", "world"), equalTo(true));
+        assertThat(endsWithIgnoreCase("ld", "world"), equalTo(false));
+    }
+
+    @Test
+    public void containsIgnoreCaseWorks() throws Exception {
+        assertThat(containsIgnoreCase(sequenceOf("Content-Type: TEXT/PLAIN"), "text/plain"), equalTo(true));
+        assertThat(containsIgnoreCase(sequenceOf("Content-Type: TEXT/HTML"), "text/plain"), equalTo(false));
+        assertThat(containsIgnoreCase(sequenceOf("aBc"), "B"), equalTo(true));
+        assertThat(containsIgnoreCase("Content-Type: TEXT/PLAIN", "text/plain"), equalTo(true));
+    }
+
+    @Test
+    public void indexOfIgnoreCaseWorksLikeLowerCasedIndexOf() throws Exception {
+        final Random random = new Random(666);
+        for (int run = 0; run < 1000; run++) {
+            final String actual = randomMixedCaseStringOf(random, random.nextInt(64));
+            final String what = randomMixedCaseStringOf(random, random.nextInt(8));
+
+            assertThat(actual + " / " + what, indexOf(sequenceOf(actual), what, true), equalTo(actual.toLowerCase().indexOf(what.toLowerCase())));
+        }
+    }
+
+    @Test
+    public void regionMatchesWorks() throws Exception {
+        assertThat(regionMatches(sequenceOf("hello world"), 6, "WORLD", true), equalTo(true));
+        assertThat(regionMatches(sequenceOf("hello world"), 6, "WORLD", false), equalTo(false));
+        assertThat(regionMatches(sequenceOf("hello world"), 7, "world", false), equalTo(false));
+        assertThat(regionMatches(sequenceOf("hello world"), -1, "hello", false), equalTo(false));
+    }
+
+    @Test
+    public void worksOnCharBuffers() throws Exception {
+        final CharBuffer buffer = CharBuffer.wrap("hello 666 world");
+
+        assertThat(contains(buffer, "666 w"), equalTo(true));
+        assertThat(startsWith(buffer, "hello"), equalTo(true));
+        assertThat(endsWith(buffer, "world"), equalTo(true));
+    }
+
+    @Nonnull
+    protected static String randomStringOf(@Nonnull Random random, int length) {
+        final char[] result = new char[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = (char) ('a' + random.nextInt(3));
+        }
+        return new String(result);
+    }
+
+    @Nonnull
+    protected static String randomMixedCaseStringOf(@Nonnull Random random, int length) {
+        final char[] result = new char[length];
+        for (int i = 0; i < length; i++) {
+            final char c = (char) ('a' + random.nextInt(3));
+            result[i] = random.nextBoolean() ? Character.toUpperCase(c) : c;
+        }
+        return new String(result);
+    }
+
+    @Nonnull
+    protected static CharSequence sequenceOf(@Nonnull String content) {
+        return new CharSequence() {
+            @Override
+            public int length() {
+                return content.length();
+            }
+
+            @Override
+            public char charAt(int index) {
+                return content.charAt(index);
+            }
+
+            @Override
+            public CharSequence subSequence(int start, int end) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public String toString() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+}
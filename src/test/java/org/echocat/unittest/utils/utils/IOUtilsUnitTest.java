@@ -5,14 +5,15 @@ import org.junit.ClassRule;
 import org.junit.Test;
 
 import javax.annotation.Nonnull;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.InputStream;
+import java.io.*;
 import java.nio.file.Path;
 
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
 import static java.nio.file.Files.*;
 import static org.echocat.unittest.utils.rules.TestFile.withGeneratedContent;
 import static org.echocat.unittest.utils.utils.IOUtils.copy;
+import static org.echocat.unittest.utils.utils.IOUtils.scan;
+import static org.echocat.unittest.utils.utils.IOUtils.skipAtMost;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.junit.Assert.assertThat;
 
@@ -57,9 +58,91 @@ public class IOUtilsUnitTest {
         }
     }
 
+    @Test
+    public void skipAtMostOfFileInputStream() throws Exception {
+        try (final FileInputStream is = new FileInputStream(LARGE_CONTENT_FILE.toFile())) {
+            assertThat(skipAtMost(is, 10), equalTo(10L));
+            assertThat(is.getChannel().position(), equalTo(10L));
+            assertThat(skipAtMost(is, Long.MAX_VALUE), equalTo(LARGE_FILE_SIZE - 10));
+            assertThat(skipAtMost(is, Long.MAX_VALUE), equalTo(0L));
+            assertThat(is.read(), equalTo(-1));
+        }
+    }
+
+    @Test
+    public void skipAtMostOfChannelInputStream() throws Exception {
+        try (final InputStream is = newInputStream(LARGE_CONTENT_FILE.wrapped())) {
+            assertThat(skipAtMost(is, 10), equalTo(10L));
+            assertThat(skipAtMost(is, Long.MAX_VALUE), equalTo(LARGE_FILE_SIZE - 10));
+            assertThat(is.read(), equalTo(-1));
+        }
+    }
+
+    @Test
+    public void skipAtMostOfByteArrayInputStream() throws Exception {
+        final InputStream is = new ByteArrayInputStream(bytesOf(SMALL_CONTENT_FILE));
+
+        assertThat(skipAtMost(is, 10), equalTo(10L));
+        assertThat(skipAtMost(is, Long.MAX_VALUE), equalTo(SMALL_FILE_SIZE - 10));
+        assertThat(is.read(), equalTo(-1));
+    }
+
+    @Test
+    public void skipAtMostOfOtherInputStream() throws Exception {
+        try (final InputStream is = new BufferedInputStream(newInputStream(LARGE_CONTENT_FILE))) {
+            assertThat(skipAtMost(is, 10), equalTo(10L));
+            assertThat(skipAtMost(is, Long.MAX_VALUE), equalTo(LARGE_FILE_SIZE - 10));
+            assertThat(is.read(), equalTo(-1));
+        }
+    }
+
+    @Test
+    public void skipAtMostOfStringReader() throws Exception {
+        final Reader reader = new StringReader("0123456789");
+
+        assertThat(skipAtMost(reader, 4), equalTo(4L));
+        assertThat(skipAtMost(reader, Long.MAX_VALUE), equalTo(6L));
+        assertThat(reader.read(), equalTo(-1));
+    }
+
+    @Test
+    public void skipAtMostOfOtherReader() throws Exception {
+        try (final Reader reader = new InputStreamReader(newInputStream(LARGE_CONTENT_FILE), ISO_8859_1)) {
+            assertThat(skipAtMost(reader, 10), equalTo(10L));
+            assertThat(skipAtMost(reader, Long.MAX_VALUE), equalTo(LARGE_FILE_SIZE - 10));
+            assertThat(reader.read(), equalTo(-1));
+        }
+    }
+
     @Nonnull
     protected static byte[] bytesOf(@Nonnull Path file) throws IOException {
         return readAllBytes(file);
     }
 
+    @Test
+    public void scanVisitsAllChars() throws Exception {
+        final StringBuilder visited = new StringBuilder();
+
+        final boolean result = scan(new StringReader("hello world"), (buffer, length) -> {
+            visited.append(buffer, 0, length);
+            return true;
+        });
+
+        assertThat(result, equalTo(true));
+        assertThat(visited.toString(), equalTo("hello world"));
+    }
+
+    @Test
+    public void scanStopsIfVisitorRequestsIt() throws Exception {
+        try (final Reader reader = new InputStreamReader(newInputStream(LARGE_CONTENT_FILE), ISO_8859_1)) {
+            final long[] visits = {0};
+
+            final boolean result = scan(reader, (buffer, length) -> ++visits[0] < 2);
+
+            assertThat(result, equalTo(false));
+            assertThat(visits[0], equalTo(2L));
+            assertThat(skipAtMost(reader, Long.MAX_VALUE) > 0, equalTo(true));
+        }
+    }
+
 }
@@ -0,0 +1,140 @@
+package org.echocat.unittest.utils.utils;
+
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class IdentityCacheUnitTest {
+
+    @Test
+    public void getOfAbsentKey() throws Exception {
+        final IdentityCache<String> instance = givenInstance();
+
+        assertThat(instance.get("foo"), nullValue());
+        assertThat(instance.get(null), nullValue());
+    }
+
+    @Test
+    public void putAndGet() throws Exception {
+        final IdentityCache<String> instance = givenInstance();
+        final Object key = new Object();
+
+        instance.put(key, "666");
+
+        assertThat(instance.get(key), equalTo("666"));
+        assertThat(instance.get(new Object()), nullValue());
+    }
+
+    @Test
+    public void putAndGetOfNullKey() throws Exception {
+        final IdentityCache<String> instance = givenInstance();
+
+        instance.put(null, "666");
+
+        assertThat(instance.get(null), equalTo("666"));
+    }
+
+    @Test
+    public void usesIdentityInsteadOfEquality() throws Exception {
+        final IdentityCache<String> instance = givenInstance();
+        final String key = "foo";
+
+        instance.put(key, "666");
+
+        assertThat(instance.get(key), equalTo("666"));
+        assertThat(instance.get(new String(key)), nullValue());
+    }
+
+    @Test
+    public void computeIfAbsentComputesOnlyOnce() throws Exception {
+        final IdentityCache<String> instance = givenInstance();
+        final AtomicInteger computations = new AtomicInteger();
+        final Object key = new Object();
+
+        assertThat(instance.computeIfAbsent(key, k -> "value" + computations.incrementAndGet()), equalTo("value1"));
+        assertThat(instance.computeIfAbsent(key, k -> "value" + computations.incrementAndGet()), equalTo("value1"));
+        assertThat(computations.get(), equalTo(1));
+    }
+
+    @Test
+    public void growsInsteadOfEvictingLiveEntries() throws Exception {
+        final IdentityCache<String> instance = new IdentityCache<>(1);
+        final Object[] keys = new Object[100];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = new Object();
+            instance.put(keys[i], "" + i);
+        }
+
+        for (int i = 0; i < keys.length; i++) {
+            assertThat(instance.get(keys[i]), equalTo("" + i));
+        }
+    }
+
+    @Test
+    public void worksUnderConcurrentAccess() throws Exception {
+        final IdentityCache<Object> instance = new IdentityCache<>(64);
+        final ExecutorService executor = newFixedThreadPool(4);
+        try {
+            final List<Future<Boolean>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        final Object key = new Object();
+                        if (instance.computeIfAbsent(key, k -> k) != key) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (final Future<Boolean> future : futures) {
+                assertThat(future.get(), equalTo(true));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void keepsAllEntriesWhileGrowingConcurrently() throws Exception {
+        final IdentityCache<Object> instance = new IdentityCache<>(1);
+        final ExecutorService executor = newFixedThreadPool(4);
+        try {
+            final List<Future<Object[]>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    final Object[] keys = new Object[5_000];
+                    for (int i = 0; i < keys.length; i++) {
+                        keys[i] = new Object();
+                        instance.put(keys[i], keys[i]);
+                    }
+                    return keys;
+                }));
+            }
+            for (final Future<Object[]> future : futures) {
+                for (final Object key : future.get()) {
+                    assertThat(instance.get(key), sameInstance(key));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Nonnull
+    protected static IdentityCache<String> givenInstance() {
+        return new IdentityCache<>();
+    }
+
+}
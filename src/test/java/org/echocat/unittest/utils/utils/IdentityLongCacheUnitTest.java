@@ -0,0 +1,81 @@
+package org.echocat.unittest.utils.utils;
+
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class IdentityLongCacheUnitTest {
+
+    @Test
+    public void getOrDefaultOfAbsentKey() throws Exception {
+        final IdentityLongCache instance = givenInstance();
+
+        assertThat(instance.getOrDefault("foo", -1), equalTo(-1L));
+        assertThat(instance.getOrDefault(null, -1), equalTo(-1L));
+    }
+
+    @Test
+    public void putAndGet() throws Exception {
+        final IdentityLongCache instance = givenInstance();
+        final Object key = new Object();
+
+        instance.put(key, 666);
+
+        assertThat(instance.getOrDefault(key, -1), equalTo(666L));
+        assertThat(instance.getOrDefault(new Object(), -1), equalTo(-1L));
+    }
+
+    @Test
+    public void putAndGetOfNullKey() throws Exception {
+        final IdentityLongCache instance = givenInstance();
+
+        instance.put(null, 666);
+
+        assertThat(instance.getOrDefault(null, -1), equalTo(666L));
+    }
+
+    @Test
+    public void putReplacesExistingValue() throws Exception {
+        final IdentityLongCache instance = givenInstance();
+        final Object key = new Object();
+
+        instance.put(key, 1);
+        instance.put(key, 2);
+
+        assertThat(instance.getOrDefault(key, -1), equalTo(2L));
+    }
+
+    @Test
+    public void usesIdentityInsteadOfEquality() throws Exception {
+        final IdentityLongCache instance = givenInstance();
+        final String key = "foo";
+
+        instance.put(key, 666);
+
+        assertThat(instance.getOrDefault(key, -1), equalTo(666L));
+        assertThat(instance.getOrDefault(new String(key), -1), equalTo(-1L));
+    }
+
+    @Test
+    public void growsInsteadOfEvictingLiveEntries() throws Exception {
+        final IdentityLongCache instance = new IdentityLongCache(1);
+        final Object[] keys = new Object[100];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = new Object();
+            instance.put(keys[i], i);
+        }
+
+        for (int i = 0; i < keys.length; i++) {
+            assertThat(instance.getOrDefault(keys[i], -1), equalTo((long) i));
+        }
+    }
+
+    @Nonnull
+    protected static IdentityLongCache givenInstance() {
+        return new IdentityLongCache();
+    }
+
+}
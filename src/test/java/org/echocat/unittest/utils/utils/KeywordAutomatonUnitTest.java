@@ -0,0 +1,82 @@
+package org.echocat.unittest.utils.utils;
+
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class KeywordAutomatonUnitTest {
+
+    @Test
+    public void keywords() throws Exception {
+        final KeywordAutomaton instance = new KeywordAutomaton(asList("he", new StringBuilder("she")));
+
+        assertThat(instance.keywords(), equalTo(asList("he", "she")));
+    }
+
+    @Test
+    public void findAll() throws Exception {
+        final KeywordAutomaton instance = new KeywordAutomaton(asList("he", "she", "his", "hers", "xyz"));
+
+        assertThat(instance.find("ushers", false), equalTo(bitSetOf(0, 1, 3)));
+        assertThat(instance.find("ahishe", false), equalTo(bitSetOf(0, 1, 2)));
+        assertThat(instance.find("nothing", false), equalTo(bitSetOf()));
+    }
+
+    @Test
+    public void findStopsOnFirst() throws Exception {
+        final KeywordAutomaton instance = new KeywordAutomaton(asList("he", "she", "hers"));
+
+        assertThat(instance.find("ushers", true), equalTo(bitSetOf(0, 1)));
+    }
+
+    @Test
+    public void findEmptyAndDuplicatedKeywords() throws Exception {
+        final KeywordAutomaton instance = new KeywordAutomaton(asList("", "ab", "ab"));
+
+        assertThat(instance.find("", false), equalTo(bitSetOf(0)));
+        assertThat(instance.find("xaby", false), equalTo(bitSetOf(0, 1, 2)));
+    }
+
+    @Test
+    public void findWorksLikeIndexOf() throws Exception {
+        final Random random = new Random(666);
+        for (int run = 0; run < 500; run++) {
+            final String input = randomStringOf(random, random.nextInt(40));
+            final List<String> keywords = asList(randomStringOf(random, 1 + random.nextInt(4)), randomStringOf(random, 1 + random.nextInt(4)), randomStringOf(random, 1 + random.nextInt(4)));
+            final BitSet expected = new BitSet();
+            for (int i = 0; i < keywords.size(); i++) {
+                if (input.contains(keywords.get(i))) {
+                    expected.set(i);
+                }
+            }
+
+            assertThat(input + " / " + keywords, new KeywordAutomaton(keywords).find(input, false), equalTo(expected));
+        }
+    }
+
+    @Nonnull
+    protected static BitSet bitSetOf(int... indices) {
+        final BitSet result = new BitSet();
+        for (final int index : indices) {
+            result.set(index);
+        }
+        return result;
+    }
+
+    @Nonnull
+    protected static String randomStringOf(@Nonnull Random random, int length) {
+        final char[] result = new char[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = (char) ('a' + random.nextInt(3));
+        }
+        return new String(result);
+    }
+
+}
@@ -0,0 +1,26 @@
+package org.echocat.unittest.utils.utils;
+
+import org.junit.Test;
+
+import static org.echocat.unittest.utils.utils.KnuthMorrisPratt.failureFunctionOf;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class KnuthMorrisPrattUnitTest {
+
+    @Test
+    public void failureFunctionOfObjects() throws Exception {
+        assertThat(failureFunctionOf(new Object[]{1, 1, 2}), equalTo(new int[]{0, 1, 0}));
+        assertThat(failureFunctionOf(new Object[]{1, 2, 1, 2, 1, 3}), equalTo(new int[]{0, 0, 1, 2, 3, 0}));
+        assertThat(failureFunctionOf(new Object[]{null, null, 1}), equalTo(new int[]{0, 1, 0}));
+        assertThat(failureFunctionOf(new Object[]{}), equalTo(new int[]{}));
+    }
+
+    @Test
+    public void failureFunctionOfChars() throws Exception {
+        assertThat(failureFunctionOf("aab"), equalTo(new int[]{0, 1, 0}));
+        assertThat(failureFunctionOf("ababac"), equalTo(new int[]{0, 0, 1, 2, 3, 0}));
+        assertThat(failureFunctionOf(""), equalTo(new int[]{}));
+    }
+
+}
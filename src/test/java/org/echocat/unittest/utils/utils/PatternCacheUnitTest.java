@@ -0,0 +1,66 @@
+package org.echocat.unittest.utils.utils;
+
+import org.junit.Test;
+
+import java.util.regex.Pattern;
+
+import static java.util.regex.Pattern.CASE_INSENSITIVE;
+import static org.echocat.unittest.utils.matchers.ThrowsException.throwsException;
+import static org.echocat.unittest.utils.utils.PatternCache.compile;
+import static org.echocat.unittest.utils.utils.PatternCache.defaultPatternCache;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+public class PatternCacheUnitTest {
+
+    @Test
+    public void patternForReturnsCachedInstance() throws Exception {
+        final PatternCache instance = new PatternCache(2);
+
+        final Pattern pattern = instance.patternFor("a+", 0);
+
+        assertThat(pattern.pattern(), equalTo("a+"));
+        assertThat(instance.patternFor("a+", 0), sameInstance(pattern));
+        assertThat(instance.size(), equalTo(1));
+    }
+
+    @Test
+    public void patternForDistinguishesFlags() throws Exception {
+        final PatternCache instance = new PatternCache(2);
+
+        final Pattern pattern = instance.patternFor("a+", CASE_INSENSITIVE);
+
+        assertThat(pattern.flags(), equalTo(CASE_INSENSITIVE));
+        assertThat(instance.patternFor("a+", 0), not(sameInstance(pattern)));
+        assertThat(instance.size(), equalTo(2));
+    }
+
+    @Test
+    public void patternForEvictsLeastRecentlyUsed() throws Exception {
+        final PatternCache instance = new PatternCache(2);
+        final Pattern a = instance.patternFor("a", 0);
+        final Pattern b = instance.patternFor("b", 0);
+
+        assertThat(instance.patternFor("a", 0), sameInstance(a));
+        instance.patternFor("c", 0);
+
+        assertThat(instance.size(), equalTo(2));
+        assertThat(instance.patternFor("a", 0), sameInstance(a));
+        assertThat(instance.patternFor("b", 0), not(sameInstance(b)));
+    }
+
+    @Test
+    public void constructorRejectsNonPositiveMaximumSize() throws Exception {
+        assertThat(() -> new PatternCache(0), throwsException(IllegalArgumentException.class, "The maximum size have to be positive but was 0."));
+    }
+
+    @Test
+    public void compileUsesDefaultPatternCache() throws Exception {
+        final Pattern pattern = compile("[0-9]+");
+
+        assertThat(compile("[0-9]+", 0), sameInstance(pattern));
+        assertThat(defaultPatternCache().patternFor("[0-9]+", 0), sameInstance(pattern));
+        assertThat(defaultPatternCache().maximumSize(), equalTo(256));
+    }
+
+}
@@ -1,20 +1,39 @@
 package org.echocat.unittest.utils.utils;
 
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
 import org.echocat.unittest.utils.rules.TestDirectory;
 import org.echocat.unittest.utils.rules.TestFile;
 import org.junit.ClassRule;
 import org.junit.Test;
 
 import javax.annotation.Nonnull;
-import java.io.File;
-import java.io.UncheckedIOException;
+import javax.annotation.Nullable;
+import java.io.*;
+import java.net.InetAddress;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
 import java.nio.file.Path;
-
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import static java.nio.file.Files.newOutputStream;
+import static java.util.Arrays.asList;
+import static java.util.regex.Pattern.quote;
 import static org.echocat.unittest.utils.TestUtils.*;
 import static org.echocat.unittest.utils.matchers.ThrowsException.throwsException;
+import static org.echocat.unittest.utils.utils.SizeStrategy.sizeStrategy;
 import static org.echocat.unittest.utils.utils.SizeUtils.*;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
 
 public class SizeUtilsUnitTest {
 
@@ -24,6 +43,8 @@ public class SizeUtilsUnitTest {
     public static final TestFile EMPTY_FILE = new TestFile("emptyFile.txt", "");
     @ClassRule
     public static final TestDirectory EMPTY_DIRECTORY = new TestDirectory();
+    @ClassRule
+    public static final TestDirectory JAR_DIRECTORY = new TestDirectory();
 
     @Test
     public void constructur() throws Exception {
@@ -294,6 +315,123 @@ public class SizeUtilsUnitTest {
         assertThat(() -> sizeOf(toTest), throwsException(UncheckedIOException.class, "java.io.FileNotFoundException: notExisting.*"));
     }
 
+    @Test
+    public void sizeOfFileURLIsResolvedFromFileSystem() throws Exception {
+        final Object toTest = givenPathWithLength4().toUri().toURL();
+
+        assertThat(sizeOf(toTest), equalTo(4L));
+        assertThat(sizeOfAtMost(toTest, 2), equalTo(2L));
+    }
+
+    @Test
+    public void sizeOfJarEntryURL() throws Exception {
+        final Object toTest = givenJarEntryURLWithLength4();
+
+        assertThat(sizeOf(toTest), equalTo(4L));
+        assertThat(sizeOfAtMost(toTest, 2), equalTo(2L));
+    }
+
+    @Test
+    public void sizeOfHttpURLIsResolvedFromContentLength() throws Exception {
+        final AtomicInteger numberOfGetRequests = new AtomicInteger();
+        final HttpServer server = givenHttpServer(exchange -> {
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Content-Length", "4");
+                exchange.sendResponseHeaders(200, -1);
+            } else {
+                numberOfGetRequests.incrementAndGet();
+                exchange.sendResponseHeaders(200, 4);
+                exchange.getResponseBody().write(new byte[]{'0', '1', '2', '3'});
+            }
+            exchange.close();
+        });
+        try {
+            final Object toTest = urlOf(server);
+
+            assertThat(sizeOf(toTest), equalTo(4L));
+            assertThat(numberOfGetRequests.get(), equalTo(0));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void sizeOfHttpURLWithoutContentLengthIsStreamed() throws Exception {
+        final HttpServer server = givenHttpServer(exchange -> {
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+            } else {
+                exchange.sendResponseHeaders(200, 0);
+                exchange.getResponseBody().write(new byte[]{'0', '1', '2', '3'});
+            }
+            exchange.close();
+        });
+        try {
+            final Object toTest = urlOf(server);
+
+            assertThat(sizeOf(toTest), equalTo(4L));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void sizeOfHttpURLDrainsHeadResponse() throws Exception {
+        final InputStream headBody = spy(new ByteArrayInputStream(new byte[0]));
+        final HttpURLConnection head = givenHttpConnection(200, 4L, headBody, null);
+
+        assertThat(sizeOf(givenHttpURLOpening(head)), equalTo(4L));
+
+        verify(head).setRequestMethod("HEAD");
+        verify(headBody).close();
+        verify(head, never()).disconnect();
+    }
+
+    @Test
+    public void sizeOfHttpURLDrainsHeadErrorResponse() throws Exception {
+        final InputStream errorBody = spy(new ByteArrayInputStream(new byte[]{'e', 'r', 'r'}));
+        final HttpURLConnection head = givenHttpConnection(500, -1L, null, errorBody);
+        final HttpURLConnection get = givenHttpConnection(200, 4L, new ByteArrayInputStream(new byte[]{'0', '1', '2', '3'}), null);
+
+        assertThat(sizeOf(givenHttpURLOpening(head, get)), equalTo(4L));
+
+        verify(errorBody).close();
+        assertThat(errorBody.read(), equalTo(-1));
+        verify(head, never()).disconnect();
+    }
+
+    @Test
+    public void sizeOfHttpURLDisconnectsHeadConnectionOnFailures() throws Exception {
+        final HttpURLConnection head = givenHttpConnection(200, 4L, null, null);
+        doThrow(new IOException("expected")).when(head).getResponseCode();
+        doThrow(new IOException("expected")).when(head).getInputStream();
+
+        assertThat(() -> sizeOf(givenHttpURLOpening(head)), throwsException(UncheckedIOException.class));
+
+        verify(head).disconnect();
+    }
+
+    @Nonnull
+    protected static HttpURLConnection givenHttpConnection(int responseCode, long contentLength, @Nullable InputStream body, @Nullable InputStream errorBody) throws IOException {
+        final HttpURLConnection result = mock(HttpURLConnection.class);
+        doReturn(responseCode).when(result).getResponseCode();
+        doReturn(contentLength).when(result).getContentLengthLong();
+        doReturn(body).when(result).getInputStream();
+        doReturn(errorBody).when(result).getErrorStream();
+        return result;
+    }
+
+    @Nonnull
+    protected static URL givenHttpURLOpening(@Nonnull URLConnection... connections) throws IOException {
+        final Iterator<URLConnection> iterator = asList(connections).iterator();
+        return new URL(null, "http://localhost/test", new URLStreamHandler() {
+            @Override
+            protected URLConnection openConnection(URL u) {
+                return iterator.next();
+            }
+        });
+    }
+
     @Test
     public void sizeOfURIWithLength4() throws Exception {
         final Object toTest = givenURIWithLength4();
@@ -320,6 +458,106 @@ public class SizeUtilsUnitTest {
         assertThat(() -> sizeOf(1), throwsException(IllegalArgumentException.class, "Could not get size of java.lang.Integer."));
     }
 
+    @Test
+    public void sizeOfAtMostStopsOnInfiniteStream() throws Exception {
+        final Object toTest = Stream.generate(() -> 1);
+
+        assertThat(sizeOfAtMost(toTest, 5), equalTo(5L));
+    }
+
+    @Test
+    public void sizeOfAtMostStopsOnInfiniteIterator() throws Exception {
+        final Object toTest = Stream.generate(() -> 1).iterator();
+
+        assertThat(sizeOfAtMost(toTest, 5), equalTo(5L));
+    }
+
+    @Test
+    public void sizeOfAtMostStopsOnInfiniteInputStream() throws Exception {
+        final Object toTest = new InputStream() {
+            @Override
+            public int read() {
+                return 1;
+            }
+        };
+
+        assertThat(sizeOfAtMost(toTest, 5), equalTo(5L));
+    }
+
+    @Test
+    public void sizeOfAtMostStopsOnInfiniteReader() throws Exception {
+        final Object toTest = new Reader() {
+            @Override
+            public int read(@Nonnull char[] cbuf, int off, int len) {
+                return len;
+            }
+
+            @Override
+            public void close() {}
+        };
+
+        assertThat(sizeOfAtMost(toTest, 5), equalTo(5L));
+    }
+
+    @Test
+    public void sizeOfAtMostReturnsExactSizeBelowLimit() throws Exception {
+        assertThat(sizeOfAtMost(givenStreamWithLength4(), 5), equalTo(4L));
+        assertThat(sizeOfAtMost(givenIteratorOfLength4(), 5), equalTo(4L));
+        assertThat(sizeOfAtMost(givenInputStreamWithLength4(), 5), equalTo(4L));
+        assertThat(sizeOfAtMost(givenReaderWithLength4(), 5), equalTo(4L));
+        assertThat(sizeOfAtMost(givenURLWithLength4(), 5), equalTo(4L));
+        assertThat(sizeOfAtMost(givenArrayWithLength4(), 5), equalTo(4L));
+        assertThat(sizeOfAtMost(givenArrayWithLength4(), 2), equalTo(2L));
+        assertThat(sizeOfAtMost(null, 5), equalTo(0L));
+    }
+
+    @Test
+    public void sizeOfAtMostWithNegativeLimitFails() throws Exception {
+        assertThat(() -> sizeOfAtMost(givenArrayWithLength4(), -1), throwsException(IllegalArgumentException.class, "The limit have to be positive but was -1."));
+    }
+
+    @Test
+    public void compareSizeWorks() throws Exception {
+        assertThat(compareSize(givenArrayWithLength4(), 4), equalTo(0));
+        assertThat(compareSize(givenArrayWithLength4(), 5) < 0, equalTo(true));
+        assertThat(compareSize(givenArrayWithLength4(), 3) > 0, equalTo(true));
+        assertThat(compareSize(Stream.generate(() -> 1), 10) > 0, equalTo(true));
+        assertThat(compareSize(givenArrayWithLength4(), Long.MAX_VALUE) < 0, equalTo(true));
+    }
+
+    @Test
+    public void sizeOfRegisteredCustomType() throws Exception {
+        registerSizeStrategy(Container.class, sizeStrategy(Container::numberOfElements, container -> container.numberOfElements() == 0));
+        try {
+            assertThat(sizeOf(new Container(4)), equalTo(4L));
+            assertThat(isEmpty(new Container(4)), equalTo(false));
+            assertThat(isEmpty(new Container(0)), equalTo(true));
+        } finally {
+            unregisterSizeStrategy(Container.class);
+        }
+
+        assertThat(() -> sizeOf(new Container(4)), throwsException(IllegalArgumentException.class, quote("Could not get size of " + Container.class.getName() + ".")));
+    }
+
+    @Test
+    public void sizeOfRegisteredStrategyOverridesDefault() throws Exception {
+        registerSizeStrategy(String.class, what -> 666L);
+        try {
+            assertThat(sizeOf("0123"), equalTo(666L));
+            assertThat(sizeOf(new StringBuilder("0123")), equalTo(4L));
+        } finally {
+            unregisterSizeStrategy(String.class);
+        }
+
+        assertThat(sizeOf("0123"), equalTo(4L));
+    }
+
+    @Test
+    public void sizeStrategyForIsCachedPerType() throws Exception {
+        assertThat(sizeStrategyFor(String.class), sameInstance(sizeStrategyFor(String.class)));
+        assertThat(sizeStrategyFor(String.class), sameInstance(sizeStrategyFor(StringBuilder.class)));
+    }
+
     @Test
     public void isEmptyOfNull() throws Exception {
         assertThat(isEmpty(null), equalTo(true));
@@ -560,6 +798,31 @@ public class SizeUtilsUnitTest {
         return EMPTY_DIRECTORY.resolve("doesNotExist");
     }
 
+    @Nonnull
+    protected static URL givenJarEntryURLWithLength4() throws Exception {
+        final Path jar = JAR_DIRECTORY.resolve("withEntryOfLength4.jar");
+        try (final JarOutputStream os = new JarOutputStream(newOutputStream(jar))) {
+            os.putNextEntry(new JarEntry("entryOfLength4.txt"));
+            os.write(new byte[]{'0', '1', '2', '3'});
+            os.closeEntry();
+        }
+        return new URL("jar:" + jar.toUri() + "!/entryOfLength4.txt");
+    }
+
+    @Nonnull
+    protected static HttpServer givenHttpServer(@Nonnull HttpHandler handler) throws IOException {
+        final HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", handler);
+        server.start();
+        return server;
+    }
+
+    @Nonnull
+    protected static URL urlOf(@Nonnull HttpServer server) throws IOException {
+        final InetSocketAddress address = server.getAddress();
+        return new URL("http", address.getHostString(), address.getPort(), "/test");
+    }
+
     @Nonnull
     protected static File givenFileWithLength4() {
         return givenPathWithLength4().toFile();
@@ -575,5 +838,18 @@ public class SizeUtilsUnitTest {
         return givenNotExistingPath().toFile();
     }
 
+    protected static final class Container {
+
+        private final long numberOfElements;
+
+        protected Container(long numberOfElements) {
+            this.numberOfElements = numberOfElements;
+        }
+
+        protected long numberOfElements() {
+            return numberOfElements;
+        }
+
+    }
 
 }
@@ -0,0 +1,64 @@
+package org.echocat.unittest.utils.utils;
+
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.nio.CharBuffer;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class SubstringSearchUnitTest {
+
+    @Test
+    public void indexInWorksLikeStringIndexOf() throws Exception {
+        final Random random = new Random(666);
+        for (int run = 0; run < 1000; run++) {
+            final String actual = randomStringOf(random, random.nextInt(64));
+            final String what = randomStringOf(random, random.nextInt(8));
+            final SubstringSearch instance = new SubstringSearch(what, false);
+
+            assertThat(actual + " / " + what, instance.indexIn(sequenceOf(actual)), equalTo(actual.indexOf(what)));
+            assertThat(actual + " / " + what, instance.isContainedIn(sequenceOf(actual)), equalTo(actual.contains(what)));
+        }
+    }
+
+    @Test
+    public void indexInIgnoringCaseWorksLikeLowerCasedIndexOf() throws Exception {
+        final Random random = new Random(666);
+        for (int run = 0; run < 1000; run++) {
+            final String actual = randomStringOf(random, random.nextInt(64));
+            final String what = randomStringOf(random, random.nextInt(8)).toUpperCase();
+            final SubstringSearch instance = new SubstringSearch(what, true);
+
+            assertThat(actual + " / " + what, instance.indexIn(sequenceOf(actual)), equalTo(actual.toLowerCase().indexOf(what.toLowerCase())));
+        }
+    }
+
+    @Test
+    public void instanceCouldBeReused() throws Exception {
+        final SubstringSearch instance = new SubstringSearch("Hello", true);
+
+        assertThat(instance.indexIn(sequenceOf("say hello")), equalTo(4));
+        assertThat(instance.indexIn(sequenceOf("HELLO world")), equalTo(0));
+        assertThat(instance.indexIn(sequenceOf("hell")), equalTo(-1));
+        assertThat(instance.indexIn(sequenceOf("šššhellš")), equalTo(-1));
+        assertThat(instance.toString(), equalTo("hello"));
+    }
+
+    @Nonnull
+    protected static String randomStringOf(@Nonnull Random random, int length) {
+        final char[] result = new char[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = "abcABC".charAt(random.nextInt(6));
+        }
+        return new String(result);
+    }
+
+    @Nonnull
+    protected static CharSequence sequenceOf(@Nonnull String value) {
+        return CharBuffer.wrap(value);
+    }
+
+}